@@ -0,0 +1,205 @@
+package org.erp_microservices.domain_template.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-model load test for a running API. The bundled mock OAuth2 issuer is started in-process
+ * (see {@link LocalIssuer}) and mints the token; the GraphQL query is then posted at a fixed
+ * arrival rate for the configured duration, whether or not earlier requests have finished.
+ * Latency is measured from the moment each request was due, so a server that falls behind is
+ * charged for the queueing it causes. Requests that cannot start because
+ * {@code loadTest.maxInFlight} are outstanding, that time out, or that answer with a status other
+ * than 200 or with GraphQL errors, count as errors.
+ *
+ * <p>Throughput, p50/p99/p99.9 latency and error rate are printed and written to
+ * {@code <reportDir>/<label>.json}. When {@code loadTest.baseline} names an earlier report, the
+ * run fails if throughput dropped or any percentile rose by more than
+ * {@code loadTest.maxRegression} percent; it always fails when the error rate is above
+ * {@code loadTest.maxErrorRate}.
+ */
+public final class ArrivalRateLoadTest {
+
+    private static final Pattern NUMBER_FIELD = Pattern.compile("\"(\\w+)\":([0-9.]+)");
+
+    private ArrivalRateLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI url = URI.create(System.getProperty("loadTest.url", "http://localhost:8090/graphql"));
+        String query = System.getProperty("loadTest.query", "{ healthCheck }");
+        String scope = System.getProperty("loadTest.scope", "read write");
+        int rate = Integer.getInteger("loadTest.rate", 200);
+        int maxInFlight = Integer.getInteger("loadTest.maxInFlight", 2000);
+        Duration warmup = Duration.parse(System.getProperty("loadTest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadTest.duration", "PT60S"));
+        String label = System.getProperty("loadTest.label", "arrival-rate");
+        Path reportDir = Path.of(System.getProperty("loadTest.reportDir", "build/reports/load"));
+        String baseline = System.getProperty("loadTest.baseline", "");
+        double maxRegression = Double.parseDouble(System.getProperty("loadTest.maxRegression", "20"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadTest.maxErrorRate", "0.01"));
+        Path issuerConfig = Path.of(System.getProperty("loadTest.issuerConfig", "docker/mock-oauth2/config.json"));
+        int issuerPort = Integer.getInteger("loadTest.issuerPort", 8180);
+        String issuerId = System.getProperty("loadTest.issuerId", "default");
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        Result result;
+        try (LocalIssuer issuer = LocalIssuer.start(issuerConfig, issuerPort, issuerId)) {
+            System.out.printf("Issuer %s (JWK set %s)%n", issuer.issuerUri(), issuer.jwkSetUri());
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + issuer.mintToken(client, scope))
+                    .timeout(Duration.ofSeconds(10))
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"query\":\"" + query.replace("\"", "\\\"") + "\"}"))
+                    .build();
+
+            System.out.printf("Warming up %s at %d requests/s for %s%n", url, rate, warmup);
+            run(client, request, rate, maxInFlight, warmup);
+
+            System.out.printf("Measuring at %d requests/s for %s%n", rate, duration);
+            result = run(client, request, rate, maxInFlight, duration);
+        }
+
+        String json = result.toJson(label, rate);
+        System.out.println(json);
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve(label + ".json"), json);
+
+        List<String> failures = new ArrayList<>();
+        if (result.errorRate() > maxErrorRate) {
+            failures.add(String.format(Locale.ROOT, "error rate %.4f is above %.4f", result.errorRate(), maxErrorRate));
+        }
+        if (!baseline.isBlank()) {
+            failures.addAll(compare(Files.readString(Path.of(baseline)), json, maxRegression));
+        }
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.err.println("FAILED: " + failure));
+            System.exit(1);
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int rate, int maxInFlight, Duration duration)
+            throws InterruptedException {
+        int total = (int) (rate * duration.toMillis() / 1000);
+        long intervalNanos = 1_000_000_000L / rate;
+        long[] latencies = new long[total];
+        AtomicLong errors = new AtomicLong();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long start = System.nanoTime();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long due = start + i * intervalNanos;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    errors.incrementAndGet();
+                    latencies[i] = -1;
+                    continue;
+                }
+                int slot = i;
+                requests.execute(() -> {
+                    try {
+                        if (!succeeded(client, request)) {
+                            errors.incrementAndGet();
+                        }
+                    } finally {
+                        latencies[slot] = System.nanoTime() - due;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] sorted = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+        return new Result(total, errors.get(), elapsed, sorted);
+    }
+
+    private static boolean succeeded(HttpClient client, HttpRequest request) {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 && !response.body().contains("\"errors\"");
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static List<String> compare(String baselineJson, String currentJson, double maxRegression) {
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%n%-18s %12s %12s %9s%n", "metric", "baseline", "current", "change");
+        for (String metric : List.of("requestsPerSecond", "p50Millis", "p99Millis", "p999Millis", "errorRate")) {
+            double before = field(baselineJson, metric);
+            double after = field(currentJson, metric);
+            double change = before == 0 ? 0 : (after - before) * 100 / before;
+            System.out.printf(Locale.ROOT, "%-18s %12.3f %12.3f %+8.1f%%%n", metric, before, after, change);
+            boolean worse = metric.equals("requestsPerSecond") ? -change > maxRegression
+                    : metric.startsWith("p") && change > maxRegression;
+            if (worse) {
+                regressions.add(String.format(Locale.ROOT, "%s changed by %+.1f%%, more than the %.1f%% allowed",
+                        metric, change, maxRegression));
+            }
+        }
+        return regressions;
+    }
+
+    private static double field(String json, String name) {
+        Matcher matcher = NUMBER_FIELD.matcher(json);
+        while (matcher.find()) {
+            if (matcher.group(1).equals(name)) {
+                return Double.parseDouble(matcher.group(2));
+            }
+        }
+        throw new IllegalArgumentException("Report has no " + name + ": " + json);
+    }
+
+    private record Result(long requests, long errors, long elapsedNanos, long[] sortedLatencies) {
+
+        private double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        private double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+
+        private String toJson(String label, int rate) {
+            return String.format(Locale.ROOT,
+                    "{\"label\":\"%s\",\"targetRate\":%d,\"requests\":%d,\"requestsPerSecond\":%.1f,"
+                            + "\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"p999Millis\":%.3f,\"errorRate\":%.4f}",
+                    label, rate, requests, (requests - errors) / (elapsedNanos / 1_000_000_000.0),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(99.9), errorRate());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.erp_microservices.domain_template.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for a running API. A fixed number of virtual-thread clients post the
+ * same GraphQL query back to back for the configured duration, then requests/sec and latency
+ * percentiles are printed and written to {@code <reportDir>/<label>.json}. Run it once against an
+ * instance started with {@code VIRTUAL_THREADS_ENABLED=false} (label {@code platform}) and once
+ * with {@code VIRTUAL_THREADS_ENABLED=true} (label {@code virtual}); when both reports exist a
+ * comparison is printed.
+ */
+public final class GraphQlLoadHarness {
+
+    private static final Pattern NUMBER_FIELD = Pattern.compile("\"(\\w+)\":([0-9.]+)");
+
+    private GraphQlLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI url = URI.create(System.getProperty("loadTest.url", "http://localhost:8090/graphql"));
+        String token = System.getProperty("loadTest.token", "");
+        String query = System.getProperty("loadTest.query", "{ healthCheck }");
+        int concurrency = Integer.getInteger("loadTest.concurrency", 1000);
+        Duration warmup = Duration.parse(System.getProperty("loadTest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadTest.duration", "PT30S"));
+        String label = System.getProperty("loadTest.label", "run");
+        Path reportDir = Path.of(System.getProperty("loadTest.reportDir", "build/reports/load"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"query\":\"" + query.replace("\"", "\\\"") + "\"}"))
+                .build();
+
+        System.out.printf("Warming up %s with %d clients for %s%n", url, concurrency, warmup);
+        run(client, request, concurrency, warmup);
+
+        System.out.printf("Measuring with %d clients for %s%n", concurrency, duration);
+        Result result = run(client, request, concurrency, duration);
+
+        String json = result.toJson(label, concurrency);
+        System.out.println(json);
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve(label + ".json"), json);
+        printComparison(reportDir);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Worker>> futures = new ArrayList<>(concurrency);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> new Worker().drive(client, request, deadline)));
+            }
+        }
+
+        long requests = 0;
+        long errors = 0;
+        int size = 0;
+        List<Worker> workers = new ArrayList<>(concurrency);
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            workers.add(worker);
+            requests += worker.count;
+            errors += worker.errors;
+            size += worker.count;
+        }
+
+        long[] latencies = new long[size];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(latencies);
+        return new Result(requests, errors, duration, latencies);
+    }
+
+    private static void printComparison(Path reportDir) throws IOException {
+        Path platform = reportDir.resolve("platform.json");
+        Path virtual = reportDir.resolve("virtual.json");
+        if (!Files.exists(platform) || !Files.exists(virtual)) {
+            return;
+        }
+        String platformJson = Files.readString(platform);
+        String virtualJson = Files.readString(virtual);
+        System.out.printf("%n%-16s %12s %12s%n", "metric", "platform", "virtual");
+        for (String metric : List.of("requestsPerSecond", "p50Millis", "p99Millis", "p999Millis", "errorRate")) {
+            System.out.printf("%-16s %12s %12s%n", metric, field(platformJson, metric), field(virtualJson, metric));
+        }
+    }
+
+    private static String field(String json, String name) {
+        Matcher matcher = NUMBER_FIELD.matcher(json);
+        while (matcher.find()) {
+            if (matcher.group(1).equals(name)) {
+                return matcher.group(2);
+            }
+        }
+        return "-";
+    }
+
+    private static final class Worker {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private Worker drive(HttpClient client, HttpRequest request, long deadline) {
+            while (System.nanoTime() < deadline) {
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        errors++;
+                    }
+                } catch (IOException e) {
+                    errors++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return this;
+                }
+                record(System.nanoTime() - start);
+            }
+            return this;
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+
+    private record Result(long requests, long errors, Duration duration, long[] sortedLatencies) {
+
+        private double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+
+        private String toJson(String label, int concurrency) {
+            return String.format(Locale.ROOT,
+                    "{\"label\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"requestsPerSecond\":%.1f,"
+                            + "\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"p999Millis\":%.3f,\"errorRate\":%.4f}",
+                    label, concurrency, requests, requests / (duration.toMillis() / 1000.0),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(99.9),
+                    requests == 0 ? 0 : (double) errors / requests);
+        }
+    }
+}
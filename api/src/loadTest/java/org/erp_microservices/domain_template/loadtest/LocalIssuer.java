@@ -0,0 +1,69 @@
+package org.erp_microservices.domain_template.loadtest;
+
+import no.nav.security.mock.oauth2.MockOAuth2Server;
+import no.nav.security.mock.oauth2.OAuth2Config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The mock OAuth2 server that {@code docker-compose.test.yml} runs, started in-process with the same
+ * {@code docker/mock-oauth2/config.json}, so a load test needs neither Docker nor a network
+ * connection to obtain tokens. Tokens are requested from its token endpoint with the client
+ * credentials grant, as a real client would.
+ */
+final class LocalIssuer implements AutoCloseable {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final MockOAuth2Server server;
+    private final String issuerId;
+
+    private LocalIssuer(MockOAuth2Server server, String issuerId) {
+        this.server = server;
+        this.issuerId = issuerId;
+    }
+
+    static LocalIssuer start(Path config, int port, String issuerId) throws IOException {
+        MockOAuth2Server server = new MockOAuth2Server(OAuth2Config.Companion.fromJson(Files.readString(config)));
+        server.start(port);
+        return new LocalIssuer(server, issuerId);
+    }
+
+    URI issuerUri() {
+        return server.issuerUrl(issuerId).uri();
+    }
+
+    URI jwkSetUri() {
+        return server.jwksUrl(issuerId).uri();
+    }
+
+    String mintToken(HttpClient client, String scope) throws IOException, InterruptedException {
+        String form = "grant_type=client_credentials&client_id=load-test&client_secret=load-test&scope="
+                + URLEncoder.encode(scope, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(server.tokenEndpointUrl(issuerId).uri())
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ACCESS_TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IOException("Token request failed with " + response.statusCode() + ": " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    @Override
+    public void close() {
+        server.shutdown();
+    }
+}
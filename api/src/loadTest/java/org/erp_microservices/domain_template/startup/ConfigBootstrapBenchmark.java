@@ -0,0 +1,158 @@
+package org.erp_microservices.domain_template.startup;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Measures how much starting from the config snapshot saves over importing from the Config Server
+ * and Vault during startup. A stub stands in for both and answers every request after
+ * {@code configBootstrap.latency}, as a slow Vault would. The boot jar is started
+ * {@code configBootstrap.runs} times importing {@code configserver:} and {@code vault://}, then as
+ * many times with the {@code config-snapshot} profile, once a first run in that profile has
+ * imported from the stub in place of the missing snapshot and written it.
+ *
+ * <p>As with {@link StartupBenchmark}, each process inherits this one's environment for the
+ * database and Redis settings. Results are printed and written to
+ * {@code <reportDir>/config-bootstrap.json}.
+ */
+public final class ConfigBootstrapBenchmark {
+
+    private static final String APPLICATION = "domain-template-api";
+
+    private ConfigBootstrapBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("configBootstrap.java", "java");
+        Path bootJar = Path.of(System.getProperty("configBootstrap.bootJar"));
+        int runs = Integer.getInteger("configBootstrap.runs", 5);
+        Duration latency = Duration.parse(System.getProperty("configBootstrap.latency", "PT1S"));
+        Duration timeout = Duration.parse(System.getProperty("configBootstrap.timeout", "PT2M"));
+        Path reportDir = Path.of(System.getProperty("configBootstrap.reportDir", "build/reports/startup"));
+
+        AtomicInteger configServerRequests = new AtomicInteger();
+        AtomicInteger vaultRequests = new AtomicInteger();
+        HttpServer stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/", exchange -> {
+            sleep(latency);
+            String path = exchange.getRequestURI().getPath();
+            if (!path.startsWith("/v1/")) {
+                configServerRequests.incrementAndGet();
+                respond(exchange, 200, "{\"name\":\"" + APPLICATION + "\",\"profiles\":[\"default\"],"
+                        + "\"propertySources\":[{\"name\":\"stub\","
+                        + "\"source\":{\"app.config-bootstrap.source\":\"configserver\"}}]}");
+            } else if (path.startsWith("/v1/secret/data/")) {
+                vaultRequests.incrementAndGet();
+                if (path.equals("/v1/secret/data/" + APPLICATION)) {
+                    respond(exchange, 200,
+                            "{\"data\":{\"data\":{\"app.config-bootstrap.secret\":\"vault\"},\"metadata\":{}}}");
+                } else {
+                    respond(exchange, 404, "{\"errors\":[]}");
+                }
+            } else {
+                // Token lookups and anything else the Vault client asks for
+                vaultRequests.incrementAndGet();
+                respond(exchange, 200, "{\"data\":{\"ttl\":0,\"renewable\":false,\"policies\":[\"root\"]}}");
+            }
+        });
+        stub.start();
+        String stubUri = "http://127.0.0.1:" + stub.getAddress().getPort();
+
+        Path workingDir = Files.createTempDirectory("config-bootstrap");
+        Path snapshot = workingDir.resolve("config.snapshot");
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+
+        List<String> common = List.of(java, "-jar", bootJar.toString(), "--server.port=0",
+                "--spring.cloud.config.enabled=true", "--spring.cloud.vault.enabled=true",
+                "--spring.cloud.vault.uri=" + stubUri, "--spring.cloud.vault.authentication=TOKEN",
+                "--spring.cloud.vault.token=benchmark", "--spring.cloud.vault.config.lifecycle.enabled=false");
+        List<String> remote = new ArrayList<>(common);
+        remote.add("--spring.config.import=configserver:" + stubUri + ",vault://");
+        List<String> fromSnapshot = new ArrayList<>(common);
+        fromSnapshot.addAll(List.of("--spring.profiles.include=config-snapshot",
+                "--spring.cloud.config.uri=" + stubUri,
+                "--app.config-snapshot.path=" + snapshot,
+                "--app.config-snapshot.key=" + Base64.getEncoder().encodeToString(key)));
+
+        Map<String, StartupBenchmark.Result> results = new LinkedHashMap<>();
+        try {
+            System.out.printf("Stub Config Server and Vault at %s answering after %s%n", stubUri, latency);
+            results.put("remote", measure("remote", remote, workingDir, runs, timeout));
+            System.out.printf("Each start made %d Config Server and %d Vault requests%n",
+                    configServerRequests.get() / runs, vaultRequests.get() / runs);
+
+            System.out.println("Writing the snapshot");
+            StartupBenchmark.start(fromSnapshot, workingDir, timeout, () -> Files.exists(snapshot));
+            results.put("snapshot", measure("snapshot", fromSnapshot, workingDir, runs, timeout));
+        } finally {
+            stub.stop(0);
+        }
+
+        long remoteMillis = results.get("remote").medianWallMillis();
+        long snapshotMillis = results.get("snapshot").medianWallMillis();
+        System.out.printf("%n%-10s %12s %12s %14s%n", "mode", "median ms", "min ms", "reported s");
+        results.forEach((mode, result) -> System.out.printf(Locale.ROOT, "%-10s %12d %12d %14.3f%n",
+                mode, result.medianWallMillis(), result.minWallMillis(), result.medianReportedSeconds()));
+        System.out.printf("Starting from the snapshot saved %d ms (%.0f%%) with %s of latency per request%n",
+                remoteMillis - snapshotMillis, (remoteMillis - snapshotMillis) * 100.0 / remoteMillis, latency);
+
+        String json = results.entrySet().stream()
+                .map(entry -> entry.getValue().toJson(entry.getKey()))
+                .collect(Collectors.joining(",", String.format(Locale.ROOT,
+                        "{\"runs\":%d,\"latencyMillis\":%d,\"savedMillis\":%d,\"modes\":[",
+                        runs, latency.toMillis(), remoteMillis - snapshotMillis), "]}"));
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("config-bootstrap.json"), json);
+    }
+
+    private static StartupBenchmark.Result measure(
+            String mode, List<String> command, Path workingDir, int runs, Duration timeout) throws Exception {
+        long[] wallMillis = new long[runs];
+        double[] reportedSeconds = new double[runs];
+        for (int run = 0; run < runs; run++) {
+            StartupBenchmark.Start start = StartupBenchmark.start(command, workingDir, timeout);
+            wallMillis[run] = start.wallMillis();
+            reportedSeconds[run] = start.reportedSeconds();
+            System.out.printf(Locale.ROOT, "%-10s run %d: %d ms%n", mode, run + 1, start.wallMillis());
+        }
+        return new StartupBenchmark.Result(wallMillis, reportedSeconds);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration latency) {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.erp_microservices.domain_template.startup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the API several times in each startup mode that has been built and measures the wall-clock
+ * time from launching the process to Spring Boot's "Started" log line, which is written once the
+ * web server accepts requests. The modes are the boot jar, the extracted jar, the extracted jar with
+ * a CDS archive, and, when the jar was built with {@code -Paot}, Spring AOT with and without CDS,
+ * plus the native image if {@code nativeCompile} has produced one.
+ *
+ * <p>Each process inherits this one's environment, so the database, Redis and config settings the
+ * API needs to start are taken from it. Results are printed and written to
+ * {@code <reportDir>/startup.json}.
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED =
+            Pattern.compile("Started \\w+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("startup.java", "java");
+        Path bootJar = Path.of(System.getProperty("startup.bootJar"));
+        Path appDir = Path.of(System.getProperty("startup.appDir"));
+        Path cdsDir = Path.of(System.getProperty("startup.cdsDir"));
+        boolean aot = Boolean.getBoolean("startup.aot");
+        Path nativeImage = Path.of(System.getProperty("startup.nativeImage"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        Duration timeout = Duration.parse(System.getProperty("startup.timeout", "PT2M"));
+        Path reportDir = Path.of(System.getProperty("startup.reportDir", "build/reports/startup"));
+        List<String> appArgs = new ArrayList<>(List.of("--server.port=0"));
+        appArgs.addAll(Arrays.asList(System.getProperty("startup.args", "").split("\\s+")));
+        appArgs.removeIf(String::isBlank);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("jar", List.of(java, "-jar", bootJar.toString()));
+        modes.put("extracted", List.of(java, "-jar", "app.jar"));
+        Path archive = cdsDir.resolve("app.jsa");
+        if (Files.exists(archive)) {
+            modes.put("cds", List.of(java, "-XX:SharedArchiveFile=" + archive, "-jar", "app.jar"));
+        }
+        if (aot) {
+            modes.put("aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", "app.jar"));
+            Path aotArchive = cdsDir.resolve("app-aot.jsa");
+            if (Files.exists(aotArchive)) {
+                modes.put("aot-cds", List.of(java, "-XX:SharedArchiveFile=" + aotArchive,
+                        "-Dspring.aot.enabled=true", "-jar", "app.jar"));
+            }
+        }
+        if (Files.isExecutable(nativeImage)) {
+            modes.put("native", List.of(nativeImage.toString()));
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            List<String> command = new ArrayList<>(mode.getValue());
+            command.addAll(appArgs);
+            long[] wallMillis = new long[runs];
+            double[] reportedSeconds = new double[runs];
+            for (int run = 0; run < runs; run++) {
+                Start start = start(command, appDir, timeout);
+                wallMillis[run] = start.wallMillis();
+                reportedSeconds[run] = start.reportedSeconds();
+                System.out.printf(Locale.ROOT, "%-10s run %d: %d ms%n", mode.getKey(), run + 1, start.wallMillis());
+            }
+            results.put(mode.getKey(), new Result(wallMillis, reportedSeconds));
+        }
+
+        long baseline = results.get("jar").medianWallMillis();
+        System.out.printf("%n%-10s %12s %12s %14s %9s%n", "mode", "median ms", "min ms", "reported s", "vs jar");
+        results.forEach((mode, result) -> System.out.printf(Locale.ROOT, "%-10s %12d %12d %14.3f %8.0f%%%n",
+                mode, result.medianWallMillis(), result.minWallMillis(), result.medianReportedSeconds(),
+                result.medianWallMillis() * 100.0 / baseline));
+
+        String json = results.entrySet().stream()
+                .map(entry -> entry.getValue().toJson(entry.getKey()))
+                .collect(Collectors.joining(",", "{\"runs\":" + runs + ",\"modes\":[", "]}"));
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("startup.json"), json);
+    }
+
+    static Start start(List<String> command, Path workingDir, Duration timeout) throws Exception {
+        return start(command, workingDir, timeout, () -> true);
+    }
+
+    /**
+     * Starts the command and returns once it has logged "Started" and {@code done} holds, then
+     * stops the process.
+     */
+    static Start start(List<String> command, Path workingDir, Duration timeout, BooleanSupplier done)
+            throws Exception {
+        Deque<String> lastLines = new ArrayDeque<>();
+        CompletableFuture<Double> started = new CompletableFuture<>();
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workingDir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        Thread.ofVirtual().start(() -> {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Matcher matcher = STARTED.matcher(line);
+                    if (matcher.find()) {
+                        started.complete(Double.parseDouble(matcher.group(2)));
+                    }
+                    synchronized (lastLines) {
+                        lastLines.addLast(line);
+                        if (lastLines.size() > 20) {
+                            lastLines.removeFirst();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                started.completeExceptionally(e);
+            }
+            started.completeExceptionally(new IllegalStateException("The process exited before it started"));
+        });
+
+        try {
+            double reported = started.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            Start start = new Start((System.nanoTime() - launched) / 1_000_000, reported);
+            long deadline = launched + timeout.toNanos();
+            while (!done.getAsBoolean()) {
+                if (System.nanoTime() > deadline) {
+                    throw new TimeoutException("Started, but did not finish within " + timeout);
+                }
+                Thread.sleep(100);
+            }
+            return start;
+        } catch (TimeoutException | ExecutionException e) {
+            synchronized (lastLines) {
+                throw new IllegalStateException(String.join(" ", command) + " did not start: " + e.getMessage()
+                        + System.lineSeparator() + String.join(System.lineSeparator(), lastLines), e);
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    record Start(long wallMillis, double reportedSeconds) {
+    }
+
+    record Result(long[] wallMillis, double[] reportedSeconds) {
+
+        long medianWallMillis() {
+            long[] sorted = wallMillis.clone();
+            Arrays.sort(sorted);
+            return sorted[sorted.length / 2];
+        }
+
+        long minWallMillis() {
+            return Arrays.stream(wallMillis).min().orElse(0);
+        }
+
+        double medianReportedSeconds() {
+            double[] sorted = reportedSeconds.clone();
+            Arrays.sort(sorted);
+            return sorted[sorted.length / 2];
+        }
+
+        String toJson(String mode) {
+            return String.format(Locale.ROOT,
+                    "{\"mode\":\"%s\",\"medianMillis\":%d,\"minMillis\":%d,\"medianReportedSeconds\":%.3f}",
+                    mode, medianWallMillis(), minWallMillis(), medianReportedSeconds());
+        }
+    }
+}
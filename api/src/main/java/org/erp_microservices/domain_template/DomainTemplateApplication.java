@@ -1,11 +1,16 @@
 package org.erp_microservices.domain_template;
 
+import org.erp_microservices.domain_template.config.ApplicationRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(ApplicationRuntimeHints.class)
 public class DomainTemplateApplication {
     public static void main(String[] args) {
         SpringApplication.run(DomainTemplateApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package org.erp_microservices.domain_template;
+
+import lombok.extern.slf4j.Slf4j;
+import org.erp_microservices.domain_template.party.importer.ImportFormat;
+import org.erp_microservices.domain_template.party.importer.PartyCopyImporter;
+import org.erp_microservices.domain_template.party.importer.PartyImportResult;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bulk imports parties from a CSV or NDJSON file without starting the web server:
+ *
+ * <pre>
+ * java -cp api.jar -Dloader.main=org.erp_microservices.domain_template.PartyImportApplication \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     --file=parties.csv [--format=csv|ndjson] [--rejects=parties.csv.rejected]
+ * </pre>
+ *
+ * or {@code ./gradlew :api:importParties -PimportFile=parties.csv}. Exits with 0 when the file was
+ * imported, even if some lines were rejected, and 1 when the import failed.
+ */
+@Slf4j
+public class PartyImportApplication {
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DomainTemplateApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        ApplicationArguments arguments = context.getBean(ApplicationArguments.class);
+        int exitCode = 0;
+        try {
+            Path file = Path.of(option(arguments, "file", null));
+            ImportFormat format = arguments.containsOption("format")
+                    ? ImportFormat.valueOf(option(arguments, "format", null).toUpperCase(Locale.ROOT))
+                    : ImportFormat.of(file);
+            Path rejects = Path.of(option(arguments, "rejects", file + ".rejected"));
+
+            PartyImportResult result = context.getBean(PartyCopyImporter.class).importFile(file, format, rejects);
+            if (result.rejected() > 0) {
+                log.warn("{} lines were rejected; see {}", result.rejected(), rejects);
+            }
+        } catch (Exception e) {
+            log.error("Party import failed", e);
+            exitCode = 1;
+        }
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+
+    private static String option(ApplicationArguments arguments, String name, String defaultValue) {
+        List<String> values = arguments.getOptionValues(name);
+        if (values == null || values.isEmpty()) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException("--" + name + " is required");
+            }
+            return defaultValue;
+        }
+        return values.get(0);
+    }
+}
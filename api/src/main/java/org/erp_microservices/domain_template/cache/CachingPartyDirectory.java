@@ -0,0 +1,71 @@
+package org.erp_microservices.domain_template.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.erp_microservices.domain_template.party.Organization;
+import org.erp_microservices.domain_template.party.Party;
+import org.erp_microservices.domain_template.party.PartyDirectory;
+import org.erp_microservices.domain_template.party.Person;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Serves party lookups from the two-tier read cache, asking the wrapped directory only for the ids
+ * neither tier holds. Parties are cached, in both tiers, as copies read back from their JSON
+ * without their contact mechanisms, never as the entities the directory loaded, and
+ * {@link PartyCacheInvalidator} evicts them when Hibernate commits an update or delete.
+ */
+public class CachingPartyDirectory implements PartyDirectory {
+
+    static final String REGION = "parties";
+
+    private final PartyDirectory delegate;
+    private final TwoTierCache<Party> parties;
+
+    public CachingPartyDirectory(PartyDirectory delegate, TwoTierCacheManager cacheManager) {
+        this.delegate = delegate;
+        ObjectMapper mapper = cacheManager.getObjectMapper().copy()
+                .addMixIn(Party.class, PartyJson.class)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.parties = cacheManager.create(REGION, mapper.constructType(Party.class), mapper);
+    }
+
+    @Override
+    public Map<Long, Party> findByIds(Collection<Long> ids) {
+        Map<String, Party> cached = parties.getAll(
+                ids.stream().map(String::valueOf).toList(),
+                missing -> delegate.findByIds(missing.stream().map(Long::valueOf).toList()).entrySet().stream()
+                        .collect(Collectors.toMap(entry -> String.valueOf(entry.getKey()), Map.Entry::getValue)));
+        Map<Long, Party> found = new HashMap<>();
+        cached.forEach((id, party) -> found.put(Long.valueOf(id), party));
+        return found;
+    }
+
+    TwoTierCache<Party> cache() {
+        return parties;
+    }
+
+    /**
+     * Stores parties by their fields, tagged with their subtype. Contact mechanisms are lazily
+     * loaded and are not part of the cached copy.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "@type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Person.class, name = "PERSON"),
+            @JsonSubTypes.Type(value = Organization.class, name = "ORGANIZATION")
+    })
+    @JsonIgnoreProperties({"contactMechanisms"})
+    @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY,
+            getterVisibility = JsonAutoDetect.Visibility.NONE,
+            isGetterVisibility = JsonAutoDetect.Visibility.NONE,
+            setterVisibility = JsonAutoDetect.Visibility.NONE)
+    abstract static class PartyJson {
+    }
+}
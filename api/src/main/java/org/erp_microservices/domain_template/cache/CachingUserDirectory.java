@@ -0,0 +1,48 @@
+package org.erp_microservices.domain_template.cache;
+
+import org.erp_microservices.domain_template.user.UserAccount;
+import org.erp_microservices.domain_template.user.UserDirectory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves user and role lookups from the two-tier read cache, asking the wrapped directory only for
+ * the usernames neither tier holds. Whatever changes a user or their roles should call
+ * {@link #evict(Collection)}.
+ */
+public class CachingUserDirectory implements UserDirectory {
+
+    static final String USERS_REGION = "users";
+    static final String ROLES_REGION = "user-roles";
+
+    private final UserDirectory delegate;
+    private final TwoTierCache<UserAccount> users;
+    private final TwoTierCache<List<String>> roles;
+
+    public CachingUserDirectory(UserDirectory delegate, TwoTierCacheManager cacheManager) {
+        this.delegate = delegate;
+        this.users = cacheManager.create(USERS_REGION, UserAccount.class);
+        this.roles = cacheManager.create(ROLES_REGION,
+                cacheManager.getObjectMapper().getTypeFactory().constructCollectionType(List.class, String.class));
+    }
+
+    @Override
+    public Map<String, UserAccount> findByUsernames(Collection<String> usernames) {
+        return users.getAll(usernames, delegate::findByUsernames);
+    }
+
+    @Override
+    public Map<String, List<String>> findRolesByUsernames(Collection<String> usernames) {
+        return roles.getAll(usernames, delegate::findRolesByUsernames);
+    }
+
+    /**
+     * Evicts the users and their roles from every instance once the current transaction commits.
+     */
+    public void evict(Collection<String> usernames) {
+        users.evict(usernames);
+        roles.evict(usernames);
+    }
+}
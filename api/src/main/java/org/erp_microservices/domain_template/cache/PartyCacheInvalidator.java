@@ -0,0 +1,53 @@
+package org.erp_microservices.domain_template.cache;
+
+import org.erp_microservices.domain_template.party.Party;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.List;
+
+/**
+ * Evicts a party from the read cache once Hibernate has committed an update or delete of it.
+ * Bulk JPQL updates and deletes bypass entity events, so parties changed that way stay cached
+ * until their region's TTL expires.
+ */
+public class PartyCacheInvalidator implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final TwoTierCache<Party> parties;
+
+    public PartyCacheInvalidator(CachingPartyDirectory directory) {
+        this.parties = directory.cache();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evict(event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict(event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, so the cached copy is still current
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, so the cached copy is still current
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Party.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    private void evict(Object id) {
+        parties.evictNow(List.of(String.valueOf(id)));
+    }
+}
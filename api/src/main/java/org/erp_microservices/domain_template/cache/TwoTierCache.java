@@ -0,0 +1,209 @@
+package org.erp_microservices.domain_template.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * One region of the read cache. Lookups try the instance's Caffeine near cache, then Redis, and
+ * load whatever is still missing in one call to the loader, writing it back to both tiers. Both
+ * tiers hold values read back from their JSON, never the loaded objects themselves, so a cached
+ * value shares no state with the caller that loaded it. Missing keys are not cached. Redis errors
+ * are logged and treated as misses, so reads keep working when Redis is unavailable.
+ *
+ * <p>{@link #evict(Collection)} removes keys from Redis and from the near cache of every instance
+ * once the current transaction commits. A read that loaded a value before the write committed may
+ * still put it back; {@link TwoTierCacheProperties.Region#getRemoteTtl()} bounds how long such a
+ * value survives.
+ */
+@Slf4j
+public class TwoTierCache<V> {
+
+    private final String name;
+    private final Cache<String, V> near;
+    private final StringRedisTemplate redis;
+    private final String keyPrefix;
+    private final Duration remoteTtl;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final TwoTierCacheManager manager;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    TwoTierCache(String name, Cache<String, V> near, StringRedisTemplate redis, String keyPrefix, Duration remoteTtl,
+                 ObjectReader reader, ObjectWriter writer, TwoTierCacheManager manager,
+                 Counter remoteHits, Counter remoteMisses) {
+        this.name = name;
+        this.near = near;
+        this.redis = redis;
+        this.keyPrefix = keyPrefix + ":" + name + ":";
+        this.remoteTtl = remoteTtl;
+        this.reader = reader;
+        this.writer = writer;
+        this.manager = manager;
+        this.remoteHits = remoteHits;
+        this.remoteMisses = remoteMisses;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the cached values of {@code keys}, loading the ones neither tier holds with a single
+     * call to {@code loader}. Keys the loader does not return are absent from the result.
+     */
+    public Map<String, V> getAll(Collection<String> keys, Function<Set<String>, Map<String, V>> loader) {
+        Map<String, V> values = new HashMap<>(near.getAllPresent(keys));
+        Set<String> missing = new LinkedHashSet<>(keys);
+        missing.removeAll(values.keySet());
+        if (missing.isEmpty()) {
+            return values;
+        }
+
+        Map<String, V> remote = readRemote(missing);
+        near.putAll(remote);
+        values.putAll(remote);
+        missing.removeAll(remote.keySet());
+        if (missing.isEmpty()) {
+            return values;
+        }
+
+        Map<String, V> loaded = loader.apply(missing);
+        near.putAll(writeRemote(loaded));
+        values.putAll(loaded);
+        return values;
+    }
+
+    /**
+     * Returns the value of {@code key}, or {@code null} if neither the cache nor the loader has one.
+     */
+    public V get(String key, Function<String, V> loader) {
+        return getAll(List.of(key), missing -> {
+            V value = loader.apply(key);
+            return value != null ? Map.of(key, value) : Map.of();
+        }).get(key);
+    }
+
+    /**
+     * Evicts {@code keys} from Redis and from every instance's near cache, after the current
+     * transaction commits or immediately when there is none.
+     */
+    public void evict(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> evicted = List.copyOf(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(evicted);
+                }
+            });
+        } else {
+            evictNow(evicted);
+        }
+    }
+
+    void evictNow(List<String> keys) {
+        near.invalidateAll(keys);
+        try {
+            redis.delete(keys.stream().map(this::redisKey).toList());
+            manager.publishEviction(name, keys);
+        } catch (DataAccessException e) {
+            log.warn("Could not evict {} keys from cache region {} in Redis", keys.size(), name, e);
+        }
+    }
+
+    /**
+     * Drops keys from this instance's near cache only, on an eviction announced by any instance.
+     */
+    void evictLocal(Collection<String> keys) {
+        near.invalidateAll(keys);
+    }
+
+    private Map<String, V> readRemote(Set<String> keys) {
+        List<String> ordered = new ArrayList<>(keys);
+        List<String> json;
+        try {
+            json = redis.opsForValue().multiGet(ordered.stream().map(this::redisKey).toList());
+        } catch (DataAccessException e) {
+            log.debug("Cache region {} could not read from Redis", name, e);
+            remoteMisses.increment(keys.size());
+            return Map.of();
+        }
+
+        Map<String, V> values = new HashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            String value = json != null ? json.get(i) : null;
+            if (value != null) {
+                try {
+                    values.put(ordered.get(i), reader.readValue(value));
+                } catch (JsonProcessingException e) {
+                    log.debug("Ignoring unreadable entry {} in cache region {}", ordered.get(i), name, e);
+                }
+            }
+        }
+        remoteHits.increment(values.size());
+        remoteMisses.increment(keys.size() - values.size());
+        return values;
+    }
+
+    /**
+     * Writes {@code values} to Redis and returns copies of them read back from the JSON written.
+     */
+    private Map<String, V> writeRemote(Map<String, V> values) {
+        if (values.isEmpty()) {
+            return Map.of();
+        }
+        Map<byte[], byte[]> entries = new HashMap<>();
+        Map<String, V> copies = new HashMap<>();
+        for (Map.Entry<String, V> entry : values.entrySet()) {
+            try {
+                byte[] json = writer.writeValueAsBytes(entry.getValue());
+                copies.put(entry.getKey(), reader.readValue(json));
+                entries.put(redisKey(entry.getKey()).getBytes(StandardCharsets.UTF_8), json);
+            } catch (IOException e) {
+                log.warn("Cannot cache entry {} in region {}", entry.getKey(), name, e);
+            }
+        }
+        Expiration expiration = Expiration.from(remoteTtl);
+        try {
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach((key, value) -> connection.stringCommands()
+                        .set(key, value, expiration, RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.debug("Cache region {} could not write to Redis", name, e);
+        }
+        return copies;
+    }
+
+    private String redisKey(String key) {
+        return keyPrefix + key;
+    }
+}
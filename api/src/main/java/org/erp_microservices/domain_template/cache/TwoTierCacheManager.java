@@ -0,0 +1,120 @@
+package org.erp_microservices.domain_template.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the regions of the two-tier read cache and relays evictions between instances over
+ * Redis pub/sub. Each region reports {@code cache.gets} and {@code cache.hit.ratio} tagged with
+ * its name and {@code tier} ({@code near} or {@code remote}); the near tier also reports the
+ * other Caffeine statistics.
+ */
+@Slf4j
+public class TwoTierCacheManager implements MessageListener {
+
+    public static final String TIER_TAG = "tier";
+
+    private final TwoTierCacheProperties properties;
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TwoTierCache<?>> regions = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(
+            TwoTierCacheProperties properties, StringRedisTemplate redis, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <V> TwoTierCache<V> create(String name, Class<V> type) {
+        return create(name, objectMapper.constructType(type), objectMapper);
+    }
+
+    public <V> TwoTierCache<V> create(String name, JavaType type) {
+        return create(name, type, objectMapper);
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Creates a region whose values are stored in Redis as JSON written by {@code mapper}.
+     */
+    public <V> TwoTierCache<V> create(String name, JavaType type, ObjectMapper mapper) {
+        TwoTierCacheProperties.Region region = properties.region(name);
+        Cache<String, V> near = Caffeine.newBuilder()
+                .maximumSize(region.getLocalMaximumSize())
+                .expireAfterWrite(region.getLocalTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, near, name, Tags.of(TIER_TAG, "near"));
+        Gauge.builder("cache.hit.ratio", near, cache -> cache.stats().hitRate())
+                .tags(Tags.of("cache", name, TIER_TAG, "near"))
+                .register(meterRegistry);
+
+        Counter remoteHits = remoteGets(name, "hit");
+        Counter remoteMisses = remoteGets(name, "miss");
+        Gauge.builder("cache.hit.ratio", () -> hitRatio(remoteHits.count(), remoteMisses.count()))
+                .tags(Tags.of("cache", name, TIER_TAG, "remote"))
+                .register(meterRegistry);
+
+        TwoTierCache<V> cache = new TwoTierCache<>(name, near, redis, properties.getKeyPrefix(),
+                region.getRemoteTtl(), mapper.readerFor(type), mapper.writerFor(type), this, remoteHits, remoteMisses);
+        if (regions.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache region " + name + " already exists");
+        }
+        return cache;
+    }
+
+    void publishEviction(String region, List<String> keys) {
+        redis.convertAndSend(properties.getInvalidationChannel(), region + "\n" + String.join("\n", keys));
+    }
+
+    /**
+     * Receives an eviction announced by any instance, this one included, and drops the keys from
+     * the region's near cache.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split("\n");
+        TwoTierCache<?> cache = regions.get(lines[0]);
+        if (cache == null) {
+            log.debug("Ignoring eviction for unknown cache region {}", lines[0]);
+            return;
+        }
+        cache.evictLocal(Arrays.asList(lines).subList(1, lines.length));
+    }
+
+    private Counter remoteGets(String name, String result) {
+        return Counter.builder("cache.gets")
+                .description("The number of times cache lookup methods have returned a cached (hit) or uncached (miss) value")
+                .tags(Tags.of("cache", name, TIER_TAG, "remote", "result", result))
+                .register(meterRegistry);
+    }
+
+    private static double hitRatio(double hits, double misses) {
+        double requests = hits + misses;
+        return requests == 0 ? 1.0 : hits / requests;
+    }
+}
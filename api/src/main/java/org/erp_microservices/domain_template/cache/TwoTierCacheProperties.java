@@ -0,0 +1,57 @@
+package org.erp_microservices.domain_template.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Regions of the read cache that keeps an in-process near cache in front of Redis.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class TwoTierCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Prefix of every Redis key, followed by the region name and the entry's key.
+     */
+    private String keyPrefix = "domain-template";
+
+    /**
+     * Redis pub/sub channel on which evicted keys are announced to every instance.
+     */
+    private String invalidationChannel = "domain-template:cache-invalidation";
+
+    /**
+     * Limits per region, by region name. Regions that are not listed use the defaults.
+     */
+    private Map<String, Region> regions = new HashMap<>();
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, new Region());
+    }
+
+    @Data
+    public static class Region {
+
+        /**
+         * Maximum number of entries in each instance's near cache.
+         */
+        private long localMaximumSize = 10_000;
+
+        /**
+         * How long an entry is served from the near cache. Evictions are broadcast, so this only
+         * bounds staleness when an invalidation message is lost.
+         */
+        private Duration localTtl = Duration.ofSeconds(30);
+
+        /**
+         * How long an entry is kept in Redis.
+         */
+        private Duration remoteTtl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,27 @@
+package org.erp_microservices.domain_template.config;
+
+import org.erp_microservices.domain_template.graphql.QueryResolver;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection and resource hints for a GraalVM native image that Spring's AOT processing cannot
+ * infer from bean definitions. Nothing here is used on the JVM.
+ */
+public class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // GraphQL reads the fields of currentUser through the getters Lombok generates
+        hints.reflection().registerType(QueryResolver.User.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+
+        // The schema, and any persisted query manifest kept next to it, are loaded by pattern
+        hints.resources().registerPattern("graphql/**");
+
+        // spring.jpa.properties.hibernate.dialect names the dialect, which Hibernate instantiates by name
+        hints.reflection().registerType(PostgreSQLDialect.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
@@ -0,0 +1,22 @@
+package org.erp_microservices.domain_template.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * Carries thread-local context, including the Spring Security {@code SecurityContext}, onto tasks
+ * run by the application task executor. Spring Boot applies this decorator to
+ * {@code applicationTaskExecutor}, which Spring GraphQL uses for asynchronous data fetchers; with
+ * {@code spring.threads.virtual.enabled=true} those tasks, and servlet requests, run on virtual
+ * threads.
+ */
+@Configuration
+public class AsyncExecutionConfig {
+
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
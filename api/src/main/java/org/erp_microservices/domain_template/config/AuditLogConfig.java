@@ -0,0 +1,79 @@
+package org.erp_microservices.domain_template.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.erp_microservices.domain_template.audit.AuditLogListener;
+import org.erp_microservices.domain_template.audit.AuditLogProperties;
+import org.erp_microservices.domain_template.audit.AuditLogWriter;
+import org.erp_microservices.domain_template.audit.BulkInsertAuditor;
+import org.erp_microservices.domain_template.audit.JdbcAuditLogStore;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Optional;
+
+/**
+ * Records every committed entity change in {@code audit_log}. Changes are captured by Hibernate
+ * post-commit listeners and written in batches by a background thread, so auditing adds no writes
+ * to the audited transaction. Bulk writes are the exception: they write their entries a batch at a
+ * time in the transaction that makes them, through the {@link BulkInsertAuditor}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.audit", name = "enabled", matchIfMissing = true)
+public class AuditLogConfig {
+
+    @Bean
+    public AuditLogWriter auditLogWriter(
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+            AuditLogProperties properties, MeterRegistry meterRegistry) {
+        return new AuditLogWriter(new JdbcAuditLogStore(jdbcTemplate, transactionManager, objectMapper),
+                properties, meterRegistry);
+    }
+
+    /**
+     * Attributes changes to the authenticated caller of the request that committed them.
+     */
+    @Bean
+    public AuditorAware<String> auditor() {
+        return () -> Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .filter(Authentication::isAuthenticated)
+                .map(Authentication::getName);
+    }
+
+    @Bean
+    public AuditLogListener auditLogListener(
+            AuditLogWriter writer, AuditorAware<String> auditor, EntityManagerFactory entityManagerFactory) {
+        AuditLogListener listener = new AuditLogListener(writer, auditor);
+        EventListenerRegistry listeners = listeners(entityManagerFactory);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        return listener;
+    }
+
+    @Bean
+    public BulkInsertAuditor bulkInsertAuditor(
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+            AuditorAware<String> auditor, EntityManagerFactory entityManagerFactory) {
+        BulkInsertAuditor bulkInsertAuditor = new BulkInsertAuditor(new JdbcAuditLogStore(jdbcTemplate,
+                transactionManager, objectMapper, TransactionDefinition.PROPAGATION_MANDATORY), auditor);
+        listeners(entityManagerFactory).appendListeners(EventType.POST_INSERT, bulkInsertAuditor);
+        return bulkInsertAuditor;
+    }
+
+    private static EventListenerRegistry listeners(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+    }
+}
@@ -0,0 +1,53 @@
+package org.erp_microservices.domain_template.config;
+
+import org.erp_microservices.domain_template.audit.AuditLogPartitionMaintenance;
+import org.erp_microservices.domain_template.audit.AuditLogProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+
+/**
+ * Creates {@code audit_log}'s monthly partitions ahead of time and applies the retention policy,
+ * once at startup and then on {@code app.audit.partitions.maintenance-cron}.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.audit.partitions", name = "enabled", matchIfMissing = true)
+public class AuditLogPartitionConfig {
+
+    @Bean
+    public AuditLogPartitionMaintenance auditLogPartitionMaintenance(
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, AuditLogProperties properties) {
+        return new AuditLogPartitionMaintenance(
+                jdbcTemplate, transactionManager, properties.getPartitions(), Clock.systemUTC());
+    }
+
+    @Bean
+    public PartitionMaintenanceSchedule auditLogPartitionMaintenanceSchedule(
+            AuditLogPartitionMaintenance maintenance) {
+        return new PartitionMaintenanceSchedule(maintenance);
+    }
+
+    static class PartitionMaintenanceSchedule {
+
+        private final AuditLogPartitionMaintenance maintenance;
+
+        PartitionMaintenanceSchedule(AuditLogPartitionMaintenance maintenance) {
+            this.maintenance = maintenance;
+        }
+
+        @EventListener(ApplicationReadyEvent.class)
+        @Scheduled(cron = "${app.audit.partitions.maintenance-cron:0 15 3 * * *}", zone = "UTC")
+        public void run() {
+            maintenance.run();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.erp_microservices.domain_template.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.erp_microservices.domain_template.snapshot.ConfigServerSnapshotSource;
+import org.erp_microservices.domain_template.snapshot.ConfigSnapshotCodec;
+import org.erp_microservices.domain_template.snapshot.ConfigSnapshotProperties;
+import org.erp_microservices.domain_template.snapshot.ConfigSnapshotRefresher;
+import org.erp_microservices.domain_template.snapshot.ConfigSnapshotStore;
+import org.erp_microservices.domain_template.snapshot.SnapshotSource;
+import org.erp_microservices.domain_template.snapshot.VaultSnapshotSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.vault.core.VaultOperations;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the snapshot that the {@code config-snapshot} profile starts from up to date. The Config
+ * Server and Vault are read after startup by {@link ConfigSnapshotRefresher}, each only while the
+ * corresponding Spring Cloud client is enabled; Vault secrets override Config Server properties
+ * of the same name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.config-snapshot", name = "enabled")
+public class ConfigSnapshotConfig {
+
+    @Bean
+    public ConfigSnapshotStore configSnapshotStore(ConfigSnapshotProperties properties) {
+        return new ConfigSnapshotStore(properties.getPath(), ConfigSnapshotCodec.fromKey(properties.getKey()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.cloud.config", name = "enabled", matchIfMissing = true)
+    public ConfigServerSnapshotSource configServerSnapshotSource(
+            ConfigClientProperties configClientProperties, ConfigurableEnvironment environment) {
+        return new ConfigServerSnapshotSource(configClientProperties, environment);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.cloud.vault", name = "enabled", matchIfMissing = true)
+    public VaultSnapshotSource vaultSnapshotSource(
+            VaultOperations vaultOperations, ConfigSnapshotProperties properties,
+            @Value("${spring.application.name}") String applicationName) {
+        List<String> paths = properties.getVault().getPaths();
+        return new VaultSnapshotSource(vaultOperations, properties.getVault().getBackend(),
+                paths.isEmpty() ? List.of(applicationName) : paths);
+    }
+
+    @Bean
+    public ConfigSnapshotRefresher configSnapshotRefresher(
+            ConfigSnapshotStore store, ObjectProvider<ConfigServerSnapshotSource> configServer,
+            ObjectProvider<VaultSnapshotSource> vault, ConfigSnapshotProperties properties,
+            ConfigurableEnvironment environment, ApplicationEventPublisher eventPublisher,
+            ObjectProvider<RefreshScope> refreshScope, MeterRegistry meterRegistry) {
+        // Config Server first, so that Vault wins where both set a property
+        List<SnapshotSource> sources = Stream.<SnapshotSource>of(configServer.getIfAvailable(), vault.getIfAvailable())
+                .filter(Objects::nonNull)
+                .toList();
+        return new ConfigSnapshotRefresher(store, sources, properties.getRefreshInterval(),
+                environment, eventPublisher, refreshScope.getIfAvailable(), meterRegistry);
+    }
+}
@@ -0,0 +1,33 @@
+package org.erp_microservices.domain_template.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.erp_microservices.domain_template.graphql.GraphQlMetricsInstrumentation;
+import org.erp_microservices.domain_template.graphql.GraphQlMetricsProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times GraphQL phases and resolvers. Disabling it removes the instrumentation entirely, so the
+ * request path does no timing work.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.graphql.metrics", name = "enabled", matchIfMissing = true)
+public class GraphQlMetricsConfig {
+
+    @Bean
+    public GraphQlMetricsInstrumentation graphQlMetricsInstrumentation(
+            GraphQlMetricsProperties properties, MeterRegistry meterRegistry) {
+        return new GraphQlMetricsInstrumentation(properties, meterRegistry);
+    }
+
+    /**
+     * Operation names are chosen by clients, so the number of distinct values is capped.
+     */
+    @Bean
+    public MeterFilter graphQlOperationTagLimit(GraphQlMetricsProperties properties) {
+        return MeterFilter.maximumAllowableTags("graphql.", GraphQlMetricsInstrumentation.OPERATION_TAG,
+                properties.getMaxOperationTags(), MeterFilter.deny());
+    }
+}
@@ -0,0 +1,50 @@
+package org.erp_microservices.domain_template.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.graphql.data.pagination.CursorEncoder;
+import org.springframework.graphql.data.pagination.CursorStrategy;
+import org.springframework.graphql.data.pagination.EncodingCursorStrategy;
+import org.springframework.graphql.data.query.JsonKeysetCursorStrategy;
+import org.springframework.graphql.data.query.ScrollPositionCursorStrategy;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Cursors for keyset-paginated connections. Spring GraphQL's default keyset cursors only accept
+ * date and time key values when they are read back, so a cursor positioned on a numeric id could
+ * be issued but not resumed from; this strategy accepts numbers as well.
+ */
+@Configuration
+public class GraphQlPaginationConfig {
+
+    @Bean
+    public EncodingCursorStrategy<ScrollPosition> cursorStrategy() {
+        PolymorphicTypeValidator keyTypes = BasicPolymorphicTypeValidator.builder()
+                .allowIfBaseType(Map.class)
+                .allowIfSubType(Number.class)
+                .allowIfSubType("java.time.")
+                .allowIfSubType(Calendar.class)
+                .allowIfSubType(Date.class)
+                .build();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        objectMapper.activateDefaultTyping(keyTypes, ObjectMapper.DefaultTyping.NON_FINAL);
+
+        CodecConfigurer codecs = ServerCodecConfigurer.create();
+        codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+        codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+        return CursorStrategy.withEncoder(
+                new ScrollPositionCursorStrategy(new JsonKeysetCursorStrategy(codecs)), CursorEncoder.base64());
+    }
+}
@@ -1,5 +1,14 @@
 package org.erp_microservices.domain_template.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.erp_microservices.domain_template.export.PartyExportController;
+import org.erp_microservices.domain_template.security.JwksProperties;
+import org.erp_microservices.domain_template.security.RefreshingJwkSetSource;
+import org.erp_microservices.domain_template.security.ScopedJwtAuthenticationConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,14 +16,17 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
@@ -23,8 +35,11 @@ public class OAuth2SecurityConfig {
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:http://localhost:8080}")
     private String issuerUri;
 
+    @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:http://localhost:8080/oauth2/jwks}")
+    private String jwkSetUri;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -36,18 +51,42 @@ public class OAuth2SecurityConfig {
                 .requestMatchers("/actuator/health/**").permitAll()
                 .requestMatchers("/.well-known/**").permitAll()
                 .requestMatchers("/graphql").authenticated()
+                // Browsers cannot send a token with the WebSocket handshake; it is checked at connection_init
+                .requestMatchers("/graphql-ws").permitAll()
+                .requestMatchers("/export/**").hasAuthority("SCOPE_" + PartyExportController.EXPORT_SCOPE)
                 .anyRequest().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
-                .jwt(jwt -> jwt.decoder(jwtDecoder()))
+                .jwt(jwt -> jwt
+                    .decoder(jwtDecoder)
+                    .jwtAuthenticationConverter(new ScopedJwtAuthenticationConverter()))
             );
 
         return http.build();
     }
 
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return JwtDecoders.fromIssuerLocation(issuerUri);
+    public RefreshingJwkSetSource jwkSetSource(JwksProperties jwksProperties, MeterRegistry meterRegistry) {
+        return new RefreshingJwkSetSource(URI.create(jwkSetUri), jwksProperties, meterRegistry);
+    }
+
+    /**
+     * Verifies tokens against the in-memory JWK set, so no network call is made while the
+     * application context starts.
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(RefreshingJwkSetSource jwkSetSource) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                Set.of(JWSAlgorithm.RS256, JWSAlgorithm.RS384, JWSAlgorithm.RS512,
+                        JWSAlgorithm.ES256, JWSAlgorithm.ES384, JWSAlgorithm.ES512),
+                jwkSetSource));
+        // Claims are validated by the JwtValidators below
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return jwtDecoder;
     }
 
     @Bean
@@ -0,0 +1,40 @@
+package org.erp_microservices.domain_template.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.erp_microservices.domain_template.graphql.PartyChangeBroadcaster;
+import org.erp_microservices.domain_template.party.PartyChangeFeed;
+import org.erp_microservices.domain_template.party.PartyChangeProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+/**
+ * Feeds the {@code partyChanged} GraphQL subscription from the database's party change
+ * notifications. Each instance listens once and fans the changes out to its own subscribers.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.party-changes", name = "enabled", matchIfMissing = true)
+public class PartyChangeConfig {
+
+    @Bean
+    public PartyChangeBroadcaster partyChangeBroadcaster(PartyChangeProperties properties, MeterRegistry meterRegistry) {
+        return new PartyChangeBroadcaster(properties.getSubscriberBufferSize(), meterRegistry);
+    }
+
+    /**
+     * Listens on a connection of its own to the primary, which {@code spring.datasource} points at
+     * even when reads are routed to replicas, so that no pooled connection is tied up.
+     */
+    @Bean
+    public PartyChangeFeed partyChangeFeed(
+            DataSourceProperties dataSourceProperties, ObjectMapper objectMapper, PartyChangeProperties properties,
+            PartyChangeBroadcaster broadcaster, MeterRegistry meterRegistry) {
+        SimpleDriverDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        return new PartyChangeFeed(dataSource, objectMapper, properties, broadcaster, meterRegistry);
+    }
+}
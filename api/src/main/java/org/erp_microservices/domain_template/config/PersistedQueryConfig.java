@@ -0,0 +1,34 @@
+package org.erp_microservices.domain_template.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.erp_microservices.domain_template.graphql.PersistedDocumentProvider;
+import org.erp_microservices.domain_template.graphql.PersistedQueryAllowlist;
+import org.erp_microservices.domain_template.graphql.PersistedQueryProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables automatic persisted queries: GraphQL documents are parsed and validated once and then
+ * served from {@link PersistedDocumentProvider}. Spring GraphQL already accepts request bodies that
+ * carry only {@code extensions.persistedQuery}, passing graphql-java's persisted query marker as
+ * the query text.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.graphql.persisted-queries", name = "enabled", matchIfMissing = true)
+public class PersistedQueryConfig {
+
+    @Bean
+    public PersistedDocumentProvider persistedDocumentProvider(
+            PersistedQueryProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        PersistedQueryAllowlist allowlist = PersistedQueryAllowlist.load(properties.getAllowlist(), objectMapper);
+        return new PersistedDocumentProvider(properties, allowlist, meterRegistry);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer persistedDocumentCustomizer(PersistedDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+    }
+}
@@ -0,0 +1,36 @@
+package org.erp_microservices.domain_template.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.erp_microservices.domain_template.graphql.GraphQLSecurityContext;
+import org.erp_microservices.domain_template.graphql.QueryCostInstrumentation;
+import org.erp_microservices.domain_template.graphql.QueryLimitsProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rejects GraphQL operations whose depth or cost exceeds the configured budget, and records the
+ * cost of every operation per client.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.graphql.query-limits", name = "enabled", matchIfMissing = true)
+public class QueryLimitsConfig {
+
+    @Bean
+    public QueryCostInstrumentation queryCostInstrumentation(
+            QueryLimitsProperties properties, GraphQLSecurityContext securityContext, MeterRegistry meterRegistry) {
+        return new QueryCostInstrumentation(properties, securityContext, meterRegistry);
+    }
+
+    /**
+     * Caps the number of client tags on the cost metric, so that tokens with random subjects cannot
+     * grow the meter registry without bound.
+     */
+    @Bean
+    public MeterFilter queryCostClientTagLimit(QueryLimitsProperties properties) {
+        return MeterFilter.maximumAllowableTags(
+                QueryCostInstrumentation.COST_METRIC, QueryCostInstrumentation.CLIENT_TAG,
+                properties.getMaxClientTags(), MeterFilter.deny());
+    }
+}
@@ -0,0 +1,144 @@
+package org.erp_microservices.domain_template.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.erp_microservices.domain_template.routing.ReadReplicaProperties;
+import org.erp_microservices.domain_template.routing.ReadReplicas;
+import org.erp_microservices.domain_template.routing.ReadWriteRoutingDataSource;
+import org.erp_microservices.domain_template.routing.ReadYourWrites;
+import org.erp_microservices.domain_template.routing.ReplicaLagMonitor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serves read-only transactions, which include the GraphQL query resolvers' lookups, from
+ * PostgreSQL streaming replicas, and everything else from the primary. Replicas that fall more
+ * than {@code app.datasource.read-replicas.max-lag} behind are skipped, and once a request has
+ * committed a write its later reads stay on the primary.
+ *
+ * <p>The primary pool is configured by {@code spring.datasource} as before and also serves the
+ * Flyway migrations. Off by default, since it needs replica URLs.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaRoutingConfig {
+
+    static final String READ_YOUR_WRITES_KEY = "domain-template.read-your-writes";
+
+    static {
+        // Lets the request's scope follow it onto GraphQL data fetcher and @Async threads
+        ContextRegistry.getInstance().registerThreadLocalAccessor(READ_YOUR_WRITES_KEY,
+                ReadYourWrites::current, ReadYourWrites::set, ReadYourWrites::clear);
+    }
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReadReplicas readReplicas(
+            DataSourceProperties dataSourceProperties, ReadReplicaProperties properties, Environment environment,
+            MeterRegistry meterRegistry) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (String url : properties.getUrls()) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(url)
+                    .username(properties.getUsername() != null
+                            ? properties.getUsername() : dataSourceProperties.determineUsername())
+                    .password(properties.getPassword() != null
+                            ? properties.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            String name = "replica-" + (pools.size() + 1);
+            pool.setPoolName(name);
+            if (properties.getMaximumPoolSize() != null) {
+                pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+            }
+            pool.setMetricRegistry(meterRegistry);
+            pools.put(name, pool);
+        }
+        return new ReadReplicas(pools);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReadReplicas readReplicas, ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(readReplicas, properties, meterRegistry);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            HikariDataSource primaryDataSource, ReadReplicas readReplicas, ReplicaLagMonitor replicaLagMonitor,
+            ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, readReplicas, replicaLagMonitor, properties,
+                meterRegistry);
+    }
+
+    /**
+     * The data source JPA and JDBC templates use. Connections are only fetched from the routing
+     * data source once the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            ReadWriteRoutingDataSource readWriteRoutingDataSource, HikariDataSource primaryDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+        // Known up front, so the proxy does not borrow a connection just to find them out
+        dataSource.setDefaultAutoCommit(primaryDataSource.isAutoCommit());
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Opens a {@link ReadYourWrites} scope for each request.
+     */
+    static class ReadYourWritesFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            try (ReadYourWrites.Scope scope = ReadYourWrites.open()) {
+                filterChain.doFilter(request, response);
+            }
+        }
+    }
+}
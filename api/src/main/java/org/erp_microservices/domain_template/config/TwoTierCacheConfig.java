@@ -0,0 +1,74 @@
+package org.erp_microservices.domain_template.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.erp_microservices.domain_template.cache.CachingPartyDirectory;
+import org.erp_microservices.domain_template.cache.CachingUserDirectory;
+import org.erp_microservices.domain_template.cache.PartyCacheInvalidator;
+import org.erp_microservices.domain_template.cache.TwoTierCacheManager;
+import org.erp_microservices.domain_template.cache.TwoTierCacheProperties;
+import org.erp_microservices.domain_template.party.JpaPartyDirectory;
+import org.erp_microservices.domain_template.user.JdbcUserDirectory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Puts the two-tier read cache, a Caffeine near cache per instance in front of Redis, in front of
+ * user and party lookups. Evictions are announced on a Redis channel that every instance listens
+ * to, so near caches drop changed entries within one pub/sub round trip.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache", name = "enabled", matchIfMissing = true)
+public class TwoTierCacheConfig {
+
+    @Bean
+    public TwoTierCacheManager twoTierCacheManager(
+            TwoTierCacheProperties properties, StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        return new TwoTierCacheManager(properties, redisTemplate, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, TwoTierCacheManager cacheManager,
+            TwoTierCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
+    }
+
+    @Bean
+    @Primary
+    public CachingUserDirectory cachingUserDirectory(JdbcUserDirectory userDirectory, TwoTierCacheManager cacheManager) {
+        return new CachingUserDirectory(userDirectory, cacheManager);
+    }
+
+    @Bean
+    @Primary
+    public CachingPartyDirectory cachingPartyDirectory(
+            JpaPartyDirectory partyDirectory, TwoTierCacheManager cacheManager) {
+        return new CachingPartyDirectory(partyDirectory, cacheManager);
+    }
+
+    @Bean
+    public PartyCacheInvalidator partyCacheInvalidator(
+            CachingPartyDirectory partyDirectory, EntityManagerFactory entityManagerFactory) {
+        PartyCacheInvalidator invalidator = new PartyCacheInvalidator(partyDirectory);
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, invalidator);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, invalidator);
+        return invalidator;
+    }
+}
@@ -0,0 +1,71 @@
+package org.erp_microservices.domain_template.export;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.erp_microservices.domain_template.party.exporter.ExportFormat;
+import org.erp_microservices.domain_template.party.exporter.PartyExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams every party and contact mechanism to reporting jobs, as CSV or NDJSON, outside GraphQL.
+ * The response has no length and is sent in chunks as rows are read from the database cursor, on
+ * the request thread, so a client that reads slowly holds back the cursor instead of filling the
+ * heap. Callers need the {@value #EXPORT_SCOPE} scope.
+ *
+ * <p>Each export keeps a database connection until the client has read everything, so only
+ * {@code app.party-export.max-concurrent-exports} run at once and further requests are answered
+ * with 429. A failure after the first rows were sent cannot change the status any more; the
+ * connection is closed instead, and the client sees a truncated body.
+ */
+@RestController
+public class PartyExportController {
+
+    public static final String EXPORT_SCOPE = "parties:export";
+
+    private final PartyExporter exporter;
+    private final Semaphore exports;
+
+    public PartyExportController(
+            PartyExporter exporter,
+            @Value("${app.party-export.max-concurrent-exports:2}") int maxConcurrentExports) {
+        this.exporter = exporter;
+        this.exports = new Semaphore(maxConcurrentExports);
+    }
+
+    @GetMapping("/export/parties")
+    public void exportParties(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response)
+            throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        if (!exports.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many exports are running");
+        }
+        try {
+            response.setContentType(exportFormat.mediaType() + ";charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("parties." + exportFormat.extension())
+                    .build()
+                    .toString());
+            exporter.export(exportFormat, response.getOutputStream());
+        } finally {
+            exports.release();
+        }
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ProblemDetail invalidExport(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
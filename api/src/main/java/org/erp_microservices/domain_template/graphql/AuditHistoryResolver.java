@@ -0,0 +1,83 @@
+package org.erp_microservices.domain_template.graphql;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import lombok.RequiredArgsConstructor;
+import org.erp_microservices.domain_template.audit.AuditEntry;
+import org.erp_microservices.domain_template.audit.AuditLogHistory;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Controller;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Serves the audit history of a time range. The range is required so that every query is pruned
+ * to the monthly {@code audit_log} partitions it overlaps. The entries hold the personal data of
+ * the audited rows, so callers need the {@value #AUDIT_SCOPE} scope.
+ */
+@Controller
+@RequiredArgsConstructor
+public class AuditHistoryResolver {
+
+    public static final String AUDIT_SCOPE = "audit:read";
+
+    static final int MAX_ENTRIES = 500;
+
+    private final AuditLogHistory auditLogHistory;
+    private final ObjectMapper objectMapper;
+    private final GraphQLSecurityContext securityContext;
+
+    @QueryMapping
+    public List<AuditEntry> auditHistory(
+            @Argument String from, @Argument String to, @Argument String tableName, @Argument Integer first,
+            @ContextValue(name = AuthenticatedPrincipal.CONTEXT_KEY, required = false) AuthenticatedPrincipal principal) {
+        if (!securityContext.resolve(principal).hasScope(AUDIT_SCOPE)) {
+            throw new AccessDeniedException("Reading the audit history requires the " + AUDIT_SCOPE + " scope");
+        }
+        if (first != null && first < 0) {
+            throw new IllegalArgumentException("first must not be negative");
+        }
+        int limit = Math.min(first != null ? first : 100, MAX_ENTRIES);
+        return auditLogHistory.find(OffsetDateTime.parse(from), OffsetDateTime.parse(to), tableName, limit);
+    }
+
+    @SchemaMapping(typeName = "AuditLogEntry")
+    public String oldValues(AuditEntry entry) throws JsonProcessingException {
+        return entry.oldValues() != null ? objectMapper.writeValueAsString(entry.oldValues()) : null;
+    }
+
+    @SchemaMapping(typeName = "AuditLogEntry")
+    public String newValues(AuditEntry entry) throws JsonProcessingException {
+        return entry.newValues() != null ? objectMapper.writeValueAsString(entry.newValues()) : null;
+    }
+
+    @GraphQlExceptionHandler
+    public GraphQLError accessDenied(AccessDeniedException e, DataFetchingEnvironment environment) {
+        return GraphqlErrorBuilder.newError(environment)
+                .errorType(ErrorType.FORBIDDEN)
+                .message(e.getMessage())
+                .build();
+    }
+
+    @GraphQlExceptionHandler({IllegalArgumentException.class, InvalidDataAccessApiUsageException.class,
+            DateTimeParseException.class})
+    public GraphQLError invalidRange(RuntimeException e, DataFetchingEnvironment environment) {
+        return GraphqlErrorBuilder.newError(environment)
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(e.getMessage())
+                .build();
+    }
+}
@@ -1,61 +1,60 @@
 package org.erp_microservices.domain_template.graphql;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.erp_microservices.domain_template.security.ScopeSet;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.Map;
 
 @Component
 @Slf4j
 public class GraphQLSecurityContext {
 
-    public String getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null) {
-            return null;
-        }
+    /**
+     * Reads the current authentication once and returns an immutable snapshot of it. Resolvers
+     * should prefer the snapshot stored in the {@code GraphQLContext} by
+     * {@link PrincipalGraphQlInterceptor}, and use {@link #resolve(AuthenticatedPrincipal)} as a
+     * fallback when none was stored.
+     */
+    public AuthenticatedPrincipal snapshot() {
+        return AuthenticatedPrincipal.from(SecurityContextHolder.getContext().getAuthentication());
+    }
 
-        if (authentication instanceof JwtAuthenticationToken) {
-            Jwt jwt = ((JwtAuthenticationToken) authentication).getToken();
-            return jwt.getSubject();
-        }
+    public AuthenticatedPrincipal resolve(AuthenticatedPrincipal principal) {
+        return principal != null ? principal : snapshot();
+    }
 
-        return authentication.getName();
+    public String getCurrentUser() {
+        return snapshot().subject();
     }
 
     public boolean isAuthenticated() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication != null && authentication.isAuthenticated();
+        return snapshot().authenticated();
     }
 
     public boolean hasScope(String scope) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (!(authentication instanceof JwtAuthenticationToken)) {
-            return false;
-        }
+        return getScopes().contains(scope);
+    }
 
-        Jwt jwt = ((JwtAuthenticationToken) authentication).getToken();
-        String scopes = jwt.getClaimAsString("scope");
-        if (scopes == null) {
-            return false;
-        }
+    public boolean hasAnyScope(String... scopes) {
+        return snapshot().hasAnyScope(scopes);
+    }
 
-        return Arrays.asList(scopes.split(" ")).contains(scope);
+    public boolean hasAllScopes(String... scopes) {
+        return snapshot().hasAllScopes(scopes);
     }
 
-    public Map<String, Object> getJwtClaims() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (!(authentication instanceof JwtAuthenticationToken)) {
-            return Collections.emptyMap();
-        }
+    /**
+     * Returns the scopes of the current token. They are parsed once per request by
+     * {@link org.erp_microservices.domain_template.security.ScopedJwtAuthenticationConverter}.
+     */
+    public ScopeSet getScopes() {
+        return snapshot().scopes();
+    }
 
-        Jwt jwt = ((JwtAuthenticationToken) authentication).getToken();
-        return jwt.getClaims();
+    public Map<String, Object> getJwtClaims() {
+        return snapshot().claims();
     }
-}
\ No newline at end of file
+}
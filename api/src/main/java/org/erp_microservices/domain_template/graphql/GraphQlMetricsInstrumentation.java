@@ -0,0 +1,168 @@
+package org.erp_microservices.domain_template.graphql;
+
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.validation.ValidationError;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a {@code graphql.phase} timer for parsing, validation and execution, and a
+ * {@code graphql.field} timer for every field resolved by a non-trivial data fetcher, such as
+ * {@code Query.currentUser}. Timers are tagged only with the operation name and the field's
+ * {@code Type.field} coordinate. Fields served by property data fetchers are skipped without
+ * allocating anything, and when {@code app.graphql.metrics.enabled} is false this instrumentation
+ * is not registered at all. Operations slower than the configured threshold are logged with their
+ * query text.
+ */
+@Slf4j
+public class GraphQlMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final String PHASE_TIMER = "graphql.phase";
+    public static final String FIELD_TIMER = "graphql.field";
+    public static final String OPERATION_TAG = "operation";
+
+    private static final String UNNAMED_OPERATION = "unnamed";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowQueryThreshold;
+
+    public GraphQlMetricsInstrumentation(GraphQlMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThreshold = properties.getSlowQueryThreshold();
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new OperationState(parameters.getExecutionInput().getOperationName());
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(
+            InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        if (slowQueryThreshold == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > slowQueryThreshold.toNanos()) {
+                log.warn("Slow GraphQL operation {} took {} ms: {}", ((OperationState) state).operation,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), parameters.getQuery());
+            }
+        });
+    }
+
+    @Override
+    public InstrumentationContext<Document> beginParse(
+            InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        OperationState operationState = (OperationState) state;
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((document, error) -> {
+            if (document != null) {
+                operationState.nameFrom(document);
+            }
+            recordPhase("parse", operationState, start);
+        });
+    }
+
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(
+            InstrumentationValidationParameters parameters, InstrumentationState state) {
+        OperationState operationState = (OperationState) state;
+        operationState.nameFrom(parameters.getDocument());
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted(
+                (errors, error) -> recordPhase("validate", operationState, start));
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        OperationState operationState = (OperationState) state;
+        String name = parameters.getExecutionContext().getOperationDefinition().getName();
+        if (name != null && UNNAMED_OPERATION.equals(operationState.operation)) {
+            operationState.operation = name;
+        }
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted(
+                (result, error) -> recordPhase("execute", operationState, start));
+    }
+
+    @Override
+    public FieldFetchingInstrumentationContext beginFieldFetching(
+            InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher()) {
+            return null;
+        }
+
+        ExecutionStepInfo stepInfo = parameters.getExecutionStepInfo();
+        String field = stepInfo.getObjectType().getName() + "." + stepInfo.getFieldDefinition().getName();
+        String operation = ((OperationState) state).operation;
+        long start = System.nanoTime();
+        return new FieldFetchingInstrumentationContext() {
+            @Override
+            public void onDispatched() {
+            }
+
+            @Override
+            public void onCompleted(Object result, Throwable error) {
+                Timer.builder(FIELD_TIMER)
+                        .description("Time taken to fetch a GraphQL field")
+                        .tag(OPERATION_TAG, operation)
+                        .tag("field", field)
+                        .tag("outcome", error == null ? "success" : "error")
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private void recordPhase(String phase, OperationState state, long start) {
+        Timer.builder(PHASE_TIMER)
+                .description("Time taken by each phase of a GraphQL request")
+                .tag(OPERATION_TAG, state.operation)
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static final class OperationState implements InstrumentationState {
+
+        private volatile String operation;
+
+        private OperationState(String operation) {
+            this.operation = operation != null ? operation : UNNAMED_OPERATION;
+        }
+
+        /**
+         * Takes the operation name from a single-operation document when the request did not name one.
+         */
+        private void nameFrom(Document document) {
+            if (!UNNAMED_OPERATION.equals(operation)) {
+                return;
+            }
+            List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+            if (operations.size() == 1 && operations.get(0).getName() != null) {
+                operation = operations.get(0).getName();
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.erp_microservices.domain_template.graphql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-phase and per-field GraphQL timers.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.graphql.metrics")
+public class GraphQlMetricsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Operations that take longer than this are logged with their query text. Unset disables the log.
+     */
+    private Duration slowQueryThreshold;
+
+    /**
+     * Maximum number of distinct operation names tagged on the timers; further names are not recorded.
+     */
+    private int maxOperationTags = 200;
+}
@@ -0,0 +1,57 @@
+package org.erp_microservices.domain_template.graphql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.erp_microservices.domain_template.party.PartyChange;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Fans the party changes of the {@link org.erp_microservices.domain_template.party.PartyChangeFeed}
+ * out to subscribers. Each change is filtered and offered to every subscriber's own buffer on the
+ * feed's thread, which never waits for a subscriber: a subscriber that falls {@code bufferSize}
+ * changes behind loses its oldest ones, and the others carry on unaffected.
+ */
+public class PartyChangeBroadcaster implements Consumer<PartyChange> {
+
+    public static final String SUBSCRIBERS_METRIC = "graphql.subscriptions.party-changes";
+    public static final String DROPPED_METRIC = "graphql.subscriptions.party-changes.dropped";
+
+    private final Sinks.Many<PartyChange> sink = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+    private final Counter dropped;
+
+    public PartyChangeBroadcaster(int bufferSize, MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.dropped = Counter.builder(DROPPED_METRIC)
+                .description("Party changes dropped because a subscriber was not keeping up")
+                .register(meterRegistry);
+        Gauge.builder(SUBSCRIBERS_METRIC, sink, Sinks.Many::currentSubscriberCount)
+                .description("Subscribers to party changes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Offers {@code change} to every current subscriber. Called by the feed's single thread.
+     */
+    @Override
+    public void accept(PartyChange change) {
+        // Nobody listening is the only expected failure, and then there is nobody to tell
+        sink.tryEmitNext(change);
+    }
+
+    /**
+     * Returns the changes matching {@code filter} from now on, holding up to {@code bufferSize} of
+     * them while the subscriber is busy.
+     */
+    public Flux<PartyChange> changes(Predicate<PartyChange> filter) {
+        return sink.asFlux()
+                .filter(filter)
+                .onBackpressureBuffer(bufferSize, change -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
@@ -0,0 +1,79 @@
+package org.erp_microservices.domain_template.graphql;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import lombok.RequiredArgsConstructor;
+import org.erp_microservices.domain_template.party.Party;
+import org.erp_microservices.domain_template.party.PartyChange;
+import org.erp_microservices.domain_template.party.PartyDirectory;
+import org.erp_microservices.domain_template.party.PartyType;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams committed party changes to subscribers, optionally only those of some party types or
+ * ids. The changed party itself is looked up only for subscribers that select it, through the
+ * read cache, so subscribers share the lookups rather than each reading the database.
+ */
+@Controller
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.party-changes", name = "enabled", matchIfMissing = true)
+public class PartyChangeResolver {
+
+    static final int MAX_IDS = 100;
+
+    private final PartyChangeBroadcaster broadcaster;
+    private final PartyDirectory partyDirectory;
+    private final GraphQLSecurityContext securityContext;
+
+    @SubscriptionMapping
+    public Flux<PartyChange> partyChanged(
+            @Argument List<PartyType> types, @Argument List<Long> ids,
+            @ContextValue(name = AuthenticatedPrincipal.CONTEXT_KEY, required = false) AuthenticatedPrincipal principal) {
+        if (ids != null && ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " party ids can be watched");
+        }
+        Set<PartyType> watchedTypes = types == null || types.isEmpty()
+                ? EnumSet.allOf(PartyType.class)
+                : EnumSet.copyOf(types);
+        Set<Long> watchedIds = ids == null ? null : Set.copyOf(ids);
+        Flux<PartyChange> changes = broadcaster.changes(change -> watchedTypes.contains(change.partyType())
+                && (watchedIds == null || watchedIds.contains(change.partyId())));
+        // A WebSocket connection is authenticated once, so its subscriptions end with the token
+        return securityContext.resolve(principal).expiresAt()
+                .map(expiry -> Duration.between(Instant.now(), expiry))
+                .map(remaining -> changes.take(remaining.isNegative() ? Duration.ZERO : remaining))
+                .orElse(changes);
+    }
+
+    @SchemaMapping(typeName = "PartyChange")
+    public Party party(PartyChange change) {
+        if (change.type() == PartyChange.Type.DELETED) {
+            return null;
+        }
+        return partyDirectory.findByIds(List.of(change.partyId())).get(change.partyId());
+    }
+
+    @GraphQlExceptionHandler(IllegalArgumentException.class)
+    public GraphQLError invalidSubscription(IllegalArgumentException e, DataFetchingEnvironment environment) {
+        return GraphqlErrorBuilder.newError(environment)
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(e.getMessage())
+                .build();
+    }
+}
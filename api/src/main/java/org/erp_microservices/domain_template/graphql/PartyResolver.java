@@ -0,0 +1,68 @@
+package org.erp_microservices.domain_template.graphql;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import lombok.RequiredArgsConstructor;
+import org.erp_microservices.domain_template.party.Party;
+import org.erp_microservices.domain_template.party.PartyDirectory;
+import org.erp_microservices.domain_template.party.PartyRepository;
+import org.erp_microservices.domain_template.party.PartySearch;
+import org.erp_microservices.domain_template.party.PartyType;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.query.ScrollSubrange;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+
+/**
+ * Looks up, searches and pages through parties as Relay connections. Spring GraphQL turns the {@code first/after} and
+ * {@code last/before} arguments into a keyset {@link ScrollPosition}, and the returned
+ * {@link Window} into edges whose cursors are the Base64-encoded position of each party's id, or of its score and
+ * id in search results.
+ */
+@Controller
+@RequiredArgsConstructor
+public class PartyResolver {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final PartyRepository partyRepository;
+    private final PartyDirectory partyDirectory;
+    private final PartySearch partySearch;
+
+    @QueryMapping
+    public Party party(@Argument Long id) {
+        return partyDirectory.findByIds(List.of(id)).get(id);
+    }
+
+    @QueryMapping
+    public Window<Party> parties(@Argument PartyType type, ScrollSubrange subrange) {
+        ScrollPosition position = subrange.position().orElse(ScrollPosition.keyset());
+        Limit limit = Limit.of(Math.min(subrange.count().orElse(DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE));
+        return partyRepository.findPage(type, position, limit);
+    }
+
+    @QueryMapping
+    public Window<Party> searchParties(@Argument String text, ScrollSubrange subrange) {
+        ScrollPosition position = subrange.position().orElse(ScrollPosition.keyset());
+        int limit = Math.min(subrange.count().orElse(DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+        return partySearch.search(text, position, limit);
+    }
+
+    @GraphQlExceptionHandler({IllegalArgumentException.class, InvalidDataAccessApiUsageException.class})
+    public GraphQLError invalidSearch(RuntimeException e, DataFetchingEnvironment environment) {
+        return GraphqlErrorBuilder.newError(environment)
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(e.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package org.erp_microservices.domain_template.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ErrorType;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryError;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Serves parsed and validated documents from a bounded LRU cache keyed by the SHA-256 of the query
+ * text, implementing Apollo's automatic persisted queries protocol: a request may carry only
+ * {@code extensions.persistedQuery.sha256Hash}, and is answered with {@code PersistedQueryNotFound}
+ * when the hash is neither cached nor in the allowlist, after which the client resends the text.
+ * Requests with full text share the same cache, so a query is parsed and validated once no matter
+ * how it is sent.
+ */
+public class PersistedDocumentProvider implements PreparsedDocumentProvider {
+
+    static final String CACHE_NAME = "graphql.documents";
+
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    private static final String HASH_KEY = "sha256Hash";
+
+    private final PersistedQueryAllowlist allowlist;
+    private final boolean allowlistOnly;
+    private final Cache<String, PreparsedDocumentEntry> documents;
+
+    public PersistedDocumentProvider(
+            PersistedQueryProperties properties, PersistedQueryAllowlist allowlist, MeterRegistry meterRegistry) {
+        this.allowlist = allowlist;
+        this.allowlistOnly = properties.isAllowlistOnly();
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, CACHE_NAME);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        String query = executionInput.getQuery();
+        boolean hasText = query != null && !query.isBlank()
+                && !PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query);
+        String requestedHash = requestedHash(executionInput);
+
+        if (requestedHash == null && !hasText) {
+            return CompletableFuture.completedFuture(parseAndValidate.apply(executionInput));
+        }
+
+        String hash = hasText ? sha256(query) : requestedHash;
+        if (requestedHash != null && !requestedHash.equals(hash)) {
+            PersistedQueryIdInvalid invalid = new PersistedQueryIdInvalid(requestedHash);
+            return error(invalid, invalid.getExtensions());
+        }
+        if (allowlistOnly && !allowlist.contains(hash)) {
+            return CompletableFuture.completedFuture(new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                    .errorType(ErrorType.ValidationError)
+                    .message("PersistedQueryNotAllowed")
+                    .extensions(Map.of("persistedQueryId", hash))
+                    .build()));
+        }
+
+        PreparsedDocumentEntry cached = documents.getIfPresent(hash);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        String text = hasText ? query : allowlist.get(hash);
+        if (text == null) {
+            PersistedQueryNotFound notFound = new PersistedQueryNotFound(hash);
+            return error(notFound, notFound.getExtensions());
+        }
+
+        ExecutionInput input = hasText ? executionInput : executionInput.transform(builder -> builder.query(text));
+        PreparsedDocumentEntry entry = parseAndValidate.apply(input);
+        if (!entry.hasErrors()) {
+            documents.put(hash, entry);
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    private static String requestedHash(ExecutionInput executionInput) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        if (extensions != null && extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map<?, ?> persistedQuery
+                && persistedQuery.get(HASH_KEY) instanceof String hash) {
+            return hash.toLowerCase();
+        }
+        return null;
+    }
+
+    private static CompletableFuture<PreparsedDocumentEntry> error(
+            PersistedQueryError error, Map<String, Object> extensions) {
+        return CompletableFuture.completedFuture(new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .errorType(error)
+                .message(error.getMessage())
+                .extensions(extensions)
+                .build()));
+    }
+
+    static String sha256(String query) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.erp_microservices.domain_template.graphql;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Operations known ahead of time, keyed by the lower-case hex SHA-256 of their text. Loaded from an
+ * Apollo persisted query manifest:
+ * <pre>
+ * { "format": "apollo-persisted-query-manifest", "version": 1,
+ *   "operations": [ { "id": "&lt;sha256&gt;", "name": "...", "type": "query", "body": "..." } ] }
+ * </pre>
+ */
+public final class PersistedQueryAllowlist {
+
+    public static final PersistedQueryAllowlist EMPTY = new PersistedQueryAllowlist(Map.of());
+
+    private final Map<String, String> operations;
+
+    PersistedQueryAllowlist(Map<String, String> operations) {
+        this.operations = Map.copyOf(operations);
+    }
+
+    /**
+     * Reads the manifest, failing if an operation's id is not the hash of its body.
+     */
+    public static PersistedQueryAllowlist load(Resource manifest, ObjectMapper objectMapper) {
+        if (manifest == null) {
+            return EMPTY;
+        }
+
+        try (InputStream input = manifest.getInputStream()) {
+            Map<String, String> operations = new HashMap<>();
+            for (JsonNode operation : objectMapper.readTree(input).path("operations")) {
+                String id = operation.path("id").asText().toLowerCase();
+                String body = operation.path("body").asText();
+                if (!id.equals(PersistedDocumentProvider.sha256(body))) {
+                    throw new IllegalStateException("Persisted query " + id + " in " + manifest.getDescription()
+                            + " does not match the SHA-256 of its body");
+                }
+                operations.put(id, body);
+            }
+            return new PersistedQueryAllowlist(operations);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read persisted query manifest " + manifest.getDescription(), e);
+        }
+    }
+
+    public String get(String hash) {
+        return operations.get(hash);
+    }
+
+    public boolean contains(String hash) {
+        return operations.containsKey(hash);
+    }
+
+    public int size() {
+        return operations.size();
+    }
+}
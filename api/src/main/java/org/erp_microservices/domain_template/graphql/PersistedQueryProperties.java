@@ -0,0 +1,31 @@
+package org.erp_microservices.domain_template.graphql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+/**
+ * Settings for automatic persisted queries and the parsed document cache.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.graphql.persisted-queries")
+public class PersistedQueryProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of parsed and validated documents kept in memory.
+     */
+    private long maximumSize = 2_000;
+
+    /**
+     * Optional persisted query manifest, in Apollo's {@code persisted-query-manifest} format, whose
+     * operations are resolvable by hash without the client ever registering them.
+     */
+    private Resource allowlist;
+
+    /**
+     * Reject every operation that is not in the allowlist, including full query text.
+     */
+    private boolean allowlistOnly = false;
+}
@@ -0,0 +1,71 @@
+package org.erp_microservices.domain_template.graphql;
+
+import lombok.RequiredArgsConstructor;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.erp_microservices.domain_template.security.ScopedJwtAuthenticationConverter;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Resolves the caller once per GraphQL request, on the request thread, and stores the
+ * {@link AuthenticatedPrincipal} in the {@code GraphQLContext}. Resolvers read it with
+ * {@code @ContextValue}, which also works for data fetchers running on other threads.
+ *
+ * <p>Over WebSocket the caller is resolved once per connection instead, from the bearer token in
+ * the {@code connection_init} payload, since browsers cannot send an {@code Authorization} header
+ * with the handshake. The token is verified by the same {@link JwtDecoder} as HTTP requests, and a
+ * connection without a valid one is closed with status 4401.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalGraphQlInterceptor implements WebSocketGraphQlInterceptor {
+
+    static final String AUTHORIZATION = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final GraphQLSecurityContext securityContext;
+    private final JwtDecoder jwtDecoder;
+    private final ScopedJwtAuthenticationConverter authenticationConverter = new ScopedJwtAuthenticationConverter();
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        AuthenticatedPrincipal principal = request instanceof WebSocketGraphQlRequest webSocketRequest
+                ? connectionPrincipal(webSocketRequest.getSessionInfo())
+                : securityContext.snapshot();
+        request.configureExecutionInput((executionInput, builder) ->
+                builder.graphQLContext(Map.of(AuthenticatedPrincipal.CONTEXT_KEY, principal)).build());
+        return chain.next(request);
+    }
+
+    @Override
+    public Mono<Object> handleConnectionInitialization(WebSocketSessionInfo sessionInfo, Map<String, Object> payload) {
+        Object authorization = payload.get(AUTHORIZATION);
+        if (!(authorization instanceof String header)
+                || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return Mono.error(new BadCredentialsException("connection_init carries no bearer token"));
+        }
+        try {
+            AuthenticatedPrincipal principal = AuthenticatedPrincipal.from(authenticationConverter.convert(
+                    jwtDecoder.decode(header.substring(BEARER_PREFIX.length()).strip())));
+            sessionInfo.getAttributes().put(AuthenticatedPrincipal.CONTEXT_KEY, principal);
+            return Mono.empty();
+        } catch (JwtException e) {
+            return Mono.error(new BadCredentialsException("Invalid bearer token", e));
+        }
+    }
+
+    private static AuthenticatedPrincipal connectionPrincipal(WebSocketSessionInfo sessionInfo) {
+        return sessionInfo.getAttributes().get(AuthenticatedPrincipal.CONTEXT_KEY)
+                instanceof AuthenticatedPrincipal principal ? principal : AuthenticatedPrincipal.ANONYMOUS;
+    }
+}
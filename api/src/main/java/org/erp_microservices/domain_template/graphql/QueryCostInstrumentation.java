@@ -0,0 +1,187 @@
+package org.erp_microservices.domain_template.graphql;
+
+import graphql.ExecutionResult;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.QueryComplexityCalculator;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLAppliedDirectiveArgument;
+import graphql.schema.GraphQLFieldDefinition;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Scores each operation after validation and rejects it before any data fetcher runs when its
+ * depth or cost is over budget. A field costs its weight plus the cost of its selection, and that
+ * sum is multiplied by the size of the arguments named in the field's {@code @cost} directive: the
+ * largest of those given, or the directive's {@code defaultSize} when none is, capped at its
+ * {@code maxSize}. Weights come from {@link QueryLimitsProperties#getFieldWeights()}, then the {@code @cost}
+ * directive, then the default weight; introspection is free. Every operation's cost is recorded
+ * per client, the subject of the caller's token.
+ */
+@Slf4j
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final String COST_METRIC = "graphql.query.cost";
+    static final String DEPTH_METRIC = "graphql.query.depth";
+    public static final String CLIENT_TAG = "client";
+
+    private static final String COST_DIRECTIVE = "cost";
+    private static final String ANONYMOUS_CLIENT = "anonymous";
+
+    private final QueryLimitsProperties properties;
+    private final GraphQLSecurityContext securityContext;
+    private final MeterRegistry meterRegistry;
+    private final FieldComplexityCalculator fieldCost = this::fieldCost;
+
+    public QueryCostInstrumentation(
+            QueryLimitsProperties properties, GraphQLSecurityContext securityContext, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.securityContext = securityContext;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        int depth = depth(executionContext);
+        int cost = QueryComplexityCalculator.newCalculator()
+                .fieldComplexityCalculator(fieldCost)
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getExecutionInput().getOperationName())
+                .variables(executionContext.getCoercedVariables())
+                .build()
+                .calculate();
+
+        boolean rejected = depth > properties.getMaxDepth() || cost > properties.getMaxCost();
+        String client = client(executionContext);
+        record(client, cost, depth, rejected);
+
+        if (depth > properties.getMaxDepth()) {
+            log.debug("Rejected operation from {} with depth {}", client, depth);
+            throw new AbortExecutionException(
+                    "Query depth " + depth + " exceeds the maximum of " + properties.getMaxDepth());
+        }
+        if (cost > properties.getMaxCost()) {
+            log.debug("Rejected operation from {} with cost {}", client, cost);
+            throw new AbortExecutionException(
+                    "Query cost " + cost + " exceeds the maximum of " + properties.getMaxCost());
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    private int fieldCost(FieldComplexityEnvironment environment, int childCost) {
+        GraphQLFieldDefinition definition = environment.getFieldDefinition();
+        if (definition.getName().startsWith("__") || environment.getParentType().getName().startsWith("__")) {
+            return 0;
+        }
+
+        String coordinate = environment.getParentType().getName() + "." + definition.getName();
+        GraphQLAppliedDirective directive = definition.getAppliedDirective(COST_DIRECTIVE);
+        Integer weight = properties.getFieldWeights().get(coordinate);
+        if (weight == null && directive != null && argument(directive, "weight") instanceof Integer declared) {
+            weight = declared;
+        }
+        if (weight == null) {
+            weight = properties.getDefaultFieldWeight();
+        }
+
+        long multiplier = 1;
+        if (directive != null && argument(directive, "multiplier") instanceof String names) {
+            multiplier = multiplier(directive, names, environment.getArguments());
+        }
+        // Anything above the budget is rejected anyway; capping keeps the calculator's int sums from overflowing.
+        return (int) Math.min((weight + (long) childCost) * multiplier, properties.getMaxCost() + 1L);
+    }
+
+    private static Object argument(GraphQLAppliedDirective directive, String name) {
+        GraphQLAppliedDirectiveArgument argument = directive.getArgument(name);
+        return argument != null ? argument.getValue() : null;
+    }
+
+    private static int multiplier(GraphQLAppliedDirective directive, String names, Map<String, Object> arguments) {
+        int multiplier = -1;
+        for (String name : names.split(",")) {
+            Object value = arguments.get(name.trim());
+            if (value != null) {
+                multiplier = Math.max(multiplier, size(value));
+            }
+        }
+        if (multiplier < 0) {
+            multiplier = argument(directive, "defaultSize") instanceof Integer defaultSize ? defaultSize : 1;
+        }
+        return argument(directive, "maxSize") instanceof Integer maxSize ? Math.min(multiplier, maxSize) : multiplier;
+    }
+
+    private static int size(Object argument) {
+        if (argument instanceof Collection<?> values) {
+            return values.size();
+        }
+        if (argument instanceof Number number) {
+            return Math.max(number.intValue(), 0);
+        }
+        return 1;
+    }
+
+    private static int depth(ExecutionContext executionContext) {
+        int[] maximum = {0};
+        QueryTraverser.newQueryTraverser()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getExecutionInput().getOperationName())
+                .coercedVariables(executionContext.getCoercedVariables())
+                .build()
+                .visitPreOrder(new QueryVisitorStub() {
+                    @Override
+                    public void visitField(QueryVisitorFieldEnvironment environment) {
+                        int depth = 0;
+                        for (QueryVisitorFieldEnvironment field = environment; field != null;
+                                field = field.getParentEnvironment()) {
+                            if (field.getField().getName().startsWith("__")) {
+                                return;
+                            }
+                            depth++;
+                        }
+                        maximum[0] = Math.max(maximum[0], depth);
+                    }
+                });
+        return maximum[0];
+    }
+
+    private String client(ExecutionContext executionContext) {
+        AuthenticatedPrincipal principal = securityContext.resolve(
+                executionContext.getGraphQLContext().get(AuthenticatedPrincipal.CONTEXT_KEY));
+        return principal.subject() != null ? principal.subject() : ANONYMOUS_CLIENT;
+    }
+
+    private void record(String client, int cost, int depth, boolean rejected) {
+        String outcome = rejected ? "rejected" : "accepted";
+        DistributionSummary.builder(COST_METRIC)
+                .description("Cost of GraphQL operations per client")
+                .tag(CLIENT_TAG, client)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(cost);
+        DistributionSummary.builder(DEPTH_METRIC)
+                .description("Depth of GraphQL operations")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(depth);
+    }
+}
@@ -0,0 +1,43 @@
+package org.erp_microservices.domain_template.graphql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Budget for a single GraphQL operation. Operations that exceed it are rejected before any data
+ * fetcher runs.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.graphql.query-limits")
+public class QueryLimitsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum nesting of selected fields, not counting introspection.
+     */
+    private int maxDepth = 10;
+
+    /**
+     * Maximum total cost of an operation.
+     */
+    private int maxCost = 1_000;
+
+    /**
+     * Weight of a field without a {@code @cost} directive or an entry in {@link #fieldWeights}.
+     */
+    private int defaultFieldWeight = 1;
+
+    /**
+     * Weights keyed by {@code Type.field}, overriding the {@code @cost} directive in the schema.
+     */
+    private Map<String, Integer> fieldWeights = new HashMap<>();
+
+    /**
+     * Maximum number of distinct clients tagged on the cost metrics; further clients are not recorded.
+     */
+    private int maxClientTags = 500;
+}
@@ -1,6 +1,8 @@
 package org.erp_microservices.domain_template.graphql;
 
 import lombok.RequiredArgsConstructor;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.springframework.graphql.data.method.annotation.ContextValue;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
@@ -16,13 +18,17 @@ public class QueryResolver {
     }
 
     @QueryMapping
-    public User currentUser() {
-        if (!securityContext.isAuthenticated()) {
+    public User currentUser(
+            @ContextValue(name = AuthenticatedPrincipal.CONTEXT_KEY, required = false) AuthenticatedPrincipal principal) {
+        AuthenticatedPrincipal current = securityContext.resolve(principal);
+        if (!current.authenticated()) {
             return null;
         }
 
         return User.builder()
-                .username(securityContext.getCurrentUser())
+                .username(current.subject())
+                .email(current.email())
+                .roles(current.roles())
                 .build();
     }
 
@@ -33,4 +39,4 @@ public class QueryResolver {
         private String email;
         private java.util.List<String> roles;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package org.erp_microservices.domain_template.graphql;
+
+import org.dataloader.DataLoader;
+import org.erp_microservices.domain_template.user.UserAccount;
+import org.erp_microservices.domain_template.user.UserDirectory;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves {@code User} objects through batch loaders, so all users and roles requested during one
+ * GraphQL execution are fetched with one query each, and repeated keys are served from the
+ * per-request DataLoader cache.
+ */
+@Controller
+public class UserResolver {
+
+    private final UserDirectory userDirectory;
+
+    public UserResolver(BatchLoaderRegistry batchLoaderRegistry, UserDirectory userDirectory) {
+        this.userDirectory = userDirectory;
+        batchLoaderRegistry.forTypePair(String.class, QueryResolver.User.class)
+                .registerMappedBatchLoader((usernames, environment) ->
+                        Mono.fromCallable(() -> loadUsers(usernames)));
+    }
+
+    @QueryMapping
+    public CompletableFuture<List<QueryResolver.User>> users(
+            @Argument List<String> usernames, DataLoader<String, QueryResolver.User> userLoader) {
+        return userLoader.loadMany(usernames);
+    }
+
+    /**
+     * Loads roles for every {@code User} in the current result that does not already carry them,
+     * such as users resolved from the database rather than from the caller's token.
+     */
+    @BatchMapping(typeName = "User", field = "roles")
+    public Map<QueryResolver.User, List<String>> roles(List<QueryResolver.User> users) {
+        Set<String> missing = users.stream()
+                .filter(user -> user.getRoles() == null)
+                .map(QueryResolver.User::getUsername)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, List<String>> loaded = missing.isEmpty()
+                ? Map.of()
+                : userDirectory.findRolesByUsernames(missing);
+
+        Map<QueryResolver.User, List<String>> roles = new HashMap<>();
+        for (QueryResolver.User user : users) {
+            roles.put(user, user.getRoles() != null
+                    ? user.getRoles()
+                    : loaded.getOrDefault(user.getUsername(), List.of()));
+        }
+        return roles;
+    }
+
+    private Map<String, QueryResolver.User> loadUsers(Set<String> usernames) {
+        Map<String, QueryResolver.User> users = new HashMap<>();
+        for (UserAccount account : userDirectory.findByUsernames(usernames).values()) {
+            users.put(account.username(), QueryResolver.User.builder()
+                    .username(account.username())
+                    .email(account.email())
+                    .build());
+        }
+        return users;
+    }
+}
@@ -0,0 +1,96 @@
+package org.erp_microservices.domain_template.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the caller, resolved once per GraphQL execution so that resolvers and
+ * authorization checks do not need the {@code SecurityContextHolder} thread-local or the raw
+ * claim map.
+ */
+public record AuthenticatedPrincipal(
+        boolean authenticated,
+        String subject,
+        String email,
+        List<String> roles,
+        ScopeSet scopes,
+        Map<String, Object> claims) {
+
+    /**
+     * Key under which the snapshot is stored in the {@code GraphQLContext}.
+     */
+    public static final String CONTEXT_KEY = "authenticatedPrincipal";
+
+    public static final AuthenticatedPrincipal ANONYMOUS =
+            new AuthenticatedPrincipal(false, null, null, List.of(), ScopeSet.EMPTY, Map.of());
+
+    public static AuthenticatedPrincipal from(Authentication authentication) {
+        if (authentication == null) {
+            return ANONYMOUS;
+        }
+
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            Jwt jwt = jwtAuthentication.getToken();
+            ScopeSet scopes = authentication instanceof ScopedJwtAuthenticationToken scoped
+                    ? scoped.getScopes()
+                    : ScopeSet.fromJwt(jwt);
+            return new AuthenticatedPrincipal(
+                    authentication.isAuthenticated(),
+                    jwt.getSubject(),
+                    jwt.getClaimAsString("email"),
+                    roles(jwt),
+                    scopes,
+                    jwt.getClaims());
+        }
+
+        return new AuthenticatedPrincipal(
+                authentication.isAuthenticated(),
+                authentication.getName(),
+                null,
+                List.of(),
+                ScopeSet.EMPTY,
+                Map.of());
+    }
+
+    public boolean hasScope(String scope) {
+        return scopes.contains(scope);
+    }
+
+    public boolean hasAnyScope(String... required) {
+        return scopes.containsAny(required);
+    }
+
+    public boolean hasAllScopes(String... required) {
+        return !scopes.isEmpty() && scopes.containsAll(required);
+    }
+
+    /**
+     * When the token stops being valid, if it has an {@code exp} claim.
+     */
+    public Optional<Instant> expiresAt() {
+        return claims.get(JwtClaimNames.EXP) instanceof Instant expiry ? Optional.of(expiry) : Optional.empty();
+    }
+
+    /**
+     * Reads roles from a top-level {@code roles} claim, or from Keycloak's {@code realm_access.roles}.
+     */
+    private static List<String> roles(Jwt jwt) {
+        Object roles = jwt.getClaim("roles");
+        if (roles == null && jwt.getClaim("realm_access") instanceof Map<?, ?> realmAccess) {
+            roles = realmAccess.get("roles");
+        }
+        if (roles instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).toList();
+        }
+        return Collections.emptyList();
+    }
+}
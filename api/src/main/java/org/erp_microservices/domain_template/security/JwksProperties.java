@@ -0,0 +1,38 @@
+package org.erp_microservices.domain_template.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory JWK set used to verify access tokens.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.jwks")
+public class JwksProperties {
+
+    /**
+     * How long a fetched JWK set is trusted when the response has no {@code Cache-Control: max-age}.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * How long before a JWK set expires the background refresh starts.
+     */
+    private Duration refreshAhead = Duration.ofSeconds(30);
+
+    /**
+     * Minimum time between two fetches, including refetches triggered by an unknown {@code kid}.
+     */
+    private Duration minimumRefetchInterval = Duration.ofSeconds(30);
+
+    /**
+     * How long a request carrying an unknown {@code kid} waits for the refetch before it is rejected.
+     */
+    private Duration unknownKidWait = Duration.ofMillis(500);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(5);
+}
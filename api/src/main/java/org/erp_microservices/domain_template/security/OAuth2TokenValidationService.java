@@ -8,9 +8,17 @@ import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 @Service
 @RequiredArgsConstructor
@@ -18,19 +26,43 @@ import java.util.Map;
 public class OAuth2TokenValidationService {
 
     private final JwtDecoder jwtDecoder;
+    private final VerifiedJwtCache verifiedJwtCache;
+    private final TokenBatchValidationProperties batchValidationProperties;
 
     public boolean validateToken(String token) {
-        if (token == null || token.isEmpty()) {
-            return false;
+        return validate(token).valid();
+    }
+
+    /**
+     * Validates a batch of tokens and returns one result per distinct token, in the order the
+     * tokens were first seen. Tokens that are already verified are answered from the cache; the
+     * remaining signatures are checked in parallel on virtual threads, bounded by
+     * {@code app.security.batch-validation.max-concurrency}.
+     */
+    public Map<String, TokenValidationResult> validateAll(Collection<String> tokens) {
+        Map<String, TokenValidationResult> results = new LinkedHashMap<>();
+        List<String> pending = new ArrayList<>();
+
+        for (String token : tokens) {
+            if (results.containsKey(token)) {
+                continue;
+            }
+            VerifiedToken cached = token == null || token.isEmpty() ? null : verifiedJwtCache.getIfPresent(token);
+            if (cached != null) {
+                results.put(token, toResult(cached.jwt()));
+            } else {
+                results.put(token, null);
+                pending.add(token);
+            }
         }
 
-        try {
-            Jwt jwt = jwtDecoder.decode(token);
-            return !isTokenExpired(jwt);
-        } catch (JwtException e) {
-            log.debug("Token validation failed: {}", e.getMessage());
-            return false;
+        if (pending.size() == 1) {
+            results.put(pending.get(0), validate(pending.get(0)));
+        } else if (!pending.isEmpty()) {
+            validateInParallel(pending, results);
         }
+
+        return Collections.unmodifiableMap(results);
     }
 
     public Map<String, Object> extractClaims(String token) {
@@ -39,7 +71,7 @@ public class OAuth2TokenValidationService {
         }
 
         try {
-            Jwt jwt = jwtDecoder.decode(token);
+            Jwt jwt = verifiedJwtCache.decode(token, jwtDecoder).jwt();
             return jwt.getClaims();
         } catch (JwtException e) {
             log.debug("Failed to extract claims: {}", e.getMessage());
@@ -48,25 +80,91 @@ public class OAuth2TokenValidationService {
     }
 
     public boolean hasScope(String token, String requiredScope) {
-        if (token == null || token.isEmpty() || requiredScope == null) {
+        if (requiredScope == null) {
             return false;
         }
+        return scopes(token).contains(requiredScope);
+    }
+
+    public boolean hasAnyScope(String token, String... scopes) {
+        return scopes(token).containsAny(scopes);
+    }
+
+    public boolean hasAllScopes(String token, String... scopes) {
+        ScopeSet granted = scopes(token);
+        return !granted.isEmpty() && granted.containsAll(scopes);
+    }
+
+    private ScopeSet scopes(String token) {
+        if (token == null || token.isEmpty()) {
+            return ScopeSet.EMPTY;
+        }
 
         try {
-            Jwt jwt = jwtDecoder.decode(token);
-            String scopes = jwt.getClaimAsString("scope");
-            if (scopes == null) {
-                return false;
-            }
-            return Arrays.asList(scopes.split(" ")).contains(requiredScope);
+            return verifiedJwtCache.decode(token, jwtDecoder).scopes();
         } catch (JwtException e) {
             log.debug("Failed to check scope: {}", e.getMessage());
-            return false;
+            return ScopeSet.EMPTY;
+        }
+    }
+
+    private TokenValidationResult validate(String token) {
+        if (token == null || token.isEmpty()) {
+            return TokenValidationResult.invalid("Token is empty");
+        }
+
+        try {
+            Jwt jwt = verifiedJwtCache.decode(token, jwtDecoder).jwt();
+            return toResult(jwt);
+        } catch (JwtException e) {
+            log.debug("Token validation failed: {}", e.getMessage());
+            return TokenValidationResult.invalid(e.getMessage());
+        }
+    }
+
+    private void validateInParallel(List<String> pending, Map<String, TokenValidationResult> results) {
+        Semaphore permits = new Semaphore(Math.max(1, batchValidationProperties.getMaxConcurrency()));
+        List<Future<TokenValidationResult>> futures = new ArrayList<>(pending.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String token : pending) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return validate(token);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < pending.size(); i++) {
+                results.put(pending.get(i), await(futures.get(i)));
+            }
+        }
+    }
+
+    private TokenValidationResult await(Future<TokenValidationResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return TokenValidationResult.invalid("Validation interrupted");
+        } catch (ExecutionException e) {
+            log.debug("Token validation failed: {}", e.getCause().getMessage());
+            return TokenValidationResult.invalid(e.getCause().getMessage());
+        }
+    }
+
+    private TokenValidationResult toResult(Jwt jwt) {
+        if (isTokenExpired(jwt)) {
+            return TokenValidationResult.invalid("Token has expired");
         }
+        return TokenValidationResult.valid(jwt);
     }
 
     private boolean isTokenExpired(Jwt jwt) {
         Instant expiresAt = jwt.getExpiresAt();
         return expiresAt != null && expiresAt.isBefore(Instant.now());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,218 @@
+package org.erp_microservices.domain_template.security;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link JWKSource} that keeps the issuer's JWK set in memory. Nothing is fetched until the first
+ * token is verified; after that the set is refreshed on a background thread shortly before it
+ * expires. Request threads only wait when there are no keys yet, or briefly when a token names a
+ * {@code kid} that is not in the current set, in which case one rate-limited refetch is made.
+ * A failed refresh keeps the previous keys.
+ */
+@Slf4j
+public class RefreshingJwkSetSource implements JWKSource<SecurityContext>, DisposableBean {
+
+    static final String REFRESH_TIMER = "security.jwks.refresh";
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    /** RFC 9111 treats a larger max-age as this many seconds, which still fits a delay in milliseconds. */
+    static final Duration MAX_AGE_LIMIT = Duration.ofSeconds(Integer.MAX_VALUE + 1L);
+
+    private final HttpRequest request;
+    private final JwksProperties properties;
+    private final HttpClient httpClient;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<CompletableFuture<JWKSet>> inFlight = new AtomicReference<>();
+
+    private volatile JWKSet jwkSet;
+    private volatile Instant fetchedAt;
+    private volatile long lastAttemptNanos;
+    private volatile boolean attempted;
+    private ScheduledFuture<?> nextRefresh;
+
+    public RefreshingJwkSetSource(URI jwkSetUri, JwksProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.request = HttpRequest.newBuilder(jwkSetUri)
+                .timeout(properties.getReadTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("security.jwks.keys", this, source -> source.jwkSet == null ? 0 : source.jwkSet.size())
+                .description("Number of keys in the in-memory JWK set")
+                .register(meterRegistry);
+        Gauge.builder("security.jwks.age", this, RefreshingJwkSetSource::ageSeconds)
+                .description("Seconds since the JWK set was last fetched")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        JWKSet current = jwkSet;
+        if (current == null) {
+            current = await(refresh("initial"), properties.getConnectTimeout().plus(properties.getReadTimeout()));
+            if (current == null) {
+                throw new KeySourceException("Unable to load the JWK set from " + request.uri());
+            }
+        }
+
+        List<JWK> matches = jwkSelector.select(current);
+        if (matches.isEmpty() && refetchAllowed()) {
+            log.debug("No key matches the token, refetching the JWK set");
+            JWKSet refreshed = await(refresh("unknown-kid"), properties.getUnknownKidWait());
+            if (refreshed != null) {
+                matches = jwkSelector.select(refreshed);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Starts a fetch unless one is already running, and returns the running fetch. The returned
+     * future completes with {@code null} if the fetch fails.
+     */
+    CompletableFuture<JWKSet> refresh(String trigger) {
+        while (true) {
+            CompletableFuture<JWKSet> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<JWKSet> created = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, created)) {
+                attempted = true;
+                lastAttemptNanos = System.nanoTime();
+                scheduler.execute(() -> fetch(trigger, created));
+                return created;
+            }
+        }
+    }
+
+    private void fetch(String trigger, CompletableFuture<JWKSet> result) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        JWKSet fetched = null;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Unexpected status " + response.statusCode());
+            }
+            fetched = JWKSet.parse(response.body());
+            jwkSet = fetched;
+            fetchedAt = Instant.now();
+            scheduleRefresh(timeToLive(response).minus(properties.getRefreshAhead()));
+        } catch (IOException | ParseException | RuntimeException e) {
+            // Anything left uncaught would end the refreshes without a trace
+            outcome = "failure";
+            log.warn("Failed to fetch the JWK set from {}: {}", request.uri(), e.getMessage());
+            if (jwkSet != null) {
+                scheduleRefresh(properties.getMinimumRefetchInterval());
+            }
+        } catch (InterruptedException e) {
+            outcome = "failure";
+            Thread.currentThread().interrupt();
+        } finally {
+            sample.stop(Timer.builder(REFRESH_TIMER)
+                    .description("Time taken to fetch the JWK set")
+                    .tag("trigger", trigger)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            inFlight.set(null);
+            result.complete(fetched);
+        }
+    }
+
+    private synchronized void scheduleRefresh(Duration delay) {
+        if (nextRefresh != null) {
+            nextRefresh.cancel(false);
+        }
+        long delayMillis = Math.max(delay.toMillis(), properties.getMinimumRefetchInterval().toMillis());
+        nextRefresh = scheduler.schedule(() -> refresh("scheduled"), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Duration timeToLive(HttpResponse<String> response) {
+        return response.headers().firstValue("Cache-Control")
+                .flatMap(RefreshingJwkSetSource::maxAge)
+                .orElse(properties.getRefreshInterval());
+    }
+
+    static Optional<Duration> maxAge(String cacheControl) {
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        if (!matcher.find()) {
+            return Optional.empty();
+        }
+        String seconds = matcher.group(1);
+        if (seconds.length() > 10) {
+            return Optional.of(MAX_AGE_LIMIT);
+        }
+        Duration maxAge = Duration.ofSeconds(Long.parseLong(seconds));
+        return Optional.of(maxAge.compareTo(MAX_AGE_LIMIT) > 0 ? MAX_AGE_LIMIT : maxAge);
+    }
+
+    private boolean refetchAllowed() {
+        return !attempted
+                || System.nanoTime() - lastAttemptNanos >= properties.getMinimumRefetchInterval().toNanos();
+    }
+
+    private JWKSet await(CompletableFuture<JWKSet> future, Duration timeout) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private double ageSeconds() {
+        Instant at = fetchedAt;
+        return at == null ? Double.NaN : Duration.between(at, Instant.now()).toMillis() / 1000.0;
+    }
+}
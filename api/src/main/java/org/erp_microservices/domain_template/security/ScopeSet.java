@@ -0,0 +1,191 @@
+package org.erp_microservices.domain_template.security;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable set of OAuth2 scopes, parsed once from a token's {@code scope} or {@code scp} claim.
+ * Scope names are interned into a process-wide index so that membership checks are a map lookup
+ * and a bit test, with no allocation. Scopes seen after the index is full are kept in a plain set.
+ */
+public final class ScopeSet {
+
+    static final int MAX_INTERNED_SCOPES = 1024;
+
+    private static final Map<String, Integer> INDEXES = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    public static final ScopeSet EMPTY = new ScopeSet(new long[0], Collections.emptySet(), Collections.emptySet());
+
+    private final long[] words;
+    private final Set<String> overflow;
+    private final Set<String> names;
+
+    private ScopeSet(long[] words, Set<String> overflow, Set<String> names) {
+        this.words = words;
+        this.overflow = overflow;
+        this.names = names;
+    }
+
+    public static ScopeSet of(String... scopes) {
+        return of(Arrays.asList(scopes));
+    }
+
+    public static ScopeSet of(Collection<String> scopes) {
+        Set<String> names = new LinkedHashSet<>();
+        Set<String> overflow = new LinkedHashSet<>();
+        long[] words = new long[0];
+
+        for (String scope : scopes) {
+            if (scope == null || scope.isEmpty() || !names.add(scope)) {
+                continue;
+            }
+            int index = intern(scope);
+            if (index < 0) {
+                overflow.add(scope);
+                continue;
+            }
+            int word = index >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, word + 1);
+            }
+            words[word] |= 1L << index;
+        }
+
+        if (names.isEmpty()) {
+            return EMPTY;
+        }
+        return new ScopeSet(words,
+                overflow.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(overflow),
+                Collections.unmodifiableSet(names));
+    }
+
+    /**
+     * Parses a space-delimited {@code scope} claim.
+     */
+    public static ScopeSet parse(String scopeClaim) {
+        if (scopeClaim == null || scopeClaim.isBlank()) {
+            return EMPTY;
+        }
+        return of(scopeClaim.trim().split("\\s+"));
+    }
+
+    /**
+     * Reads the scopes of a token from its {@code scope} claim, falling back to {@code scp}.
+     */
+    public static ScopeSet fromJwt(Jwt jwt) {
+        for (String claim : new String[] {"scope", "scp"}) {
+            Object value = jwt.getClaim(claim);
+            if (value instanceof String scopeClaim) {
+                return parse(scopeClaim);
+            }
+            if (value instanceof Collection<?> scopes) {
+                return of(scopes.stream().map(String::valueOf).toList());
+            }
+        }
+        return EMPTY;
+    }
+
+    public boolean contains(String scope) {
+        if (scope == null) {
+            return false;
+        }
+        Integer index = INDEXES.get(scope);
+        if (index == null || index >= MAX_INTERNED_SCOPES) {
+            return overflow.contains(scope);
+        }
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    public boolean containsAny(String... scopes) {
+        for (String scope : scopes) {
+            if (contains(scope)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean containsAll(String... scopes) {
+        for (String scope : scopes) {
+            if (!contains(scope)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether this set shares at least one scope with a precompiled set of scopes.
+     */
+    public boolean containsAny(ScopeSet scopes) {
+        int common = Math.min(words.length, scopes.words.length);
+        for (int i = 0; i < common; i++) {
+            if ((words[i] & scopes.words[i]) != 0) {
+                return true;
+            }
+        }
+        for (String scope : scopes.overflow) {
+            if (overflow.contains(scope)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether this set contains every scope of a precompiled set of scopes.
+     */
+    public boolean containsAll(ScopeSet scopes) {
+        for (int i = 0; i < scopes.words.length; i++) {
+            long mine = i < words.length ? words[i] : 0L;
+            if ((scopes.words[i] & ~mine) != 0) {
+                return false;
+            }
+        }
+        return overflow.containsAll(scopes.overflow);
+    }
+
+    public boolean isEmpty() {
+        return names.isEmpty();
+    }
+
+    public Set<String> asSet() {
+        return names;
+    }
+
+    private static int intern(String scope) {
+        Integer index = INDEXES.get(scope);
+        if (index == null) {
+            if (INDEXES.size() >= MAX_INTERNED_SCOPES) {
+                return -1;
+            }
+            index = INDEXES.computeIfAbsent(scope, key -> NEXT_INDEX.getAndIncrement());
+        }
+        return index < MAX_INTERNED_SCOPES ? index : -1;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ScopeSet scopes && names.equals(scopes.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return names.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" ", names);
+    }
+}
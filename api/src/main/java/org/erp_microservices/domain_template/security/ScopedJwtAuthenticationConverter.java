@@ -0,0 +1,27 @@
+package org.erp_microservices.domain_template.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+
+/**
+ * Parses the token's scopes once and uses them both for the {@code SCOPE_} authorities and for the
+ * {@link ScopeSet} stored on the resulting {@link ScopedJwtAuthenticationToken}.
+ */
+public class ScopedJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private static final String AUTHORITY_PREFIX = "SCOPE_";
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        ScopeSet scopes = ScopeSet.fromJwt(jwt);
+        List<GrantedAuthority> authorities = scopes.asSet().stream()
+                .<GrantedAuthority>map(scope -> new SimpleGrantedAuthority(AUTHORITY_PREFIX + scope))
+                .toList();
+        return new ScopedJwtAuthenticationToken(jwt, authorities, scopes);
+    }
+}
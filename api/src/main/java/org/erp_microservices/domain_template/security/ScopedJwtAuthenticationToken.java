@@ -0,0 +1,31 @@
+package org.erp_microservices.domain_template.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+
+/**
+ * {@link JwtAuthenticationToken} that carries the token's scopes, parsed once when the request
+ * is authenticated.
+ */
+public class ScopedJwtAuthenticationToken extends JwtAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    // Scope indexes are local to this JVM, so the set is rebuilt from the token after deserialization
+    private transient ScopeSet scopes;
+
+    public ScopedJwtAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities, ScopeSet scopes) {
+        super(jwt, authorities);
+        this.scopes = scopes;
+    }
+
+    public ScopeSet getScopes() {
+        if (scopes == null) {
+            scopes = ScopeSet.fromJwt(getToken());
+        }
+        return scopes;
+    }
+}
@@ -0,0 +1,17 @@
+package org.erp_microservices.domain_template.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits for {@link OAuth2TokenValidationService#validateAll(java.util.Collection)}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.batch-validation")
+public class TokenBatchValidationProperties {
+
+    /**
+     * Maximum number of signatures verified at the same time for one batch.
+     */
+    private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+}
@@ -0,0 +1,36 @@
+package org.erp_microservices.domain_template.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits for the cache of verified and rejected access tokens.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.token-cache")
+public class TokenCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of verified tokens kept in memory.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on how long a verified token is reused, even if its {@code exp} is later.
+     */
+    private Duration maximumTtl = Duration.ofMinutes(5);
+
+    /**
+     * Maximum number of rejected tokens kept in memory.
+     */
+    private long negativeMaximumSize = 1_000;
+
+    /**
+     * How long a rejected token is answered from the cache before it is decoded again.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(10);
+}
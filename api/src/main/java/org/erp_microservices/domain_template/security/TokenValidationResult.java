@@ -0,0 +1,18 @@
+package org.erp_microservices.domain_template.security;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Outcome of validating a single token: the verified {@link Jwt} when valid, otherwise the reason
+ * it was rejected.
+ */
+public record TokenValidationResult(boolean valid, Jwt jwt, String error) {
+
+    public static TokenValidationResult valid(Jwt jwt) {
+        return new TokenValidationResult(true, jwt, null);
+    }
+
+    public static TokenValidationResult invalid(String error) {
+        return new TokenValidationResult(false, null, error);
+    }
+}
@@ -0,0 +1,142 @@
+package org.erp_microservices.domain_template.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Bounded cache of decoded tokens keyed by the SHA-256 digest of the raw token, so that a
+ * token's signature is verified and its scopes parsed once, and the resulting
+ * {@link VerifiedToken} is reused until the token expires.
+ * Rejected tokens are remembered for a short time so that replays of a bad token do not pay
+ * for verification again. Only the token itself can be the reason: failures to reach the JWK set
+ * are not remembered, so valid tokens are accepted again as soon as the issuer is back.
+ */
+@Component
+public class VerifiedJwtCache {
+
+    static final String VERIFIED_CACHE_NAME = "jwt.verified";
+    static final String REJECTED_CACHE_NAME = "jwt.rejected";
+
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> verified;
+    private final Cache<String, BadJwtException> rejected;
+
+    public VerifiedJwtCache(TokenCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new ExpiresAtExpiry(properties.getMaximumTtl()))
+                .recordStats()
+                .build();
+        this.rejected = Caffeine.newBuilder()
+                .maximumSize(properties.getNegativeMaximumSize())
+                .expireAfterWrite(properties.getNegativeTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, VERIFIED_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, rejected, REJECTED_CACHE_NAME);
+    }
+
+    /**
+     * Returns the verified token, decoding it with the given decoder only if it is not already
+     * cached. Decoding happens outside any cache lock, so a virtual thread waiting on the JWK set
+     * never pins its carrier; concurrent first requests for the same token may each decode it.
+     *
+     * @throws JwtException if the token is rejected now or was rejected recently
+     */
+    public VerifiedToken decode(String token, JwtDecoder jwtDecoder) {
+        if (!enabled) {
+            return VerifiedToken.of(jwtDecoder.decode(token));
+        }
+
+        String key = digest(token);
+        BadJwtException rejection = rejected.getIfPresent(key);
+        if (rejection != null) {
+            throw rejection;
+        }
+
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken decoded = decodeOrRemember(key, token, jwtDecoder);
+        verified.put(key, decoded);
+        return decoded;
+    }
+
+    /**
+     * Returns the cached verified token without decoding it, or {@code null}.
+     */
+    public VerifiedToken getIfPresent(String token) {
+        return enabled ? verified.getIfPresent(digest(token)) : null;
+    }
+
+    private VerifiedToken decodeOrRemember(String key, String token, JwtDecoder jwtDecoder) {
+        try {
+            return VerifiedToken.of(jwtDecoder.decode(token));
+        } catch (BadJwtException e) {
+            rejected.put(key, e);
+            throw e;
+        }
+    }
+
+    static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each entry at the token's {@code exp}, capped by the configured maximum TTL.
+     */
+    private static final class ExpiresAtExpiry implements Expiry<String, VerifiedToken> {
+
+        private final Duration maximumTtl;
+
+        private ExpiresAtExpiry(Duration maximumTtl) {
+            this.maximumTtl = maximumTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            Instant expiresAt = token.jwt().getExpiresAt();
+            if (expiresAt == null) {
+                return maximumTtl.toNanos();
+            }
+            Duration untilExpiry = Duration.between(Instant.now(), expiresAt);
+            if (untilExpiry.isNegative()) {
+                return 0;
+            }
+            return untilExpiry.compareTo(maximumTtl) < 0 ? untilExpiry.toNanos() : maximumTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
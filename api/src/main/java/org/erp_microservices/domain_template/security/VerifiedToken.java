@@ -0,0 +1,13 @@
+package org.erp_microservices.domain_template.security;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * A decoded and verified token together with its parsed scopes.
+ */
+public record VerifiedToken(Jwt jwt, ScopeSet scopes) {
+
+    public static VerifiedToken of(Jwt jwt) {
+        return new VerifiedToken(jwt, ScopeSet.fromJwt(jwt));
+    }
+}
@@ -0,0 +1,47 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the application's properties from the Config Server with the {@code spring.cloud.config}
+ * client settings: URI, credentials, label and timeouts.
+ */
+public class ConfigServerSnapshotSource implements SnapshotSource {
+
+    private final ConfigServicePropertySourceLocator locator;
+    private final Environment environment;
+
+    public ConfigServerSnapshotSource(ConfigClientProperties properties, Environment environment) {
+        this.locator = new ConfigServicePropertySourceLocator(properties);
+        this.environment = environment;
+    }
+
+    @Override
+    public String name() {
+        return "configserver";
+    }
+
+    @Override
+    public Map<String, String> fetch() {
+        // The locator logs the failure and returns nothing unless spring.cloud.config.fail-fast is set
+        PropertySource<?> located = locator.locate(environment);
+        if (!(located instanceof EnumerablePropertySource<?> propertySource)) {
+            throw new IllegalStateException("The Config Server returned no configuration");
+        }
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String name : propertySource.getPropertyNames()) {
+            Object value = propertySource.getProperty(name);
+            if (value != null) {
+                properties.put(name, value.toString());
+            }
+        }
+        return properties;
+    }
+}
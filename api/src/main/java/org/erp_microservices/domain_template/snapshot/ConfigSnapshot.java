@@ -0,0 +1,23 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * The configuration and secrets last fetched from the Config Server and Vault, flattened to
+ * property names and string values.
+ *
+ * @param createdAt  when the properties were fetched
+ * @param properties the merged properties, in precedence order of their sources
+ */
+public record ConfigSnapshot(Instant createdAt, Map<String, String> properties) {
+
+    /**
+     * Name of the property source the snapshot is added to the environment as.
+     */
+    public static final String PROPERTY_SOURCE_NAME = "configSnapshot";
+
+    public ConfigSnapshot {
+        properties = Map.copyOf(properties);
+    }
+}
@@ -0,0 +1,169 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Seals a {@link ConfigSnapshot} so that it can be kept on local disk: the properties are
+ * encrypted with AES-256-GCM and the whole file is signed with HMAC-SHA256. Both keys are derived
+ * from one secret of at least 256 bits, so a snapshot written by one instance can be read by any
+ * other that shares the secret, and by nothing else.
+ *
+ * <p>Layout: magic {@code DTCS}, format version, creation time in epoch milliseconds, GCM nonce,
+ * ciphertext with its tag, and finally the signature over everything before it. The header is
+ * also bound to the ciphertext as GCM associated data.
+ */
+public class ConfigSnapshotCodec {
+
+    private static final byte[] MAGIC = {'D', 'T', 'C', 'S'};
+    private static final byte VERSION = 1;
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final int HEADER_LENGTH = MAGIC.length + 1 + Long.BYTES + NONCE_LENGTH;
+    private static final int MINIMUM_KEY_LENGTH = 32;
+
+    private final SecretKeySpec encryptionKey;
+    private final SecretKeySpec signingKey;
+    private final SecureRandom random = new SecureRandom();
+
+    public ConfigSnapshotCodec(byte[] secret) {
+        if (secret.length < MINIMUM_KEY_LENGTH) {
+            throw new IllegalArgumentException("The snapshot key must be at least " + MINIMUM_KEY_LENGTH + " bytes");
+        }
+        this.encryptionKey = new SecretKeySpec(derive(secret, "config-snapshot encryption"), "AES");
+        this.signingKey = new SecretKeySpec(derive(secret, "config-snapshot signature"), "HmacSHA256");
+    }
+
+    /**
+     * Creates a codec from a Base64-encoded secret, as set in {@code app.config-snapshot.key}.
+     */
+    public static ConfigSnapshotCodec fromKey(String base64Secret) {
+        if (base64Secret == null || base64Secret.isBlank()) {
+            throw new IllegalArgumentException("app.config-snapshot.key must be set to a Base64-encoded secret");
+        }
+        return new ConfigSnapshotCodec(Base64.getDecoder().decode(base64Secret.trim()));
+    }
+
+    public byte[] seal(ConfigSnapshot snapshot) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH)
+                .put(MAGIC)
+                .put(VERSION)
+                .putLong(snapshot.createdAt().toEpochMilli())
+                .put(nonce);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, nonce));
+            cipher.updateAAD(header.array());
+            byte[] ciphertext = cipher.doFinal(serialize(snapshot.properties()));
+
+            byte[] unsigned = ByteBuffer.allocate(HEADER_LENGTH + ciphertext.length)
+                    .put(header.array())
+                    .put(ciphertext)
+                    .array();
+            return ByteBuffer.allocate(unsigned.length + SIGNATURE_LENGTH)
+                    .put(unsigned)
+                    .put(sign(unsigned))
+                    .array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to encrypt the config snapshot", e);
+        }
+    }
+
+    /**
+     * Verifies the signature and decrypts a sealed snapshot.
+     *
+     * @throws GeneralSecurityException if the snapshot was not sealed with this key, or has been
+     *                                  altered or truncated since
+     */
+    public ConfigSnapshot open(byte[] sealed) throws GeneralSecurityException {
+        if (sealed.length < HEADER_LENGTH + TAG_BITS / 8 + SIGNATURE_LENGTH) {
+            throw new GeneralSecurityException("The config snapshot is truncated");
+        }
+        int signed = sealed.length - SIGNATURE_LENGTH;
+        byte[] signature = Arrays.copyOfRange(sealed, signed, sealed.length);
+        if (!MessageDigest.isEqual(signature, sign(Arrays.copyOf(sealed, signed)))) {
+            throw new GeneralSecurityException("The config snapshot signature does not match");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(sealed, 0, signed);
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        byte version = buffer.get();
+        if (!Arrays.equals(magic, MAGIC) || version != VERSION) {
+            throw new GeneralSecurityException("Unsupported config snapshot format");
+        }
+        Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+        byte[] nonce = new byte[NONCE_LENGTH];
+        buffer.get(nonce);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, nonce));
+        cipher.updateAAD(sealed, 0, HEADER_LENGTH);
+        byte[] plaintext = cipher.doFinal(sealed, HEADER_LENGTH, signed - HEADER_LENGTH);
+        return new ConfigSnapshot(createdAt, deserialize(plaintext));
+    }
+
+    private byte[] sign(byte[] data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static byte[] derive(byte[] secret, String purpose) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static byte[] serialize(Map<String, String> properties) {
+        Properties serialized = new Properties();
+        serialized.putAll(new TreeMap<>(properties));
+        StringWriter writer = new StringWriter();
+        try {
+            serialized.store(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> deserialize(byte[] plaintext) {
+        Properties deserialized = new Properties();
+        try {
+            deserialized.load(new StringReader(new String(plaintext, StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, String> properties = new TreeMap<>();
+        deserialized.stringPropertyNames().forEach(name -> properties.put(name, deserialized.getProperty(name)));
+        return properties;
+    }
+}
@@ -0,0 +1,74 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.context.config.ConfigData;
+import org.springframework.boot.context.config.ConfigDataLoader;
+import org.springframework.boot.context.config.ConfigDataLoaderContext;
+import org.springframework.boot.context.config.ConfigDataResourceNotFoundException;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Adds the local snapshot to the environment during startup, in place of importing from the
+ * Config Server and Vault, so that no remote call is made before the application is ready.
+ *
+ * <p>A snapshot that is missing, or that cannot be verified with the key because it was altered or
+ * the key has been rotated, is never used. The application then imports
+ * {@code app.config-snapshot.fallback-import} instead, waiting for the Config Server and Vault
+ * as it would without the profile, and the first refresh writes a snapshot for the next start.
+ * Without a fallback, a missing snapshot is reported as not found, which an {@code optional:}
+ * import ignores, and one that fails verification is skipped with a warning.
+ */
+public class ConfigSnapshotConfigDataLoader implements ConfigDataLoader<ConfigSnapshotConfigDataResource> {
+
+    static final String FALLBACK_PROPERTY_SOURCE_NAME = "configSnapshotFallback";
+
+    private final Log log;
+
+    public ConfigSnapshotConfigDataLoader(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(ConfigSnapshotConfigDataLoader.class);
+    }
+
+    @Override
+    public ConfigData load(ConfigDataLoaderContext context, ConfigSnapshotConfigDataResource resource)
+            throws IOException {
+        ConfigSnapshotStore store =
+                new ConfigSnapshotStore(resource.getPath(), ConfigSnapshotCodec.fromKey(resource.getKey()));
+        Optional<ConfigSnapshot> read;
+        try {
+            read = store.read();
+        } catch (GeneralSecurityException e) {
+            log.warn("Ignoring " + resource + ": " + e.getMessage());
+            return fallback(resource).orElse(ConfigData.EMPTY);
+        }
+        if (read.isEmpty()) {
+            return fallback(resource).orElseThrow(() -> new ConfigDataResourceNotFoundException(resource));
+        }
+
+        ConfigSnapshot snapshot = read.get();
+        log.info("Starting from " + resource + " taken "
+                + Duration.between(snapshot.createdAt(), Instant.now()).toSeconds() + "s ago");
+        Map<String, Object> properties = new LinkedHashMap<>(snapshot.properties());
+        return new ConfigData(List.of(new MapPropertySource(ConfigSnapshot.PROPERTY_SOURCE_NAME, properties)));
+    }
+
+    private Optional<ConfigData> fallback(ConfigSnapshotConfigDataResource resource) {
+        String fallbackImport = resource.getFallbackImport();
+        if (fallbackImport == null || fallbackImport.isBlank()) {
+            return Optional.empty();
+        }
+        log.info("Importing " + fallbackImport + " in place of " + resource + " until the first refresh writes it");
+        // Imports declared by loaded configuration are processed in turn, ranking just above it
+        return Optional.of(new ConfigData(List.of(new MapPropertySource(FALLBACK_PROPERTY_SOURCE_NAME,
+                Map.of("spring.config.import", fallbackImport)))));
+    }
+}
@@ -0,0 +1,62 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.config.ConfigDataLocation;
+import org.springframework.boot.context.config.ConfigDataLocationResolver;
+import org.springframework.boot.context.config.ConfigDataLocationResolverContext;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves {@code spring.config.import=optional:snapshot:<file>}. The key and the fallback import
+ * are read from {@code app.config-snapshot.key} and {@code app.config-snapshot.fallback-import} in
+ * the configuration loaded so far. {@code configserver:} and {@code vault:} locations are left out
+ * of the fallback while the corresponding Spring Cloud client is disabled, as their resolvers do
+ * not check.
+ */
+public class ConfigSnapshotConfigDataLocationResolver
+        implements ConfigDataLocationResolver<ConfigSnapshotConfigDataResource> {
+
+    static final String PREFIX = "snapshot:";
+
+    @Override
+    public boolean isResolvable(ConfigDataLocationResolverContext context, ConfigDataLocation location) {
+        return location.hasPrefix(PREFIX);
+    }
+
+    @Override
+    public List<ConfigSnapshotConfigDataResource> resolve(
+            ConfigDataLocationResolverContext context, ConfigDataLocation location) {
+        String file = location.getNonPrefixedValue(PREFIX);
+        if (file.isBlank()) {
+            throw new IllegalArgumentException("A snapshot: import must name the snapshot file");
+        }
+        if (AotDetector.useGeneratedArtifacts()) {
+            // The refresher's condition was evaluated without the profile, so the snapshot would never be updated
+            throw new IllegalStateException("A snapshot: import cannot be used with Spring AOT, "
+                    + "which is built without the config snapshot refresher");
+        }
+        Binder binder = context.getBinder();
+        String key = binder.bind("app.config-snapshot.key", String.class).orElse(null);
+        String fallbackImport = binder.bind("app.config-snapshot.fallback-import", Bindable.listOf(String.class))
+                .orElseGet(List::of)
+                .stream()
+                .filter(fallback -> isEnabled(binder, ConfigDataLocation.of(fallback)))
+                .collect(Collectors.joining(","));
+        return List.of(new ConfigSnapshotConfigDataResource(Path.of(file), key, fallbackImport, location.isOptional()));
+    }
+
+    private static boolean isEnabled(Binder binder, ConfigDataLocation location) {
+        if (location.hasPrefix("configserver:")) {
+            return binder.bind("spring.cloud.config.enabled", Boolean.class).orElse(true);
+        }
+        if (location.hasPrefix("vault:")) {
+            return binder.bind("spring.cloud.vault.enabled", Boolean.class).orElse(true);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import org.springframework.boot.context.config.ConfigDataResource;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A snapshot file named by a {@code snapshot:} import, with the key it is read with and the
+ * locations imported in its place when it cannot be used.
+ */
+public class ConfigSnapshotConfigDataResource extends ConfigDataResource {
+
+    private final Path path;
+    private final String key;
+    private final String fallbackImport;
+
+    public ConfigSnapshotConfigDataResource(Path path, String key, String fallbackImport, boolean optional) {
+        super(optional);
+        this.path = path;
+        this.key = key;
+        this.fallbackImport = fallbackImport;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getFallbackImport() {
+        return fallbackImport;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ConfigSnapshotConfigDataResource resource && path.equals(resource.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path);
+    }
+
+    @Override
+    public String toString() {
+        return "config snapshot [" + path + "]";
+    }
+}
@@ -0,0 +1,59 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for starting from a local snapshot of the Config Server and Vault properties; enabled
+ * by the {@code config-snapshot} profile.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.config-snapshot")
+public class ConfigSnapshotProperties {
+
+    private boolean enabled;
+
+    /**
+     * File the snapshot is read from at startup and written to after each refresh.
+     */
+    private Path path;
+
+    /**
+     * Base64-encoded secret of at least 256 bits that the snapshot is encrypted and signed with.
+     */
+    private String key;
+
+    /**
+     * Time between fetches from the Config Server and Vault; the first is made once the
+     * application is ready.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * Locations imported during startup when there is no snapshot that can be used, before the
+     * first refresh writes one. Empty to start on local configuration instead.
+     */
+    private List<String> fallbackImport = new ArrayList<>();
+
+    private Vault vault = new Vault();
+
+    @Data
+    public static class Vault {
+
+        /**
+         * Mount path of the KV version 2 secrets engine.
+         */
+        private String backend = "secret";
+
+        /**
+         * Secret paths read into the snapshot, later ones overriding earlier ones. Defaults to
+         * {@code spring.application.name}.
+         */
+        private List<String> paths = new ArrayList<>();
+    }
+}
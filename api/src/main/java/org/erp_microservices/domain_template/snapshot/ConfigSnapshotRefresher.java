@@ -0,0 +1,183 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.env.RandomValuePropertySource;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brings the snapshot the application started from up to date once it is ready, and then every
+ * refresh interval, on a background thread. When the fetched properties differ from the ones in
+ * use, the new snapshot is written, the {@code configSnapshot} property source is replaced, and an
+ * {@link EnvironmentChangeEvent} naming the changed keys is published, which rebinds
+ * {@code @ConfigurationProperties} beans; {@code @RefreshScope} beans are refreshed as well when
+ * refresh scope is available. If any source fails, nothing is changed until the next attempt.
+ *
+ * <p>When the application started without a snapshot, having imported the Config Server and Vault
+ * in its place, the first fetch is written whether or not it differs, and the keys it changes are
+ * those whose value in the environment differs.
+ */
+@Slf4j
+public class ConfigSnapshotRefresher implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    static final String REFRESH_TIMER = "config.snapshot.refresh";
+
+    private static final String CONFIG_FILE_SOURCE_PREFIX = "Config resource";
+
+    private final ConfigSnapshotStore store;
+    private final List<SnapshotSource> sources;
+    private final Duration refreshInterval;
+    private final ConfigurableEnvironment environment;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefreshScope refreshScope;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+
+    // Null until a snapshot is in use
+    private Map<String, String> current;
+
+    public ConfigSnapshotRefresher(
+            ConfigSnapshotStore store, List<SnapshotSource> sources, Duration refreshInterval,
+            ConfigurableEnvironment environment, ApplicationEventPublisher eventPublisher,
+            RefreshScope refreshScope, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.sources = List.copyOf(sources);
+        this.refreshInterval = refreshInterval;
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        this.refreshScope = refreshScope;
+        this.meterRegistry = meterRegistry;
+        this.current = propertiesInUse(environment);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "config-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Fetches from every source and applies the result if it differs from the properties in use.
+     *
+     * @return whether the properties changed
+     */
+    synchronized boolean refresh() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "unchanged";
+        try {
+            Map<String, String> fetched = new LinkedHashMap<>();
+            for (SnapshotSource source : sources) {
+                fetched.putAll(source.fetch());
+            }
+            if (fetched.isEmpty()) {
+                throw new IllegalStateException("No properties were fetched");
+            }
+            if (fetched.equals(current)) {
+                return false;
+            }
+
+            store.write(new ConfigSnapshot(Instant.now(), fetched));
+            Set<String> changed = current != null ? changedKeys(current, fetched) : changedKeys(environment, fetched);
+            apply(fetched);
+            current = fetched;
+            if (changed.isEmpty()) {
+                log.info("Config snapshot written");
+                return false;
+            }
+            outcome = "changed";
+            log.info("Config snapshot refreshed, {} properties changed", changed.size());
+
+            eventPublisher.publishEvent(new EnvironmentChangeEvent(changed));
+            if (refreshScope != null) {
+                refreshScope.refreshAll();
+            }
+            return true;
+        } catch (Exception e) {
+            outcome = "failure";
+            log.warn("Failed to refresh the config snapshot from {}, keeping the current one: {}",
+                    sources.stream().map(SnapshotSource::name).toList(), e.getMessage());
+            return false;
+        } finally {
+            sample.stop(Timer.builder(REFRESH_TIMER)
+                    .description("Time taken to fetch the Config Server and Vault properties for the snapshot")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void apply(Map<String, String> properties) {
+        MapPropertySource snapshot =
+                new MapPropertySource(ConfigSnapshot.PROPERTY_SOURCE_NAME, new LinkedHashMap<>(properties));
+        MutablePropertySources propertySources = environment.getPropertySources();
+        if (propertySources.contains(ConfigSnapshot.PROPERTY_SOURCE_NAME)) {
+            propertySources.replace(ConfigSnapshot.PROPERTY_SOURCE_NAME, snapshot);
+            return;
+        }
+        // Started without a snapshot: rank it where the import would have with the profile active last, above
+        // all configuration data, including whatever was imported in its place
+        if (propertySources.contains(RandomValuePropertySource.RANDOM_PROPERTY_SOURCE_NAME)) {
+            propertySources.addAfter(RandomValuePropertySource.RANDOM_PROPERTY_SOURCE_NAME, snapshot);
+            return;
+        }
+        propertySources.stream()
+                .map(PropertySource::getName)
+                .filter(name -> name.startsWith(CONFIG_FILE_SOURCE_PREFIX))
+                .findFirst()
+                .ifPresentOrElse(name -> propertySources.addBefore(name, snapshot),
+                        () -> propertySources.addLast(snapshot));
+    }
+
+    private static Map<String, String> propertiesInUse(ConfigurableEnvironment environment) {
+        PropertySource<?> inUse = environment.getPropertySources().get(ConfigSnapshot.PROPERTY_SOURCE_NAME);
+        if (!(inUse instanceof MapPropertySource snapshot)) {
+            return null;
+        }
+        Map<String, String> properties = new LinkedHashMap<>();
+        snapshot.getSource().forEach((name, value) -> properties.put(name, String.valueOf(value)));
+        return properties;
+    }
+
+    private static Set<String> changedKeys(ConfigurableEnvironment environment, Map<String, String> fetched) {
+        Set<String> keys = new HashSet<>(fetched.keySet());
+        keys.removeIf(key -> Objects.equals(environment.getProperty(key), fetched.get(key)));
+        return keys;
+    }
+
+    private static Set<String> changedKeys(Map<String, String> before, Map<String, String> after) {
+        Set<String> keys = new HashSet<>(before.keySet());
+        keys.addAll(after.keySet());
+        keys.removeIf(key -> Objects.equals(before.get(key), after.get(key)));
+        return keys;
+    }
+}
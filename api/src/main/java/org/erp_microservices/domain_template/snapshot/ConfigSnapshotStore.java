@@ -0,0 +1,52 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.util.Optional;
+
+/**
+ * Keeps the sealed snapshot in a single local file. A new snapshot is written next to the old one
+ * and moved over it, so a reader sees either the previous snapshot or the new one in full.
+ */
+public class ConfigSnapshotStore {
+
+    private final Path path;
+    private final ConfigSnapshotCodec codec;
+
+    public ConfigSnapshotStore(Path path, ConfigSnapshotCodec codec) {
+        this.path = path.toAbsolutePath();
+        this.codec = codec;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Reads the snapshot, or returns empty if none has been written yet.
+     *
+     * @throws GeneralSecurityException if the file is not a snapshot sealed with this key
+     */
+    public Optional<ConfigSnapshot> read() throws IOException, GeneralSecurityException {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(codec.open(Files.readAllBytes(path)));
+    }
+
+    public void write(ConfigSnapshot snapshot) throws IOException {
+        Path directory = path.getParent();
+        Files.createDirectories(directory);
+        // Temporary files are created readable by their owner only
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, codec.seal(snapshot));
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
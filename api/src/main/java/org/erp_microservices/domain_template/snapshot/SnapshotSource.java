@@ -0,0 +1,17 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import java.util.Map;
+
+/**
+ * A remote source of configuration whose properties are kept in the snapshot.
+ */
+public interface SnapshotSource {
+
+    String name();
+
+    /**
+     * Fetches the current properties. Throws rather than returning a partial or empty result when
+     * the source cannot be read, so that the last good snapshot is kept.
+     */
+    Map<String, String> fetch();
+}
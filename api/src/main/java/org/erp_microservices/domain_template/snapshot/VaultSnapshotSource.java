@@ -0,0 +1,49 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import org.springframework.vault.core.VaultKeyValueOperations;
+import org.springframework.vault.core.VaultKeyValueOperationsSupport.KeyValueBackend;
+import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.support.JsonMapFlattener;
+import org.springframework.vault.support.VaultResponse;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads secrets from a Vault KV version 2 engine with the {@code spring.cloud.vault} client, so
+ * any of its authentication methods can be used. Nested secret values are flattened to dotted
+ * property names; a path with no secret contributes nothing.
+ */
+public class VaultSnapshotSource implements SnapshotSource {
+
+    private final VaultKeyValueOperations keyValue;
+    private final List<String> paths;
+
+    public VaultSnapshotSource(VaultOperations vault, String backend, List<String> paths) {
+        this.keyValue = vault.opsForKeyValue(backend, KeyValueBackend.KV_2);
+        this.paths = List.copyOf(paths);
+    }
+
+    @Override
+    public String name() {
+        return "vault";
+    }
+
+    @Override
+    public Map<String, String> fetch() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String path : paths) {
+            VaultResponse response = keyValue.get(path);
+            if (response != null && response.getData() != null) {
+                JsonMapFlattener.flatten(response.getData())
+                        .forEach((name, value) -> {
+                            if (value != null) {
+                                properties.put(name, value.toString());
+                            }
+                        });
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,52 @@
+package org.erp_microservices.domain_template.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcUserDirectory implements UserDirectory {
+
+    private static final String FIND_USERS =
+            "SELECT username, email FROM app_user WHERE username IN (:usernames)";
+
+    private static final String FIND_ROLES =
+            "SELECT username, role FROM app_user_role WHERE username IN (:usernames) ORDER BY username, role";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, UserAccount> findByUsernames(Collection<String> usernames) {
+        Map<String, UserAccount> users = new HashMap<>();
+        if (usernames.isEmpty()) {
+            return users;
+        }
+        jdbcTemplate.query(FIND_USERS, Map.of("usernames", usernames), rs -> {
+            String username = rs.getString("username");
+            users.put(username, new UserAccount(username, rs.getString("email")));
+        });
+        return users;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, List<String>> findRolesByUsernames(Collection<String> usernames) {
+        Map<String, List<String>> roles = new HashMap<>();
+        if (usernames.isEmpty()) {
+            return roles;
+        }
+        jdbcTemplate.query(FIND_ROLES, Map.of("usernames", usernames), rs -> {
+            roles.computeIfAbsent(rs.getString("username"), username -> new ArrayList<>()).add(rs.getString("role"));
+        });
+        return roles;
+    }
+}
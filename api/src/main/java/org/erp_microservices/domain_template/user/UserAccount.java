@@ -0,0 +1,7 @@
+package org.erp_microservices.domain_template.user;
+
+/**
+ * A user as stored in the {@code app_user} table.
+ */
+public record UserAccount(String username, String email) {
+}
@@ -0,0 +1,23 @@
+package org.erp_microservices.domain_template.user;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk lookups of users and their roles. Every method issues a single query regardless of how many
+ * usernames are passed, so callers should collect keys first (see the GraphQL {@code User}
+ * batch loaders) rather than calling per user.
+ */
+public interface UserDirectory {
+
+    /**
+     * Returns the users that exist, keyed by username. Unknown usernames are absent from the map.
+     */
+    Map<String, UserAccount> findByUsernames(Collection<String> usernames);
+
+    /**
+     * Returns the roles of each user, keyed by username. Users without roles are absent from the map.
+     */
+    Map<String, List<String>> findRolesByUsernames(Collection<String> usernames);
+}
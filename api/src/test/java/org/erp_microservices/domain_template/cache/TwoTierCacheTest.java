@@ -0,0 +1,294 @@
+package org.erp_microservices.domain_template.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.erp_microservices.domain_template.party.Organization;
+import org.erp_microservices.domain_template.party.Party;
+import org.erp_microservices.domain_template.party.PartyDirectory;
+import org.erp_microservices.domain_template.party.PartyType;
+import org.erp_microservices.domain_template.party.Person;
+import org.erp_microservices.domain_template.user.UserAccount;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs two cache managers, standing in for two instances of the service, against one embedded
+ * Redis server.
+ */
+@DisplayName("Two-Tier Cache Tests")
+class TwoTierCacheTest {
+
+    private static final String REGION = "users";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redis;
+
+    private final List<Set<String>> loads = new ArrayList<>();
+    private final Function<Set<String>, Map<String, UserAccount>> loader = usernames -> {
+        loads.add(usernames);
+        return usernames.stream()
+                .filter(username -> !username.startsWith("unknown"))
+                .collect(Collectors.toMap(Function.identity(), username -> new UserAccount(username, username + "@example.com")));
+    };
+
+    private TwoTierCacheProperties properties;
+    private RedisMessageListenerContainer listenerContainer;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCache<UserAccount> node1;
+    private TwoTierCache<UserAccount> node2;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port = freePort();
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = connectionFactory(port);
+        redis = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+        properties = new TwoTierCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        TwoTierCacheManager manager1 = new TwoTierCacheManager(properties, redis, new ObjectMapper(), meterRegistry);
+        TwoTierCacheManager manager2 = new TwoTierCacheManager(
+                properties, redis, new ObjectMapper(), new SimpleMeterRegistry());
+        node1 = manager1.create(REGION, UserAccount.class);
+        node2 = manager2.create(REGION, UserAccount.class);
+
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener(manager1, new ChannelTopic(properties.getInvalidationChannel()));
+        listenerContainer.addMessageListener(manager2, new ChannelTopic(properties.getInvalidationChannel()));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listenerContainer.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load missing keys once and serve repeats from the near cache")
+    void getAll_withRepeatedKeys_shouldLoadOnce() {
+        // When
+        Map<String, UserAccount> first = node1.getAll(List.of("alice", "bob", "unknown"), loader);
+        Map<String, UserAccount> second = node1.getAll(List.of("alice", "bob"), loader);
+
+        // Then
+        assertThat(first).containsOnlyKeys("alice", "bob");
+        assertThat(second).isEqualTo(first);
+        assertThat(loads).containsExactly(Set.of("alice", "bob", "unknown"));
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", REGION).tag(TwoTierCacheManager.TIER_TAG, "near")
+                .gauge().value()).isEqualTo(2.0 / 5);
+    }
+
+    @Test
+    @DisplayName("Should serve another instance's loads from Redis")
+    void getAll_loadedByOtherInstance_shouldHitRemoteTier() {
+        // Given
+        node2.getAll(List.of("alice"), loader);
+
+        // When
+        Map<String, UserAccount> users = node1.getAll(List.of("alice", "bob"), loader);
+
+        // Then
+        assertThat(users.get("alice").email()).isEqualTo("alice@example.com");
+        assertThat(loads).containsExactly(Set.of("alice"), Set.of("bob"));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", REGION).tag(TwoTierCacheManager.TIER_TAG, "remote")
+                .tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", REGION).tag(TwoTierCacheManager.TIER_TAG, "remote")
+                .gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should evict from Redis and from every instance's near cache")
+    void evict_shouldReachEveryInstance() {
+        // Given
+        node1.getAll(List.of("alice"), loader);
+        node2.getAll(List.of("alice"), loader);
+
+        // When
+        node1.evict(List.of("alice"));
+
+        // Then
+        assertThat(redis.hasKey("domain-template:users:alice")).isFalse();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            loads.clear();
+            node2.getAll(List.of("alice"), loader);
+            assertThat(loads).containsExactly(Set.of("alice"));
+        });
+    }
+
+    @Test
+    @DisplayName("Should defer eviction until the transaction commits")
+    void evict_insideTransaction_shouldWaitForCommit() {
+        // Given
+        node1.getAll(List.of("alice"), loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        node1.evict(List.of("alice"));
+
+        // Then
+        assertThat(redis.hasKey("domain-template:users:alice")).isTrue();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(redis.hasKey("domain-template:users:alice")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should expire Redis entries after the region's remote TTL")
+    void getAll_shouldSetRemoteTtlFromRegion() {
+        // Given
+        TwoTierCacheProperties.Region region = new TwoTierCacheProperties.Region();
+        region.setRemoteTtl(Duration.ofSeconds(42));
+        properties.getRegions().put("short-lived", region);
+        TwoTierCache<UserAccount> cache = new TwoTierCacheManager(
+                properties, redis, new ObjectMapper(), new SimpleMeterRegistry()).create("short-lived", UserAccount.class);
+
+        // When
+        cache.getAll(List.of("alice"), loader);
+
+        // Then
+        assertThat(redis.getExpire("domain-template:short-lived:alice")).isBetween(1L, 42L);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the loader when Redis is unavailable")
+    void getAll_withRedisDown_shouldLoadFromSource() throws IOException {
+        // Given
+        LettuceConnectionFactory unreachable = connectionFactory(freePort());
+        TwoTierCache<UserAccount> cache = new TwoTierCacheManager(properties, new StringRedisTemplate(unreachable),
+                new ObjectMapper(), new SimpleMeterRegistry()).create(REGION, UserAccount.class);
+
+        try {
+            // When
+            Map<String, UserAccount> users = cache.getAll(List.of("alice"), loader);
+            cache.evict(List.of("alice"));
+
+            // Then
+            assertThat(users).containsOnlyKeys("alice");
+            assertThat(loads).containsExactly(Set.of("alice"));
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should cache parties as their subtype without their contact mechanisms")
+    void cachingPartyDirectory_shouldRoundTripPartiesThroughRedis() {
+        // Given
+        Person person = new Person("Ada", "Lovelace");
+        person.setBirthDate(LocalDate.of(1815, 12, 10));
+        person.addContactMechanism(null, "ada@example.com");
+        ReflectionTestUtils.setField(person, "id", 1L);
+        Organization organization = new Organization("Analytical Engines Ltd");
+        ReflectionTestUtils.setField(organization, "id", 2L);
+        List<Set<Long>> partyLoads = new ArrayList<>();
+        PartyDirectory database = ids -> {
+            partyLoads.add(Set.copyOf(ids));
+            return Map.<Long, Party>of(1L, person, 2L, organization);
+        };
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        CachingPartyDirectory instance1 = new CachingPartyDirectory(database,
+                new TwoTierCacheManager(properties, redis, mapper, new SimpleMeterRegistry()));
+        CachingPartyDirectory instance2 = new CachingPartyDirectory(database,
+                new TwoTierCacheManager(properties, redis, mapper, new SimpleMeterRegistry()));
+        instance1.findByIds(List.of(1L, 2L));
+
+        // When
+        Map<Long, Party> parties = instance2.findByIds(List.of(1L, 2L));
+
+        // Then
+        assertThat(partyLoads).hasSize(1);
+        assertThat(parties.get(1L)).isInstanceOfSatisfying(Person.class, cached -> {
+            assertThat(cached.getLastName()).isEqualTo("Lovelace");
+            assertThat(cached.getBirthDate()).isEqualTo(LocalDate.of(1815, 12, 10));
+            assertThat(cached.getPartyType()).isEqualTo(PartyType.PERSON);
+            assertThat(cached.getCreatedAt()).isEqualTo(person.getCreatedAt());
+            assertThat(cached.getContactMechanisms()).isEmpty();
+        });
+        assertThat(parties.get(2L)).isInstanceOfSatisfying(Organization.class,
+                cached -> assertThat(cached.getName()).isEqualTo("Analytical Engines Ltd"));
+    }
+
+    @Test
+    @DisplayName("Should keep copies of loaded parties in the near cache rather than the loaded entities")
+    void cachingPartyDirectory_shouldNotKeepLoadedEntitiesInNearCache() {
+        // Given
+        Person person = new Person("Ada", "Lovelace");
+        person.addContactMechanism(null, "ada@example.com");
+        ReflectionTestUtils.setField(person, "id", 1L);
+        CachingPartyDirectory directory = new CachingPartyDirectory(ids -> Map.of(1L, person),
+                new TwoTierCacheManager(properties, redis, new ObjectMapper().findAndRegisterModules(),
+                        new SimpleMeterRegistry()));
+        assertThat(directory.findByIds(List.of(1L))).containsEntry(1L, person);
+
+        // When
+        person.setLastName("Byron");
+        Party cached = directory.findByIds(List.of(1L)).get(1L);
+
+        // Then
+        assertThat(cached).isNotSameAs(person).isInstanceOfSatisfying(Person.class, copy -> {
+            assertThat(copy.getLastName()).isEqualTo("Lovelace");
+            assertThat(copy.getContactMechanisms()).isEmpty();
+        });
+    }
+
+    private static LettuceConnectionFactory connectionFactory(int port) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", port),
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofMillis(500)).build());
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
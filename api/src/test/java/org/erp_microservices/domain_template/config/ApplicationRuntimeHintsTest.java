@@ -0,0 +1,51 @@
+package org.erp_microservices.domain_template.config;
+
+import org.erp_microservices.domain_template.graphql.QueryResolver;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Application Runtime Hints Tests")
+class ApplicationRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Should allow GraphQL to call the getters of the current user")
+    void registerHints_forCurrentUser_shouldRegisterGetters() {
+        // Then
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(QueryResolver.User.class, "getUsername"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(QueryResolver.User.class, "getRoles"))
+                .accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Should include the GraphQL schema and persisted query manifests")
+    void registerHints_forGraphQlResources_shouldIncludeSchemaAndManifests() {
+        // Then
+        assertThat(RuntimeHintsPredicates.resource().forResource("graphql/schema.graphqls")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("graphql/persisted-queries.json")).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Should allow Hibernate to instantiate the configured dialect")
+    void registerHints_forHibernateDialect_shouldRegisterConstructor() {
+        // Then
+        assertThat(RuntimeHintsPredicates.reflection().onType(PostgreSQLDialect.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS))
+                .accepts(hints);
+    }
+}
@@ -0,0 +1,48 @@
+package org.erp_microservices.domain_template.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Async Execution Configuration Tests")
+class AsyncExecutionConfigTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should carry the security context onto virtual-thread tasks")
+    void taskDecorator_shouldPropagateSecurityContextToVirtualThreads() throws Exception {
+        // Given
+        Authentication authentication = new TestingAuthenticationToken("user123", "n/a");
+        SecurityContextHolder.setContext(new SecurityContextImpl(authentication));
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(new AsyncExecutionConfig().contextPropagatingTaskDecorator());
+        CompletableFuture<String> seen = new CompletableFuture<>();
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+
+        // When
+        executor.execute(() -> {
+            Authentication current = SecurityContextHolder.getContext().getAuthentication();
+            virtual.complete(Thread.currentThread().isVirtual());
+            seen.complete(current == null ? null : current.getName());
+        });
+
+        // Then
+        assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(seen.get(5, TimeUnit.SECONDS)).isEqualTo("user123");
+    }
+}
@@ -1,16 +1,20 @@
 package org.erp_microservices.domain_template.config;
 
+import org.erp_microservices.domain_template.export.PartyExportController;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -83,4 +87,25 @@ class OAuth2SecurityConfigTest {
                 .content("{\"query\":\"{__typename}\"}"))
                 .andExpect(status().isUnauthorized());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Party export should require the export scope")
+    void partyExport_withoutExportScope_shouldBeForbidden() throws Exception {
+        // When exporting with a token that lacks the export scope
+        // Then it should return 403 Forbidden
+        mockMvc.perform(get("/export/parties")
+                .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_read"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Party export with the export scope should stream the parties")
+    void partyExport_withExportScope_shouldStreamParties() throws Exception {
+        // When exporting with a token that has the export scope
+        // Then it should stream the parties as NDJSON
+        mockMvc.perform(get("/export/parties")
+                .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_" + PartyExportController.EXPORT_SCOPE))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"));
+    }
+}
@@ -0,0 +1,83 @@
+package org.erp_microservices.domain_template.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.erp_microservices.domain_template.graphql.GraphQLSecurityContext;
+import org.erp_microservices.domain_template.graphql.PersistedQueryProperties;
+import org.erp_microservices.domain_template.graphql.QueryResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@GraphQlTest(controllers = QueryResolver.class)
+@Import({GraphQLSecurityContext.class, PersistedQueryConfig.class, PersistedQueryConfigTest.MetricsConfig.class})
+@ActiveProfiles("test")
+@DisplayName("Persisted Query Configuration Tests")
+class PersistedQueryConfigTest {
+
+    private static final String QUERY = "query HealthCheck { healthCheck }";
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should register a query by hash and then execute it from the hash alone")
+    void persistedQuery_registeredThenHashOnly_shouldExecute() throws Exception {
+        // Given
+        Map<String, Object> persistedQuery = Map.of("version", 1, "sha256Hash", sha256(QUERY));
+
+        // When
+        graphQlTester.document("PersistedQueryMarker")
+                .extension("persistedQuery", persistedQuery)
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors)
+                        .singleElement()
+                        .satisfies(error -> assertThat(error.getMessage()).isEqualTo("PersistedQueryNotFound")));
+
+        graphQlTester.document(QUERY)
+                .extension("persistedQuery", persistedQuery)
+                .execute()
+                .path("healthCheck").entity(String.class).isEqualTo("API is healthy and secured with OAuth2");
+
+        // Then
+        graphQlTester.document("PersistedQueryMarker")
+                .extension("persistedQuery", persistedQuery)
+                .execute()
+                .path("healthCheck").entity(String.class).isEqualTo("API is healthy and secured with OAuth2");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "graphql.documents")
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private static String sha256(String query) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(query.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(PersistedQueryProperties.class)
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.erp_microservices.domain_template.export;
+
+import org.erp_microservices.domain_template.party.exporter.ExportFormat;
+import org.erp_microservices.domain_template.party.exporter.PartyExporter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Party Export Controller Tests")
+class PartyExportControllerTest {
+
+    private final PartyExporter exporter = mock(PartyExporter.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PartyExportController(exporter, 1)).build();
+
+    @Test
+    @DisplayName("Should stream the export in the requested format as an attachment")
+    void exportParties_withCsv_shouldStreamCsvAttachment() throws Exception {
+        // Given
+        when(exporter.export(eq(ExportFormat.CSV), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("party_id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // When/Then
+        mockMvc.perform(get("/export/parties").param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"parties.csv\""))
+                .andExpect(content().string("party_id\n1\n"));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown format without starting an export")
+    void exportParties_withUnknownFormat_shouldReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/export/parties").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(exporter);
+    }
+
+    @Test
+    @DisplayName("Should refuse an export while the maximum number are running")
+    void exportParties_whileMaximumRunning_shouldReturnTooManyRequests() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(exporter.export(eq(ExportFormat.NDJSON), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 0L;
+        });
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+            try {
+                mockMvc.perform(get("/export/parties")).andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When/Then
+        mockMvc.perform(get("/export/parties"))
+                .andExpect(status().isTooManyRequests());
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        mockMvc.perform(get("/export/parties"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,183 @@
+package org.erp_microservices.domain_template.graphql;
+
+import org.erp_microservices.domain_template.audit.AuditEntry;
+import org.erp_microservices.domain_template.audit.AuditLogHistory;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.erp_microservices.domain_template.security.ScopeSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@GraphQlTest(controllers = AuditHistoryResolver.class)
+@Import(GraphQLSecurityContext.class)
+@ActiveProfiles("test")
+@DisplayName("Audit History Resolver Tests")
+class AuditHistoryResolverTest {
+
+    private static final String HISTORY = """
+            query($from: String!, $to: String!, $tableName: String, $first: Int) {
+                auditHistory(from: $from, to: $to, tableName: $tableName, first: $first) {
+                    tableName operation oldValues newValues changedBy changedAt
+                }
+            }
+            """;
+
+    @Autowired
+    private ExecutionGraphQlServiceTester anonymousTester;
+
+    @MockitoBean
+    private AuditLogHistory auditLogHistory;
+
+    private GraphQlTester graphQlTester;
+
+    @BeforeEach
+    void setUp() {
+        graphQlTester = as(ScopeSet.of("read", AuditHistoryResolver.AUDIT_SCOPE));
+    }
+
+    @Test
+    @DisplayName("Should return the entries of the requested range with their values as JSON")
+    void auditHistory_shouldReturnEntries() {
+        // Given
+        OffsetDateTime changedAt = OffsetDateTime.parse("2026-10-05T08:30:00Z");
+        when(auditLogHistory.find(any(), any(), any(), anyInt())).thenReturn(List.of(new AuditEntry(
+                UUID.randomUUID(), "person", AuditEntry.Operation.UPDATE,
+                Map.of("lastName", "Byron"), Map.of("lastName", "Lovelace"), "ada", changedAt)));
+
+        // When
+        graphQlTester.document(HISTORY)
+                .variable("from", "2026-10-01T00:00:00Z")
+                .variable("to", "2026-11-01T00:00:00Z")
+                .variable("tableName", "person")
+                .execute()
+                .path("auditHistory[0].operation").entity(String.class).isEqualTo("UPDATE")
+                .path("auditHistory[0].oldValues").entity(String.class).isEqualTo("{\"lastName\":\"Byron\"}")
+                .path("auditHistory[0].newValues").entity(String.class).isEqualTo("{\"lastName\":\"Lovelace\"}")
+                .path("auditHistory[0].changedBy").entity(String.class).isEqualTo("ada");
+
+        // Then
+        verify(auditLogHistory).find(OffsetDateTime.parse("2026-10-01T00:00:00Z"),
+                OffsetDateTime.parse("2026-11-01T00:00:00Z"), "person", 100);
+    }
+
+    @Test
+    @DisplayName("Should cap the number of entries returned")
+    void auditHistory_withLargeFirst_shouldCapLimit() {
+        // Given
+        when(auditLogHistory.find(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // When
+        graphQlTester.document(HISTORY)
+                .variable("from", "2026-10-01T00:00:00Z")
+                .variable("to", "2026-11-01T00:00:00Z")
+                .variable("first", 100_000)
+                .execute()
+                .path("auditHistory").entityList(Object.class).hasSize(0);
+
+        // Then
+        verify(auditLogHistory).find(any(), any(), isNull(), eq(AuditHistoryResolver.MAX_ENTRIES));
+    }
+
+    @Test
+    @DisplayName("Should report a negative first as a bad request")
+    void auditHistory_withNegativeFirst_shouldReturnBadRequest() {
+        // When/Then
+        graphQlTester.document(HISTORY)
+                .variable("from", "2026-10-01T00:00:00Z")
+                .variable("to", "2026-11-01T00:00:00Z")
+                .variable("first", -1)
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.BAD_REQUEST
+                        && "first must not be negative".equals(error.getMessage()))
+                .verify();
+        verifyNoInteractions(auditLogHistory);
+    }
+
+    @Test
+    @DisplayName("Should report an unreadable timestamp as a bad request")
+    void auditHistory_withInvalidTimestamp_shouldReturnBadRequest() {
+        // When/Then
+        graphQlTester.document(HISTORY)
+                .variable("from", "yesterday")
+                .variable("to", "2026-11-01T00:00:00Z")
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.BAD_REQUEST)
+                .verify();
+        verifyNoInteractions(auditLogHistory);
+    }
+
+    @Test
+    @DisplayName("Should report a range the history refuses as a bad request")
+    void auditHistory_withTooLongRange_shouldReturnBadRequest() {
+        // Given
+        when(auditLogHistory.find(any(), any(), any(), anyInt())).thenThrow(new InvalidDataAccessApiUsageException(
+                "The time range may span at most 366 days", new IllegalArgumentException()));
+
+        // When/Then
+        graphQlTester.document(HISTORY)
+                .variable("from", "2026-01-01T00:00:00Z")
+                .variable("to", "2028-01-01T00:00:00Z")
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.BAD_REQUEST
+                        && "The time range may span at most 366 days".equals(error.getMessage()))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should refuse a caller without the audit scope")
+    void auditHistory_withoutAuditScope_shouldReturnForbidden() {
+        // When/Then
+        as(ScopeSet.of("read", "write")).document(HISTORY)
+                .variable("from", "2026-10-01T00:00:00Z")
+                .variable("to", "2026-11-01T00:00:00Z")
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.FORBIDDEN)
+                .verify();
+        verifyNoInteractions(auditLogHistory);
+    }
+
+    @Test
+    @DisplayName("Should refuse an unauthenticated caller")
+    void auditHistory_withoutPrincipal_shouldReturnForbidden() {
+        // When/Then
+        anonymousTester.document(HISTORY)
+                .variable("from", "2026-10-01T00:00:00Z")
+                .variable("to", "2026-11-01T00:00:00Z")
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.FORBIDDEN)
+                .verify();
+        verifyNoInteractions(auditLogHistory);
+    }
+
+    private GraphQlTester as(ScopeSet scopes) {
+        AuthenticatedPrincipal principal =
+                new AuthenticatedPrincipal(true, "auditor", null, List.of(), scopes, Map.of());
+        return anonymousTester.mutate()
+                .configureExecutionInput((input, builder) -> builder
+                        .graphQLContext(Map.of(AuthenticatedPrincipal.CONTEXT_KEY, principal))
+                        .build())
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package org.erp_microservices.domain_template.graphql;
 
+import org.erp_microservices.domain_template.security.ScopeSet;
+import org.erp_microservices.domain_template.security.ScopedJwtAuthenticationToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +15,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
@@ -126,6 +129,36 @@ class GraphQLSecurityContextTest {
         assertThat(hasScope).isFalse();
     }
 
+    @Test
+    @DisplayName("Should check if user has any or all of the given scopes")
+    void hasAnyAndAllScopes_withMatchingScopes_shouldReturnTrue() {
+        // Given
+        Jwt jwt = createMockJwtWithScopes("read", "write");
+        Authentication authentication = new JwtAuthenticationToken(jwt);
+        when(mockSecurityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(mockSecurityContext);
+
+        // When / Then
+        assertThat(securityContext.hasAnyScope("admin", "write")).isTrue();
+        assertThat(securityContext.hasAnyScope("admin", "delete")).isFalse();
+        assertThat(securityContext.hasAllScopes("read", "write")).isTrue();
+        assertThat(securityContext.hasAllScopes("read", "admin")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should use the scopes parsed when the request was authenticated")
+    void hasScope_withScopedAuthentication_shouldUseStoredScopes() {
+        // Given
+        Jwt jwt = createMockJwtWithScopes("read");
+        Authentication authentication = new ScopedJwtAuthenticationToken(jwt, List.of(), ScopeSet.of("admin"));
+        when(mockSecurityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(mockSecurityContext);
+
+        // When / Then
+        assertThat(securityContext.hasScope("admin")).isTrue();
+        assertThat(securityContext.hasScope("read")).isFalse();
+    }
+
     @Test
     @DisplayName("Should extract JWT claims")
     void getJwtClaims_withValidJwt_shouldReturnClaims() {
@@ -0,0 +1,127 @@
+package org.erp_microservices.domain_template.graphql;
+
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+@DisplayName("GraphQL Metrics Instrumentation Tests")
+class GraphQlMetricsInstrumentationTest {
+
+    private static final String SCHEMA = """
+            type Query {
+                node: Node
+                broken: Node
+            }
+
+            type Node {
+                id: ID
+            }
+            """;
+
+    private GraphQlMetricsProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GraphQlMetricsProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should time parse, validate and execute phases by operation name")
+    void execute_shouldRecordPhaseTimers() {
+        // When
+        execute("query NodeQuery { node { id } }");
+
+        // Then
+        for (String phase : new String[] {"parse", "validate", "execute"}) {
+            assertThat(meterRegistry.get(GraphQlMetricsInstrumentation.PHASE_TIMER)
+                    .tag(GraphQlMetricsInstrumentation.OPERATION_TAG, "NodeQuery")
+                    .tag("phase", phase)
+                    .timer().count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should time resolvers by field coordinate and skip trivial property fetchers")
+    void execute_shouldRecordFieldTimersForResolversOnly() {
+        // When
+        execute("{ node { id } }");
+
+        // Then
+        assertThat(meterRegistry.get(GraphQlMetricsInstrumentation.FIELD_TIMER)
+                .tag("field", "Query.node")
+                .tag(GraphQlMetricsInstrumentation.OPERATION_TAG, "unnamed")
+                .tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(GraphQlMetricsInstrumentation.FIELD_TIMER).tag("field", "Node.id").timer())
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("Should tag failed resolvers with an error outcome")
+    void execute_withFailingResolver_shouldRecordErrorOutcome() {
+        // When
+        execute("{ broken { id } }");
+
+        // Then
+        assertThat(meterRegistry.get(GraphQlMetricsInstrumentation.FIELD_TIMER)
+                .tag("field", "Query.broken")
+                .tag("outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should log operations slower than the threshold with their query")
+    void execute_overSlowQueryThreshold_shouldLogOperation(CapturedOutput output) {
+        // Given
+        properties.setSlowQueryThreshold(Duration.ZERO);
+
+        // When
+        execute("query SlowNode { node { id } }");
+
+        // Then
+        assertThat(output).contains("Slow GraphQL operation SlowNode").contains("query SlowNode { node { id } }");
+    }
+
+    @Test
+    @DisplayName("Should not log when no slow query threshold is set")
+    void execute_withoutSlowQueryThreshold_shouldNotLog(CapturedOutput output) {
+        // When
+        execute("query FastNode { node { id } }");
+
+        // Then
+        assertThat(output).doesNotContain("Slow GraphQL operation");
+    }
+
+    private void execute(String query) {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", type -> type
+                        .dataFetcher("node", environment -> Map.of("id", "1"))
+                        .dataFetcher("broken", environment -> {
+                            throw new IllegalStateException("unavailable");
+                        }))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring);
+        GraphQL.newGraphQL(schema)
+                .instrumentation(new GraphQlMetricsInstrumentation(properties, meterRegistry))
+                .build()
+                .execute(ExecutionInput.newExecutionInput().query(query).build());
+    }
+}
@@ -0,0 +1,95 @@
+package org.erp_microservices.domain_template.graphql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.erp_microservices.domain_template.party.PartyChange;
+import org.erp_microservices.domain_template.party.PartyType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Party Change Broadcaster Tests")
+class PartyChangeBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PartyChangeBroadcaster broadcaster = new PartyChangeBroadcaster(3, meterRegistry);
+
+    @Test
+    @DisplayName("Should deliver each change to every subscriber whose filter accepts it")
+    void accept_shouldFanOutToMatchingSubscribers() {
+        // Given
+        List<PartyChange> everything = new CopyOnWriteArrayList<>();
+        List<PartyChange> organizations = new CopyOnWriteArrayList<>();
+        Disposable first = broadcaster.changes(change -> true).subscribe(everything::add);
+        Disposable second = broadcaster.changes(change -> change.partyType() == PartyType.ORGANIZATION)
+                .subscribe(organizations::add);
+
+        // When
+        broadcaster.accept(created(1, PartyType.PERSON));
+        broadcaster.accept(created(2, PartyType.ORGANIZATION));
+
+        // Then
+        assertThat(everything).extracting(PartyChange::partyId).containsExactly(1L, 2L);
+        assertThat(organizations).extracting(PartyChange::partyId).containsExactly(2L);
+        assertThat(meterRegistry.get(PartyChangeBroadcaster.SUBSCRIBERS_METRIC).gauge().value()).isEqualTo(2);
+        first.dispose();
+        second.dispose();
+        assertThat(meterRegistry.get(PartyChangeBroadcaster.SUBSCRIBERS_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop a slow subscriber's oldest changes without holding up the others")
+    void accept_withSlowSubscriber_shouldDropOldestChanges() {
+        // Given
+        List<PartyChange> fast = new CopyOnWriteArrayList<>();
+        broadcaster.changes(change -> true).subscribe(fast::add);
+        StalledSubscriber slow = new StalledSubscriber();
+        broadcaster.changes(change -> true).subscribe(slow);
+
+        // When
+        LongStream.rangeClosed(1, 5).forEach(id -> broadcaster.accept(created(id, PartyType.PERSON)));
+        slow.request(Long.MAX_VALUE);
+
+        // Then
+        assertThat(fast).extracting(PartyChange::partyId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(slow.received).extracting(PartyChange::partyId).containsExactly(3L, 4L, 5L);
+        assertThat(meterRegistry.get(PartyChangeBroadcaster.DROPPED_METRIC).counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should accept changes while nobody is subscribed")
+    void accept_withoutSubscribers_shouldDiscardChange() {
+        // When/Then
+        assertThatCode(() -> broadcaster.accept(created(1, PartyType.PERSON))).doesNotThrowAnyException();
+    }
+
+    private static PartyChange created(long id, PartyType type) {
+        return new PartyChange(PartyChange.Type.CREATED, id, type);
+    }
+
+    /**
+     * Requests nothing until told to, like a subscriber stuck writing to a slow client.
+     */
+    private static class StalledSubscriber extends BaseSubscriber<PartyChange> {
+
+        private final List<PartyChange> received = new ArrayList<>();
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            // No demand yet
+        }
+
+        @Override
+        protected void hookOnNext(PartyChange change) {
+            received.add(change);
+        }
+    }
+}
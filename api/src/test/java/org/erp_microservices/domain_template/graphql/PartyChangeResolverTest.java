@@ -0,0 +1,174 @@
+package org.erp_microservices.domain_template.graphql;
+
+import graphql.GraphQLError;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.erp_microservices.domain_template.party.PartyChange;
+import org.erp_microservices.domain_template.party.PartyDirectory;
+import org.erp_microservices.domain_template.party.PartyType;
+import org.erp_microservices.domain_template.party.Person;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.erp_microservices.domain_template.security.ScopeSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.execution.SubscriptionPublisherException;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@GraphQlTest(controllers = PartyChangeResolver.class)
+@Import({GraphQLSecurityContext.class, PartyChangeResolverTest.Broadcasting.class})
+@ActiveProfiles("test")
+@DisplayName("Party Change Resolver Tests")
+class PartyChangeResolverTest {
+
+    private static final String PARTY_CHANGED = """
+            subscription($types: [PartyType!], $ids: [ID!]) {
+                partyChanged(types: $types, ids: $ids) {
+                    type partyId partyType
+                    party { ... on Person { lastName } }
+                }
+            }
+            """;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private PartyChangeBroadcaster broadcaster;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PartyChangeResolver resolver;
+
+    @MockitoBean
+    private PartyDirectory partyDirectory;
+
+    @Test
+    @DisplayName("Should stream the changes of the requested party types, with the changed party")
+    void partyChanged_withTypes_shouldStreamMatchingChanges() {
+        // Given
+        Person ada = new Person("Ada", "Lovelace");
+        ReflectionTestUtils.setField(ada, "id", 1L);
+        when(partyDirectory.findByIds(List.of(1L))).thenReturn(Map.of(1L, ada));
+        List<Map<String, Object>> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = graphQlTester.document(PARTY_CHANGED)
+                .variable("types", List.of("PERSON"))
+                .executeSubscription()
+                .toFlux()
+                .map(response -> response.path("partyChanged")
+                        .entity(new ParameterizedTypeReference<Map<String, Object>>() {})
+                        .get())
+                .subscribe(received::add);
+        awaitSubscribers(1);
+
+        // When
+        broadcaster.accept(new PartyChange(PartyChange.Type.UPDATED, 1L, PartyType.PERSON));
+        broadcaster.accept(new PartyChange(PartyChange.Type.CREATED, 2L, PartyType.ORGANIZATION));
+        broadcaster.accept(new PartyChange(PartyChange.Type.DELETED, 3L, PartyType.PERSON));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 2);
+        assertThat(received.get(0)).containsEntry("type", "UPDATED").containsEntry("partyId", "1")
+                .containsEntry("party", Map.of("lastName", "Lovelace"));
+        assertThat(received.get(1)).containsEntry("type", "DELETED").containsEntry("partyId", "3")
+                .containsEntry("party", null);
+        verify(partyDirectory, never()).findByIds(List.of(3L));
+        subscription.dispose();
+    }
+
+    @Test
+    @DisplayName("Should stream only the changes of the watched ids")
+    void partyChanged_withIds_shouldStreamChangesOfThoseParties() {
+        // Given
+        List<String> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = graphQlTester.document(PARTY_CHANGED.replace("party { ... on Person { lastName } }", ""))
+                .variable("ids", List.of("2"))
+                .executeSubscription()
+                .toFlux("partyChanged.partyId", String.class)
+                .subscribe(received::add);
+        awaitSubscribers(1);
+
+        // When
+        LongStream.rangeClosed(1, 3).forEach(id ->
+                broadcaster.accept(new PartyChange(PartyChange.Type.CREATED, id, PartyType.PERSON)));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> !received.isEmpty());
+        assertThat(received).containsExactly("2");
+        verifyNoInteractions(partyDirectory);
+        subscription.dispose();
+    }
+
+    @Test
+    @DisplayName("Should refuse to watch more ids than allowed")
+    void partyChanged_withTooManyIds_shouldReturnBadRequest() {
+        // When/Then
+        assertThatThrownBy(() -> graphQlTester.document(PARTY_CHANGED)
+                .variable("ids", LongStream.rangeClosed(1, PartyChangeResolver.MAX_IDS + 1).mapToObj(String::valueOf).toList())
+                .executeSubscription()
+                .toFlux()
+                .blockFirst(Duration.ofSeconds(5)))
+                .isInstanceOfSatisfying(SubscriptionPublisherException.class, e ->
+                        assertThat(e.getErrors()).extracting(GraphQLError::getErrorType).containsExactly(ErrorType.BAD_REQUEST));
+    }
+
+    @Test
+    @DisplayName("Should end the stream when the subscriber's token expires")
+    void partyChanged_withExpiringToken_shouldCompleteAtExpiry() {
+        // Given
+        AuthenticatedPrincipal principal = new AuthenticatedPrincipal(true, "subscriber", null, List.of(),
+                ScopeSet.EMPTY, Map.of("exp", Instant.now().plusMillis(200)));
+
+        // When
+        Boolean completed = resolver.partyChanged(null, null, principal)
+                .then(Mono.just(true))
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(completed).isTrue();
+    }
+
+    private void awaitSubscribers(int count) {
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                meterRegistry.get(PartyChangeBroadcaster.SUBSCRIBERS_METRIC).gauge().value() == count);
+    }
+
+    @TestConfiguration
+    static class Broadcasting {
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        PartyChangeBroadcaster partyChangeBroadcaster(MeterRegistry meterRegistry) {
+            return new PartyChangeBroadcaster(16, meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.erp_microservices.domain_template.graphql;
+
+import org.erp_microservices.domain_template.config.GraphQlPaginationConfig;
+import org.erp_microservices.domain_template.party.Organization;
+import org.erp_microservices.domain_template.party.Party;
+import org.erp_microservices.domain_template.party.PartyDirectory;
+import org.erp_microservices.domain_template.party.PartyRepository;
+import org.erp_microservices.domain_template.party.PartySearch;
+import org.erp_microservices.domain_template.party.PartyType;
+import org.erp_microservices.domain_template.party.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@GraphQlTest(controllers = PartyResolver.class)
+@Import(GraphQlPaginationConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Party Resolver Tests")
+class PartyResolverTest {
+
+    private static final String PARTIES = """
+            query($first: Int, $after: String, $type: PartyType) {
+                parties(first: $first, after: $after, type: $type) {
+                    edges {
+                        cursor
+                        node {
+                            id
+                            __typename
+                            ... on Person { firstName lastName }
+                            ... on Organization { name }
+                        }
+                    }
+                    pageInfo { hasNextPage endCursor }
+                }
+            }
+            """;
+
+    private static final String SEARCH = """
+            query($text: String!, $first: Int, $after: String) {
+                searchParties(text: $text, first: $first, after: $after) {
+                    edges { cursor node { id ... on Person { lastName } } }
+                    pageInfo { hasNextPage endCursor }
+                }
+            }
+            """;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockitoBean
+    private PartyRepository partyRepository;
+
+    @MockitoBean
+    private PartyDirectory partyDirectory;
+
+    @MockitoBean
+    private PartySearch partySearch;
+
+    @Test
+    @DisplayName("Should look up a single party by id through the party directory")
+    void party_shouldReturnPartyFromDirectory() {
+        // Given
+        when(partyDirectory.findByIds(List.of(7L))).thenReturn(Map.of(7L, party(new Person("Ada", "Lovelace"), 7L)));
+
+        // When/Then
+        graphQlTester.document("{ party(id: 7) { id __typename ... on Person { lastName } } }").execute()
+                .path("party.__typename").entity(String.class).isEqualTo("Person")
+                .path("party.lastName").entity(String.class).isEqualTo("Lovelace");
+        graphQlTester.document("{ party(id: 8) { id } }").execute()
+                .path("party").valueIsNull();
+    }
+
+    @Test
+    @DisplayName("Should return parties as edges with opaque cursors")
+    void parties_shouldReturnConnection() {
+        // Given
+        when(partyRepository.findPage(any(), any(), any())).thenReturn(window(true,
+                party(new Person("Ada", "Lovelace"), 1L),
+                party(new Organization("Analytical Engines Ltd"), 2L)));
+
+        // When
+        GraphQlTester.Response response = graphQlTester.document(PARTIES).variable("first", 2).execute();
+
+        // Then
+        response.path("parties.edges[0].node.__typename").entity(String.class).isEqualTo("Person")
+                .path("parties.edges[0].node.lastName").entity(String.class).isEqualTo("Lovelace")
+                .path("parties.edges[1].node.name").entity(String.class).isEqualTo("Analytical Engines Ltd")
+                .path("parties.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true);
+        String endCursor = response.path("parties.pageInfo.endCursor").entity(String.class).get();
+        assertThat(endCursor).doesNotContain("id");
+        assertThat(response.path("parties.edges[1].cursor").entity(String.class).get()).isEqualTo(endCursor);
+    }
+
+    @Test
+    @DisplayName("Should resume from the keyset position encoded in the cursor")
+    void parties_withAfterCursor_shouldReadNextPageByKeyset() {
+        // Given
+        when(partyRepository.findPage(any(), any(), any()))
+                .thenReturn(window(true, party(new Person("Ada", "Lovelace"), 1L)))
+                .thenReturn(window(false, party(new Person("Grace", "Hopper"), 2L)));
+        String cursor = graphQlTester.document(PARTIES).variable("first", 1).execute()
+                .path("parties.pageInfo.endCursor").entity(String.class).get();
+
+        // When
+        graphQlTester.document(PARTIES).variable("first", 1).variable("after", cursor).execute()
+                .path("parties.edges[0].node.firstName").entity(String.class).isEqualTo("Grace")
+                .path("parties.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(false);
+
+        // Then
+        ArgumentCaptor<ScrollPosition> positions = ArgumentCaptor.forClass(ScrollPosition.class);
+        verify(partyRepository, times(2)).findPage(isNull(), positions.capture(), eq(Limit.of(1)));
+        assertThat(positions.getAllValues().get(0).isInitial()).isTrue();
+        assertThat(positions.getAllValues().get(1)).isInstanceOfSatisfying(KeysetScrollPosition.class,
+                position -> assertThat(position.getKeys()).containsOnlyKeys("id"));
+    }
+
+    @Test
+    @DisplayName("Should filter by party type and cap the page size")
+    void parties_withTypeAndLargePage_shouldFilterAndCap() {
+        // Given
+        when(partyRepository.findPage(any(), any(), any())).thenReturn(window(false));
+
+        // When
+        graphQlTester.document(PARTIES)
+                .variable("first", 10_000)
+                .variable("type", "ORGANIZATION")
+                .execute()
+                .path("parties.edges").entityList(Object.class).hasSize(0);
+
+        // Then
+        verify(partyRepository).findPage(eq(PartyType.ORGANIZATION), any(), eq(Limit.of(PartyResolver.MAX_PAGE_SIZE)));
+    }
+
+    @Test
+    @DisplayName("Should search parties and resume from the score and id in the cursor")
+    void searchParties_withAfterCursor_shouldResumeByScoreAndId() {
+        // Given
+        Party ada = party(new Person("Ada", "Lovelace"), 1L);
+        when(partySearch.search(eq("lovelace"), any(), anyInt()))
+                .thenReturn(Window.from(List.of(ada),
+                        index -> ScrollPosition.forward(Map.of("score", 0.75, "id", 1L)), true))
+                .thenReturn(window(false));
+        String cursor = graphQlTester.document(SEARCH).variable("text", "lovelace").variable("first", 1).execute()
+                .path("searchParties.edges[0].node.lastName").entity(String.class).isEqualTo("Lovelace")
+                .path("searchParties.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true)
+                .path("searchParties.pageInfo.endCursor").entity(String.class).get();
+
+        // When
+        graphQlTester.document(SEARCH).variable("text", "lovelace").variable("first", 1).variable("after", cursor)
+                .execute()
+                .path("searchParties.edges").entityList(Object.class).hasSize(0);
+
+        // Then
+        ArgumentCaptor<ScrollPosition> positions = ArgumentCaptor.forClass(ScrollPosition.class);
+        verify(partySearch, times(2)).search(eq("lovelace"), positions.capture(), eq(1));
+        assertThat(positions.getAllValues().get(1)).isInstanceOfSatisfying(KeysetScrollPosition.class,
+                position -> {
+                    assertThat(((Number) position.getKeys().get("score")).doubleValue()).isEqualTo(0.75);
+                    assertThat(((Number) position.getKeys().get("id")).longValue()).isEqualTo(1L);
+                });
+    }
+
+    @Test
+    @DisplayName("Should report invalid search text as a bad request")
+    void searchParties_withBlankText_shouldReturnBadRequest() {
+        // Given
+        when(partySearch.search(eq(" "), any(), anyInt()))
+                .thenThrow(new InvalidDataAccessApiUsageException("Search text must not be blank"));
+
+        // When/Then
+        graphQlTester.document(SEARCH).variable("text", " ").execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.BAD_REQUEST
+                        && "Search text must not be blank".equals(error.getMessage()))
+                .verify();
+    }
+
+    private static Party party(Party party, long id) {
+        ReflectionTestUtils.setField(party, "id", id);
+        return party;
+    }
+
+    private static Window<Party> window(boolean hasNext, Party... parties) {
+        return Window.from(List.of(parties),
+                index -> ScrollPosition.forward(Map.of("id", parties[index].getId())), hasNext);
+    }
+}
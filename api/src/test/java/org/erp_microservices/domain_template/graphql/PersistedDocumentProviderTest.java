@@ -0,0 +1,209 @@
+package org.erp_microservices.domain_template.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Persisted Document Provider Tests")
+class PersistedDocumentProviderTest {
+
+    private static final String QUERY = "{ healthCheck }";
+    private static final String QUERY_HASH = PersistedDocumentProvider.sha256(QUERY);
+
+    private final List<String> parsed = new ArrayList<>();
+    private final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate = input -> {
+        parsed.add(input.getQuery());
+        return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+    };
+
+    private PersistedQueryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PersistedQueryProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should parse a query once and serve repeats from the cache")
+    void getDocumentAsync_withRepeatedQueryText_shouldParseOnce() {
+        // Given
+        PersistedDocumentProvider provider = provider(PersistedQueryAllowlist.EMPTY);
+
+        // When
+        PreparsedDocumentEntry first = provider.getDocumentAsync(plain(QUERY), parseAndValidate).join();
+        PreparsedDocumentEntry second = provider.getDocumentAsync(plain(QUERY), parseAndValidate).join();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(parsed).containsExactly(QUERY);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", PersistedDocumentProvider.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should ask the client for the text when a hash is unknown")
+    void getDocumentAsync_withUnknownHash_shouldReturnNotFound() {
+        // Given
+        PersistedDocumentProvider provider = provider(PersistedQueryAllowlist.EMPTY);
+
+        // When
+        PreparsedDocumentEntry entry = provider.getDocumentAsync(hashOnly(QUERY_HASH), parseAndValidate).join();
+
+        // Then
+        assertThat(entry.hasErrors()).isTrue();
+        assertThat(entry.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryNotFound");
+        assertThat(entry.getErrors().get(0).getExtensions()).containsEntry("persistedQueryId", QUERY_HASH);
+        assertThat(parsed).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resolve a hash registered by an earlier request")
+    void getDocumentAsync_withRegisteredHash_shouldReuseDocument() {
+        // Given
+        PersistedDocumentProvider provider = provider(PersistedQueryAllowlist.EMPTY);
+        PreparsedDocumentEntry registered = provider.getDocumentAsync(
+                withHash(QUERY, QUERY_HASH), parseAndValidate).join();
+
+        // When
+        PreparsedDocumentEntry entry = provider.getDocumentAsync(hashOnly(QUERY_HASH), parseAndValidate).join();
+
+        // Then
+        assertThat(entry).isSameAs(registered);
+        assertThat(parsed).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a hash that does not match the query text")
+    void getDocumentAsync_withMismatchedHash_shouldReturnIdInvalid() {
+        // Given
+        PersistedDocumentProvider provider = provider(PersistedQueryAllowlist.EMPTY);
+
+        // When
+        PreparsedDocumentEntry entry = provider.getDocumentAsync(
+                withHash(QUERY, PersistedDocumentProvider.sha256("{ other }")), parseAndValidate).join();
+
+        // Then
+        assertThat(entry.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryIdInvalid");
+        assertThat(parsed).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resolve allowlisted hashes without the client sending text")
+    void getDocumentAsync_withAllowlistedHash_shouldParseAllowlistText() {
+        // Given
+        PersistedDocumentProvider provider = provider(new PersistedQueryAllowlist(Map.of(QUERY_HASH, QUERY)));
+
+        // When
+        PreparsedDocumentEntry entry = provider.getDocumentAsync(hashOnly(QUERY_HASH), parseAndValidate).join();
+
+        // Then
+        assertThat(entry.hasErrors()).isFalse();
+        assertThat(parsed).containsExactly(QUERY);
+    }
+
+    @Test
+    @DisplayName("Should reject operations outside the allowlist in allowlist-only mode")
+    void getDocumentAsync_withAllowlistOnlyAndUnlistedQuery_shouldReject() {
+        // Given
+        properties.setAllowlistOnly(true);
+        PersistedDocumentProvider provider = provider(new PersistedQueryAllowlist(Map.of(QUERY_HASH, QUERY)));
+
+        // When
+        PreparsedDocumentEntry unlisted = provider.getDocumentAsync(plain("{ currentUser { username } }"),
+                parseAndValidate).join();
+        PreparsedDocumentEntry listed = provider.getDocumentAsync(plain(QUERY), parseAndValidate).join();
+
+        // Then
+        assertThat(unlisted.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryNotAllowed");
+        assertThat(listed.hasErrors()).isFalse();
+        assertThat(parsed).containsExactly(QUERY);
+    }
+
+    @Test
+    @DisplayName("Should not cache documents that fail validation")
+    void getDocumentAsync_withInvalidDocument_shouldNotCache() {
+        // Given
+        PersistedDocumentProvider provider = provider(PersistedQueryAllowlist.EMPTY);
+        Function<ExecutionInput, PreparsedDocumentEntry> failing = input -> {
+            parsed.add(input.getQuery());
+            return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("invalid").build());
+        };
+
+        // When
+        provider.getDocumentAsync(plain("{ unknownField }"), failing).join();
+        provider.getDocumentAsync(plain("{ unknownField }"), failing).join();
+
+        // Then
+        assertThat(parsed).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should load an Apollo persisted query manifest")
+    void load_withManifest_shouldIndexOperationsByHash() {
+        // Given
+        String manifest = """
+                {"format":"apollo-persisted-query-manifest","version":1,"operations":[
+                  {"id":"%s","name":"HealthCheck","type":"query","body":"%s"}]}
+                """.formatted(QUERY_HASH, QUERY);
+
+        // When
+        PersistedQueryAllowlist allowlist = PersistedQueryAllowlist.load(
+                new ByteArrayResource(manifest.getBytes(StandardCharsets.UTF_8)), new ObjectMapper());
+
+        // Then
+        assertThat(allowlist.size()).isEqualTo(1);
+        assertThat(allowlist.get(QUERY_HASH)).isEqualTo(QUERY);
+    }
+
+    @Test
+    @DisplayName("Should refuse a manifest whose ids do not match their bodies")
+    void load_withTamperedManifest_shouldThrow() {
+        // Given
+        String manifest = """
+                {"operations":[{"id":"%s","body":"{ currentUser { username } }"}]}
+                """.formatted(QUERY_HASH);
+
+        // When/Then
+        assertThatThrownBy(() -> PersistedQueryAllowlist.load(
+                new ByteArrayResource(manifest.getBytes(StandardCharsets.UTF_8)), new ObjectMapper()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(QUERY_HASH);
+    }
+
+    private PersistedDocumentProvider provider(PersistedQueryAllowlist allowlist) {
+        return new PersistedDocumentProvider(properties, allowlist, meterRegistry);
+    }
+
+    private static ExecutionInput plain(String query) {
+        return ExecutionInput.newExecutionInput().query(query).build();
+    }
+
+    private static ExecutionInput withHash(String query, String hash) {
+        return ExecutionInput.newExecutionInput()
+                .query(query)
+                .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)))
+                .build();
+    }
+
+    private static ExecutionInput hashOnly(String hash) {
+        return withHash(PersistedQuerySupport.PERSISTED_QUERY_MARKER, hash);
+    }
+}
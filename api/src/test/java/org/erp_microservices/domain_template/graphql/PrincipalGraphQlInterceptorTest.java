@@ -0,0 +1,154 @@
+package org.erp_microservices.domain_template.graphql;
+
+import graphql.ExecutionInput;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Principal GraphQL Interceptor Tests")
+class PrincipalGraphQlInterceptorTest {
+
+    private final JwtDecoder jwtDecoder = mock(JwtDecoder.class);
+    private final PrincipalGraphQlInterceptor interceptor =
+            new PrincipalGraphQlInterceptor(new GraphQLSecurityContext(), jwtDecoder);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should store the principal snapshot in the GraphQL context")
+    void intercept_withAuthenticatedUser_shouldStorePrincipalInContext() {
+        // Given
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("sub", "user123")
+                .claim("scope", "read write")
+                .issuedAt(Instant.now().minusSeconds(60))
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        SecurityContextHolder.setContext(new SecurityContextImpl(new JwtAuthenticationToken(jwt, List.of())));
+        WebGraphQlRequest request = createRequest();
+        WebGraphQlInterceptor.Chain chain = mock(WebGraphQlInterceptor.Chain.class);
+        when(chain.next(any())).thenReturn(Mono.empty());
+
+        // When
+        interceptor.intercept(request, chain).block();
+        SecurityContextHolder.clearContext();
+        ExecutionInput executionInput = request.toExecutionInput();
+
+        // Then
+        AuthenticatedPrincipal principal = executionInput.getGraphQLContext().get(AuthenticatedPrincipal.CONTEXT_KEY);
+        assertThat(principal.authenticated()).isTrue();
+        assertThat(principal.subject()).isEqualTo("user123");
+        assertThat(principal.hasScope("write")).isTrue();
+        verify(chain).next(request);
+    }
+
+    @Test
+    @DisplayName("Should store the anonymous principal without authentication")
+    void intercept_withoutAuthentication_shouldStoreAnonymousPrincipal() {
+        // Given
+        SecurityContextHolder.clearContext();
+        WebGraphQlRequest request = createRequest();
+        WebGraphQlInterceptor.Chain chain = mock(WebGraphQlInterceptor.Chain.class);
+        when(chain.next(any())).thenReturn(Mono.empty());
+
+        // When
+        interceptor.intercept(request, chain).block();
+
+        // Then
+        AuthenticatedPrincipal principal =
+                request.toExecutionInput().getGraphQLContext().get(AuthenticatedPrincipal.CONTEXT_KEY);
+        assertThat(principal).isSameAs(AuthenticatedPrincipal.ANONYMOUS);
+    }
+
+    @Test
+    @DisplayName("Should authenticate a WebSocket connection from the token in connection_init")
+    void handleConnectionInitialization_withValidToken_shouldStorePrincipalForTheConnection() {
+        // Given
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("sub", "subscriber")
+                .claim("scope", "read")
+                .issuedAt(Instant.now().minusSeconds(60))
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        when(jwtDecoder.decode("token")).thenReturn(jwt);
+        WebSocketSessionInfo sessionInfo = createSessionInfo();
+        WebGraphQlInterceptor.Chain chain = mock(WebGraphQlInterceptor.Chain.class);
+        when(chain.next(any())).thenReturn(Mono.empty());
+
+        // When
+        interceptor.handleConnectionInitialization(sessionInfo, Map.of("Authorization", "Bearer token")).block();
+        WebGraphQlRequest request = createWebSocketRequest(sessionInfo);
+        interceptor.intercept(request, chain).block();
+
+        // Then
+        AuthenticatedPrincipal principal =
+                request.toExecutionInput().getGraphQLContext().get(AuthenticatedPrincipal.CONTEXT_KEY);
+        assertThat(principal.authenticated()).isTrue();
+        assertThat(principal.subject()).isEqualTo("subscriber");
+        assertThat(principal.hasScope("read")).isTrue();
+        assertThat(principal.expiresAt()).contains(jwt.getExpiresAt());
+    }
+
+    @Test
+    @DisplayName("Should refuse a WebSocket connection without a valid bearer token")
+    void handleConnectionInitialization_withoutValidToken_shouldFail() {
+        // Given
+        when(jwtDecoder.decode("expired")).thenThrow(new BadJwtException("Jwt expired"));
+        WebSocketSessionInfo sessionInfo = createSessionInfo();
+
+        // When/Then
+        assertThatThrownBy(() -> interceptor.handleConnectionInitialization(sessionInfo, Map.of()).block())
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> interceptor.handleConnectionInitialization(
+                sessionInfo, Map.of("Authorization", "Bearer expired")).block())
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(sessionInfo.getAttributes()).isEmpty();
+    }
+
+    private static WebSocketSessionInfo createSessionInfo() {
+        WebSocketSessionInfo sessionInfo = mock(WebSocketSessionInfo.class);
+        when(sessionInfo.getAttributes()).thenReturn(new HashMap<>());
+        return sessionInfo;
+    }
+
+    private static WebGraphQlRequest createWebSocketRequest(WebSocketSessionInfo sessionInfo) {
+        return new WebSocketGraphQlRequest(URI.create("ws://localhost/graphql-ws"), new HttpHeaders(), null, null,
+                Map.of(), Map.of("query", "subscription { partyChanged { partyId } }"), "1", Locale.ENGLISH,
+                sessionInfo);
+    }
+
+    private WebGraphQlRequest createRequest() {
+        return new WebGraphQlRequest(URI.create("http://localhost/graphql"), new HttpHeaders(), null, null,
+                Map.of(), Map.of("query", "{ currentUser { username } }"), "1", Locale.ENGLISH);
+    }
+}
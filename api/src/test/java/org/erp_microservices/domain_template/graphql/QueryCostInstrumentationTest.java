@@ -0,0 +1,245 @@
+package org.erp_microservices.domain_template.graphql;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.erp_microservices.domain_template.security.ScopeSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Query Cost Instrumentation Tests")
+class QueryCostInstrumentationTest {
+
+    private static final String SCHEMA = """
+            directive @cost(weight: Int! = 1, multiplier: String, defaultSize: Int, maxSize: Int) on FIELD_DEFINITION
+
+            type Query {
+                node: Node
+                nodes(ids: [ID!]!): [Node] @cost(weight: 2, multiplier: "ids")
+                first(count: Int): [Node] @cost(weight: 1, multiplier: "count")
+                page(first: Int, last: Int): [Node]
+                    @cost(weight: 1, multiplier: "first,last", defaultSize: 20, maxSize: 50)
+            }
+
+            type Node {
+                id: ID
+                child: Node
+            }
+            """;
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private QueryLimitsProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        properties = new QueryLimitsProperties();
+        properties.setMaxDepth(3);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should sum field weights and record the cost for the calling client")
+    void execute_withinBudget_shouldRecordCostPerClient() {
+        // When
+        ExecutionResult result = execute("{ node { id child { id } } }", Map.of());
+
+        // Then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(meterRegistry.get(QueryCostInstrumentation.COST_METRIC)
+                .tag(QueryCostInstrumentation.CLIENT_TAG, "client-1")
+                .tag("outcome", "accepted")
+                .summary().totalAmount()).isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("Should multiply a list field's cost by the size of its argument")
+    void execute_withListArgumentMultiplier_shouldScaleCost() {
+        // When
+        execute("{ nodes(ids: [\"a\", \"b\", \"c\"]) { id } }", Map.of());
+
+        // Then
+        assertThat(meterRegistry.get(QueryCostInstrumentation.COST_METRIC).summary().totalAmount())
+                .isEqualTo(9.0);
+    }
+
+    @Test
+    @DisplayName("Should multiply by whichever of the named arguments is given, capped at the maximum size")
+    void execute_withArgumentListMultiplier_shouldUseGivenArgumentUpToMaximum() {
+        // When
+        execute("{ page(last: 10) { id } }", Map.of());
+        execute("{ page(first: 10000) { id } }", Map.of());
+
+        // Then
+        assertThat(meterRegistry.get(QueryCostInstrumentation.COST_METRIC).summary().totalAmount())
+                .isEqualTo(2.0 * 10 + 2.0 * 50);
+    }
+
+    @Test
+    @DisplayName("Should multiply by the default size when none of the named arguments is given")
+    void execute_withoutMultiplierArgument_shouldUseDefaultSize() {
+        // When
+        execute("{ page { id } }", Map.of());
+
+        // Then
+        assertThat(meterRegistry.get(QueryCostInstrumentation.COST_METRIC).summary().totalAmount())
+                .isEqualTo(2.0 * 20);
+    }
+
+    @Test
+    @DisplayName("Should charge the application's party pages for the parties they return")
+    void execute_withApplicationSchema_shouldChargePartyPagesByTheirSize() {
+        // Given
+        properties.setMaxCost(1_000_000);
+        String selection = " { edges { node { id } } }";
+        int onePartyPage = cost("{ parties(first: 1)" + selection + " }");
+
+        // When / Then
+        assertThat(onePartyPage).isPositive();
+        assertThat(cost("{ parties(last: 100)" + selection + " }"))
+                .isEqualTo(cost("{ parties(first: 100)" + selection + " }"))
+                .isEqualTo(onePartyPage * PartyResolver.MAX_PAGE_SIZE);
+        assertThat(cost("{ parties" + selection + " }")).isEqualTo(onePartyPage * PartyResolver.DEFAULT_PAGE_SIZE);
+        assertThat(cost("{ parties(first: 100000)" + selection + " }"))
+                .isEqualTo(onePartyPage * PartyResolver.MAX_PAGE_SIZE);
+        int oneMatchPage = cost("{ searchParties(text: \"ada\", first: 1)" + selection + " }");
+        assertThat(cost("{ searchParties(text: \"ada\")" + selection + " }"))
+                .isEqualTo(oneMatchPage * PartyResolver.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should reject an over-budget query before any data fetcher runs")
+    void execute_overCostBudget_shouldRejectBeforeExecution() {
+        // When
+        ExecutionResult result = execute("query($count: Int) { first(count: $count) { id } }", Map.of("count", 600));
+
+        // Then
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage())
+                        .isEqualTo("Query cost 1001 exceeds the maximum of 1000"));
+        assertThat(fetches.get()).isZero();
+        assertThat(meterRegistry.get(QueryCostInstrumentation.COST_METRIC)
+                .tag("outcome", "rejected").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a query nested deeper than the maximum depth")
+    void execute_overDepthLimit_shouldReject() {
+        // When
+        ExecutionResult result = execute("{ node { child { child { id } } } }", Map.of());
+
+        // Then
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage())
+                        .isEqualTo("Query depth 4 exceeds the maximum of 3"));
+        assertThat(fetches.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not count introspection towards depth or cost")
+    void execute_withIntrospection_shouldBeFree() {
+        // When
+        ExecutionResult result = execute(
+                "{ __schema { types { fields { type { ofType { ofType { name } } } } } } }", Map.of());
+
+        // Then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(meterRegistry.get(QueryCostInstrumentation.COST_METRIC).summary().totalAmount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should prefer configured field weights over the schema")
+    void execute_withConfiguredFieldWeight_shouldUseIt() {
+        // Given
+        properties.setFieldWeights(Map.of("Node.child", 100));
+
+        // When
+        execute("{ node { child { id } } }", Map.of());
+
+        // Then
+        assertThat(meterRegistry.get(QueryCostInstrumentation.COST_METRIC).summary().totalAmount())
+                .isEqualTo(102.0);
+    }
+
+    @Test
+    @DisplayName("Should record anonymous callers under a shared client tag")
+    void execute_withoutPrincipal_shouldRecordAnonymousClient() {
+        // When
+        GraphQL graphQL = graphQL();
+        graphQL.execute(ExecutionInput.newExecutionInput().query("{ node { id } }").build());
+
+        // Then
+        assertThat(meterRegistry.get(QueryCostInstrumentation.COST_METRIC)
+                .tag(QueryCostInstrumentation.CLIENT_TAG, "anonymous")
+                .summary().count()).isEqualTo(1);
+    }
+
+    /**
+     * Returns the recorded cost of {@code query} against the application's schema.
+     */
+    private int cost(String query) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ClassPathResource("graphql/schema.graphqls"))
+                .configureTypeDefinitions(new ConnectionTypeDefinitionConfigurer())
+                .instrumentation(List.of(
+                        new QueryCostInstrumentation(properties, new GraphQLSecurityContext(), registry)))
+                .build()
+                .graphQl()
+                .execute(query);
+        return (int) registry.get(QueryCostInstrumentation.COST_METRIC).summary().totalAmount();
+    }
+
+    private ExecutionResult execute(String query, Map<String, Object> variables) {
+        AuthenticatedPrincipal principal = new AuthenticatedPrincipal(
+                true, "client-1", null, List.of(), ScopeSet.EMPTY, Map.of());
+        return graphQL().execute(ExecutionInput.newExecutionInput()
+                .query(query)
+                .variables(variables)
+                .graphQLContext(Map.of(AuthenticatedPrincipal.CONTEXT_KEY, principal))
+                .build());
+    }
+
+    private GraphQL graphQL() {
+        DataFetcher<Object> node = environment -> {
+            fetches.incrementAndGet();
+            return Map.of("id", "1");
+        };
+        DataFetcher<Object> nodes = environment -> {
+            fetches.incrementAndGet();
+            return List.of(Map.of("id", "1"));
+        };
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", type -> type
+                        .dataFetcher("node", node)
+                        .dataFetcher("nodes", nodes)
+                        .dataFetcher("first", nodes)
+                        .dataFetcher("page", nodes))
+                .type("Node", type -> type.dataFetcher("child", node))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring);
+        return GraphQL.newGraphQL(schema)
+                .instrumentation(new QueryCostInstrumentation(properties, new GraphQLSecurityContext(), meterRegistry))
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package org.erp_microservices.domain_template.graphql;
+
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.erp_microservices.domain_template.security.ScopeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Query Resolver Tests")
+class QueryResolverTest {
+
+    private final QueryResolver queryResolver = new QueryResolver(new GraphQLSecurityContext());
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should build the current user from the principal without a security context")
+    void currentUser_withPrincipal_shouldNotNeedSecurityContext() {
+        // Given
+        SecurityContextHolder.clearContext();
+        AuthenticatedPrincipal principal = new AuthenticatedPrincipal(true, "user123", "user123@example.com",
+                List.of("USER"), ScopeSet.of("read"), Map.of());
+
+        // When
+        QueryResolver.User user = queryResolver.currentUser(principal);
+
+        // Then
+        assertThat(user.getUsername()).isEqualTo("user123");
+        assertThat(user.getEmail()).isEqualTo("user123@example.com");
+        assertThat(user.getRoles()).containsExactly("USER");
+    }
+
+    @Test
+    @DisplayName("Should return null for an anonymous principal")
+    void currentUser_withAnonymousPrincipal_shouldReturnNull() {
+        assertThat(queryResolver.currentUser(AuthenticatedPrincipal.ANONYMOUS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the security context when no principal was stored")
+    void currentUser_withoutPrincipal_shouldUseSecurityContext() {
+        SecurityContextHolder.clearContext();
+        assertThat(queryResolver.currentUser(null)).isNull();
+    }
+}
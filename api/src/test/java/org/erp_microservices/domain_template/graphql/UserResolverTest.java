@@ -0,0 +1,138 @@
+package org.erp_microservices.domain_template.graphql;
+
+import org.erp_microservices.domain_template.user.UserAccount;
+import org.erp_microservices.domain_template.user.UserDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@GraphQlTest(controllers = {QueryResolver.class, UserResolver.class})
+@Import({GraphQLSecurityContext.class, UserResolverTest.CountingDirectoryConfig.class})
+@ActiveProfiles("test")
+@DisplayName("User Resolver Batching Tests")
+class UserResolverTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private CountingUserDirectory userDirectory;
+
+    @BeforeEach
+    void setUp() {
+        userDirectory.reset();
+    }
+
+    @ParameterizedTest(name = "{0} users")
+    @ValueSource(ints = {1, 10, 100, 500})
+    @DisplayName("Should issue the same number of queries regardless of result size")
+    void users_withNestedRoles_shouldUseConstantNumberOfQueries(int size) {
+        // Given
+        List<String> usernames = IntStream.range(0, size).mapToObj(i -> "user" + i).toList();
+
+        // When
+        List<String> roles = graphQlTester.document("""
+                        query($usernames: [String!]!) {
+                            users(usernames: $usernames) { username email roles }
+                        }
+                        """)
+                .variable("usernames", usernames)
+                .execute()
+                .path("users[*].roles[0]").entityList(String.class).get();
+
+        // Then
+        assertThat(roles).hasSize(size).allMatch(role -> role.equals("USER"));
+        assertThat(userDirectory.userQueries.get()).isEqualTo(1);
+        assertThat(userDirectory.roleQueries.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load each repeated user once per request")
+    void users_withRepeatedUsernames_shouldLoadEachUserOnce() {
+        // When
+        graphQlTester.document("""
+                        {
+                            first: users(usernames: ["alice", "bob", "alice"]) { username roles }
+                            second: users(usernames: ["bob"]) { email }
+                        }
+                        """)
+                .execute()
+                .path("first[2].username").entity(String.class).isEqualTo("alice")
+                .path("second[0].email").entity(String.class).isEqualTo("bob@example.com");
+
+        // Then
+        assertThat(userDirectory.userQueries.get()).isEqualTo(1);
+        assertThat(userDirectory.requestedUsernames).containsExactlyInAnyOrder("alice", "bob");
+    }
+
+    @Test
+    @DisplayName("Should return null for unknown users")
+    void users_withUnknownUsername_shouldReturnNull() {
+        graphQlTester.document("{ users(usernames: [\"missing\"]) { username } }")
+                .execute()
+                .path("users[0]").valueIsNull();
+    }
+
+    @TestConfiguration
+    static class CountingDirectoryConfig {
+
+        @Bean
+        CountingUserDirectory countingUserDirectory() {
+            return new CountingUserDirectory();
+        }
+    }
+
+    /**
+     * Stands in for the JDBC directory; each method call corresponds to one SQL query.
+     */
+    static class CountingUserDirectory implements UserDirectory {
+
+        private final AtomicInteger userQueries = new AtomicInteger();
+        private final AtomicInteger roleQueries = new AtomicInteger();
+        private final List<String> requestedUsernames = new CopyOnWriteArrayList<>();
+
+        void reset() {
+            userQueries.set(0);
+            roleQueries.set(0);
+            requestedUsernames.clear();
+        }
+
+        @Override
+        public Map<String, UserAccount> findByUsernames(Collection<String> usernames) {
+            userQueries.incrementAndGet();
+            requestedUsernames.addAll(usernames);
+            Map<String, UserAccount> users = new HashMap<>();
+            usernames.stream()
+                    .filter(username -> !username.equals("missing"))
+                    .forEach(username -> users.put(username, new UserAccount(username, username + "@example.com")));
+            return users;
+        }
+
+        @Override
+        public Map<String, List<String>> findRolesByUsernames(Collection<String> usernames) {
+            roleQueries.incrementAndGet();
+            Map<String, List<String>> roles = new HashMap<>();
+            usernames.forEach(username -> roles.put(username, List.of("USER")));
+            return roles;
+        }
+    }
+}
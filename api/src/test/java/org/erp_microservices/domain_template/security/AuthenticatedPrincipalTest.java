@@ -0,0 +1,99 @@
+package org.erp_microservices.domain_template.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Authenticated Principal Tests")
+class AuthenticatedPrincipalTest {
+
+    @Test
+    @DisplayName("Should snapshot subject, email, roles and scopes from a JWT")
+    void from_withJwtAuthentication_shouldReadClaims() {
+        // Given
+        Jwt jwt = jwtBuilder()
+                .claim("email", "user123@example.com")
+                .claim("roles", List.of("USER", "ADMIN"))
+                .build();
+
+        // When
+        AuthenticatedPrincipal principal = AuthenticatedPrincipal.from(new JwtAuthenticationToken(jwt, List.of()));
+
+        // Then
+        assertThat(principal.authenticated()).isTrue();
+        assertThat(principal.subject()).isEqualTo("user123");
+        assertThat(principal.email()).isEqualTo("user123@example.com");
+        assertThat(principal.roles()).containsExactly("USER", "ADMIN");
+        assertThat(principal.hasScope("read")).isTrue();
+        assertThat(principal.hasAllScopes("read", "write")).isTrue();
+        assertThat(principal.hasAnyScope("admin")).isFalse();
+        assertThat(principal.claims()).containsEntry("sub", "user123");
+    }
+
+    @Test
+    @DisplayName("Should read Keycloak realm roles")
+    void from_withRealmAccessClaim_shouldReadRealmRoles() {
+        // Given
+        Jwt jwt = jwtBuilder()
+                .claim("realm_access", Map.of("roles", List.of("offline_access", "USER")))
+                .build();
+
+        // When
+        AuthenticatedPrincipal principal = AuthenticatedPrincipal.from(new JwtAuthenticationToken(jwt));
+
+        // Then
+        assertThat(principal.roles()).containsExactly("offline_access", "USER");
+    }
+
+    @Test
+    @DisplayName("Should reuse scopes stored on a scoped authentication")
+    void from_withScopedAuthentication_shouldReuseStoredScopes() {
+        // Given
+        ScopeSet scopes = ScopeSet.of("admin");
+        ScopedJwtAuthenticationToken authentication =
+                new ScopedJwtAuthenticationToken(jwtBuilder().build(), List.of(), scopes);
+
+        // When
+        AuthenticatedPrincipal principal = AuthenticatedPrincipal.from(authentication);
+
+        // Then
+        assertThat(principal.scopes()).isSameAs(scopes);
+    }
+
+    @Test
+    @DisplayName("Should use the authentication name for non-JWT authentication")
+    void from_withOtherAuthentication_shouldUseName() {
+        // When
+        AuthenticatedPrincipal principal = AuthenticatedPrincipal.from(new TestingAuthenticationToken("alice", "n/a"));
+
+        // Then
+        assertThat(principal.subject()).isEqualTo("alice");
+        assertThat(principal.scopes()).isSameAs(ScopeSet.EMPTY);
+        assertThat(principal.roles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return the anonymous principal without authentication")
+    void from_withNoAuthentication_shouldBeAnonymous() {
+        assertThat(AuthenticatedPrincipal.from(null)).isSameAs(AuthenticatedPrincipal.ANONYMOUS);
+        assertThat(AuthenticatedPrincipal.ANONYMOUS.authenticated()).isFalse();
+        assertThat(AuthenticatedPrincipal.ANONYMOUS.hasScope("read")).isFalse();
+    }
+
+    private Jwt.Builder jwtBuilder() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("sub", "user123")
+                .claim("scope", "read write")
+                .issuedAt(Instant.now().minusSeconds(60))
+                .expiresAt(Instant.now().plusSeconds(3600));
+    }
+}
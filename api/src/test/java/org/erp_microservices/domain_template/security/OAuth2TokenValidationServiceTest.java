@@ -1,16 +1,19 @@
 package org.erp_microservices.domain_template.security;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
@@ -28,7 +31,9 @@ class OAuth2TokenValidationServiceTest {
 
     @BeforeEach
     void setUp() {
-        tokenValidationService = new OAuth2TokenValidationService(jwtDecoder);
+        tokenValidationService = new OAuth2TokenValidationService(jwtDecoder,
+                new VerifiedJwtCache(new TokenCacheProperties(), new SimpleMeterRegistry()),
+                new TokenBatchValidationProperties());
     }
 
     @Test
@@ -166,6 +171,99 @@ class OAuth2TokenValidationServiceTest {
         verify(jwtDecoder).decode(token);
     }
 
+    @Test
+    @DisplayName("Should check if token has any or all of the given scopes")
+    void hasAnyAndAllScopes_withValidToken_shouldMatchGrantedScopes() {
+        // Given
+        String token = "valid.jwt.token";
+        when(jwtDecoder.decode(token)).thenReturn(createMockJwt());
+
+        // When / Then
+        assertThat(tokenValidationService.hasAnyScope(token, "admin", "write")).isTrue();
+        assertThat(tokenValidationService.hasAnyScope(token, "admin", "delete")).isFalse();
+        assertThat(tokenValidationService.hasAllScopes(token, "read", "write")).isTrue();
+        assertThat(tokenValidationService.hasAllScopes(token, "read", "admin")).isFalse();
+        verify(jwtDecoder, times(1)).decode(token);
+    }
+
+    @Test
+    @DisplayName("Should decode a token once for validation, claims and scope checks")
+    void validateExtractAndCheckScope_withSameToken_shouldDecodeOnce() {
+        // Given
+        String token = "valid.jwt.token";
+        Jwt jwt = createMockJwt();
+        when(jwtDecoder.decode(token)).thenReturn(jwt);
+
+        // When
+        boolean valid = tokenValidationService.validateToken(token);
+        Map<String, Object> claims = tokenValidationService.extractClaims(token);
+        boolean hasScope = tokenValidationService.hasScope(token, "write");
+
+        // Then
+        assertThat(valid).isTrue();
+        assertThat(claims).containsEntry("sub", "user123");
+        assertThat(hasScope).isTrue();
+        verify(jwtDecoder, times(1)).decode(token);
+    }
+
+    @Test
+    @DisplayName("Should not decode a recently rejected token again")
+    void validateToken_withRecentlyRejectedToken_shouldNotDecodeAgain() {
+        // Given
+        String token = "invalid.jwt.token";
+        when(jwtDecoder.decode(token)).thenThrow(new BadJwtException("Invalid token"));
+
+        // When
+        boolean first = tokenValidationService.validateToken(token);
+        boolean second = tokenValidationService.validateToken(token);
+
+        // Then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        verify(jwtDecoder, times(1)).decode(token);
+    }
+
+    @Test
+    @DisplayName("Should validate a batch of tokens with one result per distinct token")
+    void validateAll_withMixedTokens_shouldReturnResultPerToken() {
+        // Given
+        when(jwtDecoder.decode("valid.jwt.token")).thenReturn(createMockJwt());
+        when(jwtDecoder.decode("expired.jwt.token")).thenReturn(createExpiredMockJwt());
+        when(jwtDecoder.decode("invalid.jwt.token")).thenThrow(new JwtException("Invalid token"));
+
+        // When
+        Map<String, TokenValidationResult> results = tokenValidationService.validateAll(List.of(
+                "valid.jwt.token", "expired.jwt.token", "invalid.jwt.token", "", "valid.jwt.token"));
+
+        // Then
+        assertThat(results).containsOnlyKeys("valid.jwt.token", "expired.jwt.token", "invalid.jwt.token", "");
+        assertThat(results.get("valid.jwt.token").valid()).isTrue();
+        assertThat(results.get("valid.jwt.token").jwt().getSubject()).isEqualTo("user123");
+        assertThat(results.get("expired.jwt.token").valid()).isFalse();
+        assertThat(results.get("invalid.jwt.token").valid()).isFalse();
+        assertThat(results.get("invalid.jwt.token").error()).isEqualTo("Invalid token");
+        assertThat(results.get("").valid()).isFalse();
+        verify(jwtDecoder, times(1)).decode("valid.jwt.token");
+        verify(jwtDecoder, never()).decode("");
+    }
+
+    @Test
+    @DisplayName("Should reuse already verified tokens in a batch")
+    void validateAll_withAlreadyVerifiedToken_shouldNotDecodeAgain() {
+        // Given
+        when(jwtDecoder.decode("valid.jwt.token")).thenReturn(createMockJwt());
+        tokenValidationService.validateToken("valid.jwt.token");
+
+        // When
+        Map<String, TokenValidationResult> results = tokenValidationService.validateAll(
+                List.of("valid.jwt.token", "valid.jwt.token"));
+
+        // Then
+        assertThat(results).hasSize(1);
+        assertThat(results.get("valid.jwt.token").valid()).isTrue();
+        verify(jwtDecoder, times(1)).decode("valid.jwt.token");
+    }
+
     private Jwt createMockJwt() {
         return Jwt.withTokenValue("token")
                 .header("alg", "RS256")
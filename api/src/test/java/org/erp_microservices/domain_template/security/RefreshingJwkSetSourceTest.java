@@ -0,0 +1,272 @@
+package org.erp_microservices.domain_template.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("Refreshing JWK Set Source Tests")
+class RefreshingJwkSetSourceTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicReference<String> jwksBody = new AtomicReference<>();
+    private final AtomicReference<String> cacheControl = new AtomicReference<>();
+    private final AtomicInteger status = new AtomicInteger(200);
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwksProperties properties;
+    private RefreshingJwkSetSource jwkSetSource;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jwks", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = jwksBody.get().getBytes(StandardCharsets.UTF_8);
+            if (cacheControl.get() != null) {
+                exchange.getResponseHeaders().add("Cache-Control", cacheControl.get());
+            }
+            exchange.sendResponseHeaders(status.get(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new JwksProperties();
+        properties.setMinimumRefetchInterval(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (jwkSetSource != null) {
+            jwkSetSource.destroy();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should not fetch keys until the first token is verified")
+    void decode_shouldFetchKeysLazilyOnce() throws Exception {
+        // Given
+        RSAKey key = generateKey("key-1");
+        publish(key);
+        JwtDecoder decoder = decoder();
+
+        // Then
+        assertThat(requests.get()).isZero();
+
+        // When
+        Jwt first = decoder.decode(sign(key, "user1"));
+        Jwt second = decoder.decode(sign(key, "user2"));
+
+        // Then
+        assertThat(first.getSubject()).isEqualTo("user1");
+        assertThat(second.getSubject()).isEqualTo("user2");
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refetch once when a token names an unknown kid")
+    void decode_withRotatedKey_shouldRefetchOnce() throws Exception {
+        // Given
+        RSAKey oldKey = generateKey("key-1");
+        RSAKey newKey = generateKey("key-2");
+        publish(oldKey);
+        properties.setMinimumRefetchInterval(Duration.ZERO);
+        JwtDecoder decoder = decoder();
+        decoder.decode(sign(oldKey, "user1"));
+
+        // When
+        publish(oldKey, newKey);
+        Jwt jwt = decoder.decode(sign(newKey, "user2"));
+
+        // Then
+        assertThat(jwt.getSubject()).isEqualTo("user2");
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should rate limit refetches for unknown kids")
+    void decode_withUnknownKids_shouldNotRefetchWithinMinimumInterval() throws Exception {
+        // Given
+        RSAKey knownKey = generateKey("key-1");
+        RSAKey unknownKey = generateKey("key-2");
+        publish(knownKey);
+        JwtDecoder decoder = decoder();
+        decoder.decode(sign(knownKey, "user1"));
+
+        // When / Then
+        assertThatThrownBy(() -> decoder.decode(sign(unknownKey, "user2"))).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> decoder.decode(sign(unknownKey, "user3"))).isInstanceOf(JwtException.class);
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refresh keys in the background before they expire")
+    void refresh_shouldRunInBackgroundBeforeExpiry() throws Exception {
+        // Given
+        RSAKey oldKey = generateKey("key-1");
+        RSAKey newKey = generateKey("key-2");
+        publish(oldKey);
+        cacheControl.set("public, max-age=1");
+        properties.setRefreshAhead(Duration.ofMillis(500));
+        properties.setMinimumRefetchInterval(Duration.ofMillis(100));
+        JwtDecoder decoder = decoder();
+        decoder.decode(sign(oldKey, "user1"));
+
+        // When
+        publish(newKey);
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> requests.get() >= 2);
+        properties.setMinimumRefetchInterval(Duration.ofMinutes(1));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(decoder.decode(sign(newKey, "user2")).getSubject()).isEqualTo("user2"));
+    }
+
+    @Test
+    @DisplayName("Should keep the previous keys when a refresh fails")
+    void refresh_whenIssuerFails_shouldKeepPreviousKeys() throws Exception {
+        // Given
+        RSAKey key = generateKey("key-1");
+        publish(key);
+        JwtDecoder decoder = decoder();
+        decoder.decode(sign(key, "user1"));
+
+        // When
+        status.set(503);
+        assertThat(jwkSetSource.refresh("test").get()).isNull();
+
+        // Then
+        assertThat(decoder.decode(sign(key, "user2")).getSubject()).isEqualTo("user2");
+    }
+
+    @Test
+    @DisplayName("Should reject tokens when the keys cannot be loaded")
+    void decode_whenIssuerUnavailable_shouldReject() throws Exception {
+        // Given
+        RSAKey key = generateKey("key-1");
+        publish(key);
+        status.set(503);
+        JwtDecoder decoder = decoder();
+
+        // When / Then
+        assertThatThrownBy(() -> decoder.decode(sign(key, "user1"))).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should cap an oversized max-age instead of failing to parse it")
+    void maxAge_withOversizedValue_shouldCap() {
+        // When / Then
+        assertThat(RefreshingJwkSetSource.maxAge("public, max-age=300")).contains(Duration.ofMinutes(5));
+        assertThat(RefreshingJwkSetSource.maxAge("max-age=99999999999999999999"))
+                .contains(RefreshingJwkSetSource.MAX_AGE_LIMIT);
+        assertThat(RefreshingJwkSetSource.maxAge("max-age=9999999999"))
+                .contains(RefreshingJwkSetSource.MAX_AGE_LIMIT);
+        assertThat(RefreshingJwkSetSource.maxAge("no-cache")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve keys published with an oversized max-age")
+    void decode_withOversizedMaxAge_shouldServeKeys() throws Exception {
+        // Given
+        RSAKey key = generateKey("key-1");
+        publish(key);
+        cacheControl.set("public, max-age=99999999999999999999");
+        JwtDecoder decoder = decoder();
+
+        // When
+        Jwt jwt = decoder.decode(sign(key, "user1"));
+
+        // Then
+        assertThat(jwt.getSubject()).isEqualTo("user1");
+        assertThat(meterRegistry.get(RefreshingJwkSetSource.REFRESH_TIMER)
+                .tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record refresh timings")
+    void decode_shouldRecordRefreshTimings() throws Exception {
+        // Given
+        RSAKey key = generateKey("key-1");
+        publish(key);
+        JwtDecoder decoder = decoder();
+
+        // When
+        decoder.decode(sign(key, "user1"));
+
+        // Then
+        assertThat(meterRegistry.get(RefreshingJwkSetSource.REFRESH_TIMER)
+                .tag("trigger", "initial")
+                .tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwks.keys").gauge().value()).isEqualTo(1.0);
+    }
+
+    private JwtDecoder decoder() {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/jwks");
+        jwkSetSource = new RefreshingJwkSetSource(uri, properties, meterRegistry);
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSetSource));
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+        return new NimbusJwtDecoder(processor);
+    }
+
+    private void publish(RSAKey... keys) {
+        jwksBody.set(new JWKSet(List.of(keys)).toPublicJWKSet().toString());
+    }
+
+    private RSAKey generateKey(String keyId) throws JOSEException {
+        return new RSAKeyGenerator(2048).keyID(keyId).generate();
+    }
+
+    private String sign(RSAKey key, String subject) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .subject(subject)
+                        .issueTime(new Date())
+                        .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+                        .build());
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
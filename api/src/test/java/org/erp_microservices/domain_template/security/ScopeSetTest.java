@@ -0,0 +1,95 @@
+package org.erp_microservices.domain_template.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Scope Set Tests")
+class ScopeSetTest {
+
+    @Test
+    @DisplayName("Should parse a space-delimited scope claim")
+    void parse_withSpaceDelimitedScopes_shouldContainEachScope() {
+        // When
+        ScopeSet scopes = ScopeSet.parse(" read  write\tadmin ");
+
+        // Then
+        assertThat(scopes.asSet()).containsExactly("read", "write", "admin");
+        assertThat(scopes.contains("read")).isTrue();
+        assertThat(scopes.contains("admin")).isTrue();
+        assertThat(scopes.contains("delete")).isFalse();
+        assertThat(scopes.contains(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return the empty set for a missing scope claim")
+    void parse_withBlankClaim_shouldBeEmpty() {
+        assertThat(ScopeSet.parse(null)).isSameAs(ScopeSet.EMPTY);
+        assertThat(ScopeSet.parse("  ")).isSameAs(ScopeSet.EMPTY);
+        assertThat(ScopeSet.EMPTY.contains("read")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should read scopes from the scope or scp claim")
+    void fromJwt_shouldReadScopeOrScpClaim() {
+        // Given
+        Jwt withScope = createJwt("scope", "read write");
+        Jwt withScp = createJwt("scp", List.of("read", "admin"));
+
+        // When / Then
+        assertThat(ScopeSet.fromJwt(withScope).asSet()).containsExactly("read", "write");
+        assertThat(ScopeSet.fromJwt(withScp).asSet()).containsExactly("read", "admin");
+        assertThat(ScopeSet.fromJwt(createJwt("other", "x"))).isSameAs(ScopeSet.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Should match any or all of the given scopes")
+    void containsAnyAndAll_withNames_shouldMatch() {
+        // Given
+        ScopeSet scopes = ScopeSet.of("read", "write");
+
+        // When / Then
+        assertThat(scopes.containsAny("admin", "write")).isTrue();
+        assertThat(scopes.containsAny("admin", "delete")).isFalse();
+        assertThat(scopes.containsAll("read", "write")).isTrue();
+        assertThat(scopes.containsAll("read", "admin")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match precompiled scope sets")
+    void containsAnyAndAll_withPrecompiledSets_shouldMatch() {
+        // Given
+        ScopeSet scopes = ScopeSet.of("read", "write");
+
+        // When / Then
+        assertThat(scopes.containsAny(ScopeSet.of("admin", "write"))).isTrue();
+        assertThat(scopes.containsAny(ScopeSet.of("admin"))).isFalse();
+        assertThat(scopes.containsAll(ScopeSet.of("write", "read"))).isTrue();
+        assertThat(scopes.containsAll(ScopeSet.of("read", "admin"))).isFalse();
+        assertThat(scopes.containsAll(ScopeSet.EMPTY)).isTrue();
+        assertThat(ScopeSet.EMPTY.containsAll(scopes)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should compare by scope names")
+    void equals_shouldCompareScopeNames() {
+        assertThat(ScopeSet.of("read", "write")).isEqualTo(ScopeSet.parse("read write"));
+        assertThat(ScopeSet.of("read", "write")).hasSameHashCodeAs(ScopeSet.parse("read write"));
+        assertThat(ScopeSet.of("read")).isNotEqualTo(ScopeSet.of("write"));
+    }
+
+    private Jwt createJwt(String claim, Object value) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("sub", "user123")
+                .claim(claim, value)
+                .issuedAt(Instant.now().minusSeconds(60))
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package org.erp_microservices.domain_template.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Scoped JWT Authentication Converter Tests")
+class ScopedJwtAuthenticationConverterTest {
+
+    private final ScopedJwtAuthenticationConverter converter = new ScopedJwtAuthenticationConverter();
+
+    @Test
+    @DisplayName("Should store parsed scopes and scope authorities on the authentication")
+    void convert_shouldStoreScopesAndAuthorities() {
+        // Given
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("sub", "user123")
+                .claim("scope", "read write")
+                .issuedAt(Instant.now().minusSeconds(60))
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+
+        // When
+        AbstractAuthenticationToken authentication = converter.convert(jwt);
+
+        // Then
+        assertThat(authentication).isInstanceOf(ScopedJwtAuthenticationToken.class);
+        assertThat(authentication.getName()).isEqualTo("user123");
+        assertThat(authentication.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("SCOPE_read", "SCOPE_write");
+        assertThat(((ScopedJwtAuthenticationToken) authentication).getScopes().asSet())
+                .containsExactly("read", "write");
+    }
+}
@@ -0,0 +1,205 @@
+package org.erp_microservices.domain_template.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Verified JWT Cache Tests")
+class VerifiedJwtCacheTest {
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new TokenCacheProperties();
+    }
+
+    @Test
+    @DisplayName("Should reuse the decoded JWT for the same token")
+    void decode_withSameToken_shouldDecodeOnce() {
+        // Given
+        VerifiedJwtCache cache = new VerifiedJwtCache(properties, meterRegistry);
+        Jwt jwt = createJwt(Instant.now().plusSeconds(3600));
+        when(jwtDecoder.decode("token")).thenReturn(jwt);
+
+        // When
+        VerifiedToken first = cache.decode("token", jwtDecoder);
+        VerifiedToken second = cache.decode("token", jwtDecoder);
+
+        // Then
+        assertThat(first.jwt()).isSameAs(jwt);
+        assertThat(second).isSameAs(first);
+        assertThat(first.scopes().asSet()).containsExactly("read", "write");
+        verify(jwtDecoder, times(1)).decode("token");
+    }
+
+    @Test
+    @DisplayName("Should decode again once the token's exp has passed")
+    void decode_withExpiredToken_shouldNotBeCached() {
+        // Given
+        VerifiedJwtCache cache = new VerifiedJwtCache(properties, meterRegistry);
+        Jwt jwt = createJwt(Instant.now().minusSeconds(1));
+        when(jwtDecoder.decode("token")).thenReturn(jwt);
+
+        // When
+        cache.decode("token", jwtDecoder);
+        cache.decode("token", jwtDecoder);
+
+        // Then
+        verify(jwtDecoder, times(2)).decode("token");
+    }
+
+    @Test
+    @DisplayName("Should rethrow a cached rejection without decoding again")
+    void decode_withRejectedToken_shouldCacheRejection() {
+        // Given
+        VerifiedJwtCache cache = new VerifiedJwtCache(properties, meterRegistry);
+        when(jwtDecoder.decode("bad")).thenThrow(new BadJwtException("Invalid token"));
+
+        // When / Then
+        assertThatThrownBy(() -> cache.decode("bad", jwtDecoder)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> cache.decode("bad", jwtDecoder)).isInstanceOf(JwtException.class);
+        verify(jwtDecoder, times(1)).decode("bad");
+    }
+
+    @Test
+    @DisplayName("Should decode again once the negative TTL has passed")
+    void decode_withZeroNegativeTtl_shouldRetryRejectedToken() {
+        // Given
+        properties.setNegativeTtl(Duration.ZERO);
+        VerifiedJwtCache cache = new VerifiedJwtCache(properties, meterRegistry);
+        when(jwtDecoder.decode("bad")).thenThrow(new BadJwtException("Invalid token"));
+
+        // When
+        assertThatThrownBy(() -> cache.decode("bad", jwtDecoder)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> cache.decode("bad", jwtDecoder)).isInstanceOf(JwtException.class);
+
+        // Then
+        verify(jwtDecoder, times(2)).decode("bad");
+    }
+
+    @Test
+    @DisplayName("Should not remember a token that failed because the JWK set could not be read")
+    void decode_whenKeySourceFails_shouldNotCacheRejection() throws Exception {
+        // Given
+        RSAKey key = new RSAKeyGenerator(2048).keyID("key-1").generate();
+        SignedJWT signed = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("key-1").build(),
+                new JWTClaimsSet.Builder().subject("user123")
+                        .expirationTime(Date.from(Instant.now().plusSeconds(3600))).build());
+        signed.sign(new RSASSASigner(key));
+        String token = signed.serialize();
+
+        AtomicBoolean issuerDown = new AtomicBoolean(true);
+        JWKSource<SecurityContext> keySource = (selector, context) -> {
+            if (issuerDown.get()) {
+                throw new KeySourceException("JWK set unreachable");
+            }
+            return selector.select(new JWKSet(key.toPublicJWK()));
+        };
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keySource));
+        JwtDecoder decoder = new NimbusJwtDecoder(processor);
+        VerifiedJwtCache cache = new VerifiedJwtCache(properties, meterRegistry);
+
+        // When
+        Throwable outage = catchThrowable(() -> cache.decode(token, decoder));
+        issuerDown.set(false);
+        VerifiedToken recovered = cache.decode(token, decoder);
+
+        // Then
+        assertThat(outage).isInstanceOf(JwtException.class).isNotInstanceOf(BadJwtException.class);
+        assertThat(recovered.jwt().getSubject()).isEqualTo("user123");
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void decode_whenDisabled_shouldAlwaysDecode() {
+        // Given
+        properties.setEnabled(false);
+        VerifiedJwtCache cache = new VerifiedJwtCache(properties, meterRegistry);
+        when(jwtDecoder.decode("token")).thenReturn(createJwt(Instant.now().plusSeconds(3600)));
+
+        // When
+        cache.decode("token", jwtDecoder);
+        cache.decode("token", jwtDecoder);
+
+        // Then
+        verify(jwtDecoder, times(2)).decode("token");
+        assertThat(cache.getIfPresent("token")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should record hit and miss metrics")
+    void decode_shouldRecordHitAndMissMetrics() {
+        // Given
+        VerifiedJwtCache cache = new VerifiedJwtCache(properties, meterRegistry);
+        when(jwtDecoder.decode("token")).thenReturn(createJwt(Instant.now().plusSeconds(3600)));
+
+        // When
+        cache.decode("token", jwtDecoder);
+        cache.decode("token", jwtDecoder);
+
+        // Then
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", VerifiedJwtCache.VERIFIED_CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", VerifiedJwtCache.VERIFIED_CACHE_NAME)
+                .tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should key entries by a SHA-256 digest of the token")
+    void digest_shouldBeStableHexSha256() {
+        assertThat(VerifiedJwtCache.digest("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    private Jwt createJwt(Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("sub", "user123")
+                .claim("scope", "read write")
+                .issuedAt(Instant.now().minusSeconds(7200))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
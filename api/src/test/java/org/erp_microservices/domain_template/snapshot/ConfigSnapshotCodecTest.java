@@ -0,0 +1,95 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Config Snapshot Codec Tests")
+class ConfigSnapshotCodecTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final ConfigSnapshotCodec codec = ConfigSnapshotCodec.fromKey(KEY);
+
+    private final ConfigSnapshot snapshot = new ConfigSnapshot(Instant.now().truncatedTo(ChronoUnit.MILLIS), Map.of(
+            "spring.datasource.password", "s3cret=with:separators",
+            "app.cache.key-prefix", "domain-template"));
+
+    @Test
+    @DisplayName("Should read back what it sealed")
+    void open_withSealedSnapshot_shouldReturnSameProperties() throws GeneralSecurityException {
+        // When
+        ConfigSnapshot opened = codec.open(codec.seal(snapshot));
+
+        // Then
+        assertThat(opened).isEqualTo(snapshot);
+    }
+
+    @Test
+    @DisplayName("Should not leave property values readable in the sealed bytes")
+    void seal_withSecret_shouldEncryptIt() {
+        // When
+        String sealed = new String(codec.seal(snapshot), StandardCharsets.ISO_8859_1);
+
+        // Then
+        assertThat(sealed).doesNotContain("s3cret").doesNotContain("spring.datasource");
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot sealed with another key")
+    void open_withOtherKey_shouldThrow() {
+        // Given
+        byte[] otherKey = new byte[32];
+        Arrays.fill(otherKey, (byte) 1);
+        byte[] sealed = new ConfigSnapshotCodec(otherKey).seal(snapshot);
+
+        // When / Then
+        assertThatThrownBy(() -> codec.open(sealed))
+                .isInstanceOf(GeneralSecurityException.class)
+                .hasMessageContaining("signature");
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot altered after it was sealed")
+    void open_withAlteredByte_shouldThrow() {
+        // Given
+        byte[] sealed = codec.seal(snapshot);
+        sealed[sealed.length / 2] ^= 1;
+
+        // When / Then
+        assertThatThrownBy(() -> codec.open(sealed)).isInstanceOf(GeneralSecurityException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a truncated snapshot")
+    void open_withTruncatedSnapshot_shouldThrow() {
+        // Given
+        byte[] sealed = Arrays.copyOf(codec.seal(snapshot), 40);
+
+        // When / Then
+        assertThatThrownBy(() -> codec.open(sealed)).isInstanceOf(GeneralSecurityException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse a key shorter than 256 bits")
+    void fromKey_withShortKey_shouldThrow() {
+        // Given
+        String shortKey = Base64.getEncoder().encodeToString(new byte[16]);
+
+        // When / Then
+        assertThatThrownBy(() -> ConfigSnapshotCodec.fromKey(shortKey))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ConfigSnapshotCodec.fromKey(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("app.config-snapshot.key");
+    }
+}
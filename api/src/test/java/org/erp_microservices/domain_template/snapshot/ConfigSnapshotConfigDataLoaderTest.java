@@ -0,0 +1,179 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.config.ConfigDataResourceNotFoundException;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Config Snapshot Config Data Loader Tests")
+class ConfigSnapshotConfigDataLoaderTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @TempDir
+    Path directory;
+
+    private Path snapshotFile;
+
+    @BeforeEach
+    void setUp() {
+        snapshotFile = directory.resolve("config.snapshot");
+    }
+
+    @Test
+    @DisplayName("Should start with the snapshot's properties in the environment")
+    void import_withSnapshot_shouldAddItsProperties() throws Exception {
+        // Given
+        write(Map.of("spring.datasource.password", "from-snapshot"));
+
+        // When
+        try (ConfigurableApplicationContext context = start(importing(snapshotFile))) {
+            // Then
+            ConfigurableEnvironment environment = context.getEnvironment();
+            assertThat(environment.getProperty("spring.datasource.password")).isEqualTo("from-snapshot");
+            assertThat(environment.getPropertySources().contains(ConfigSnapshot.PROPERTY_SOURCE_NAME)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should import the snapshot named by the config-snapshot profile")
+    void profile_withSnapshot_shouldImportIt() throws Exception {
+        // Given
+        write(Map.of("spring.datasource.password", "from-snapshot"));
+
+        // When
+        try (ConfigurableApplicationContext context = start("--spring.profiles.active=config-snapshot",
+                "--app.config-snapshot.path=" + snapshotFile)) {
+            // Then
+            assertThat(context.getEnvironment().getProperty("spring.datasource.password")).isEqualTo("from-snapshot");
+        }
+    }
+
+    @Test
+    @DisplayName("Should start without a snapshot when none has been written yet and there is no fallback")
+    void import_withoutSnapshot_shouldStartWithoutIt() {
+        // When
+        try (ConfigurableApplicationContext context = start(importing(snapshotFile))) {
+            // Then
+            assertThat(context.getEnvironment().getPropertySources().contains(ConfigSnapshot.PROPERTY_SOURCE_NAME))
+                    .isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should import the fallback, leaving out disabled clients, when no snapshot has been written yet")
+    void import_withoutSnapshot_shouldImportFallback() throws Exception {
+        // Given
+        Path remote = Files.writeString(directory.resolve("remote.properties"), "spring.datasource.password=remote");
+
+        // When
+        try (ConfigurableApplicationContext context = start(importing(snapshotFile),
+                "--app.config-snapshot.fallback-import=configserver:,file:" + remote)) {
+            // Then
+            ConfigurableEnvironment environment = context.getEnvironment();
+            assertThat(environment.getProperty("spring.datasource.password")).isEqualTo("remote");
+            assertThat(environment.getPropertySources().contains(ConfigSnapshot.PROPERTY_SOURCE_NAME)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail to start when the fallback cannot be imported")
+    void import_withoutSnapshotAndUnavailableFallback_shouldFailToStart() {
+        // When / Then
+        assertThatThrownBy(() -> start(importing(snapshotFile),
+                "--app.config-snapshot.fallback-import=file:" + directory.resolve("missing.properties")))
+                .isInstanceOf(ConfigDataResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should not use a snapshot that fails verification")
+    void import_withTamperedSnapshot_shouldIgnoreIt() throws Exception {
+        // Given
+        write(Map.of("spring.datasource.password", "from-snapshot"));
+        tamper();
+
+        // When
+        try (ConfigurableApplicationContext context = start(importing(snapshotFile))) {
+            // Then
+            assertThat(context.getEnvironment().getProperty("spring.datasource.password"))
+                    .isNotEqualTo("from-snapshot");
+        }
+    }
+
+    @Test
+    @DisplayName("Should import the fallback in place of a snapshot that fails verification")
+    void import_withTamperedSnapshot_shouldImportFallback() throws Exception {
+        // Given
+        write(Map.of("spring.datasource.password", "from-snapshot"));
+        tamper();
+        Path remote = Files.writeString(directory.resolve("remote.properties"), "spring.datasource.password=remote");
+
+        // When
+        try (ConfigurableApplicationContext context = start(importing(snapshotFile),
+                "--app.config-snapshot.fallback-import=file:" + remote)) {
+            // Then
+            assertThat(context.getEnvironment().getProperty("spring.datasource.password")).isEqualTo("remote");
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse to start from a snapshot with Spring AOT, which leaves out its refresher")
+    void import_withAotEnabled_shouldFailToStart() throws Exception {
+        // Given
+        write(Map.of("spring.datasource.password", "from-snapshot"));
+        System.setProperty(AotDetector.AOT_ENABLED, "true");
+
+        try {
+            // When / Then
+            assertThatThrownBy(() -> start(importing(snapshotFile)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Spring AOT");
+        } finally {
+            System.clearProperty(AotDetector.AOT_ENABLED);
+        }
+    }
+
+    private static String importing(Path file) {
+        return "--spring.config.import=optional:snapshot:" + file;
+    }
+
+    private void tamper() throws Exception {
+        byte[] sealed = Files.readAllBytes(snapshotFile);
+        sealed[sealed.length - 1] ^= 1;
+        Files.write(snapshotFile, sealed);
+    }
+
+    private void write(Map<String, String> properties) throws Exception {
+        new ConfigSnapshotStore(snapshotFile, ConfigSnapshotCodec.fromKey(KEY))
+                .write(new ConfigSnapshot(Instant.now(), properties));
+    }
+
+    private ConfigurableApplicationContext start(String... args) {
+        // Passed as arguments so that they override the profile's CONFIG_SNAPSHOT_KEY placeholder
+        String[] arguments = Stream.concat(Stream.of("--spring.cloud.config.enabled=false",
+                "--app.config-snapshot.key=" + KEY), Stream.of(args)).toArray(String[]::new);
+        return new SpringApplicationBuilder(EmptyConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class EmptyConfiguration {
+    }
+}
@@ -0,0 +1,180 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.env.RandomValuePropertySource;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Config Snapshot Refresher Tests")
+class ConfigSnapshotRefresherTest {
+
+    private static final String CONFIG_FILE = "Config resource 'class path resource [application.yml]'";
+
+    @TempDir
+    Path directory;
+
+    private final AtomicReference<Map<String, String>> remote = new AtomicReference<>();
+    private final List<Object> events = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StandardEnvironment environment = new StandardEnvironment();
+
+    private ConfigSnapshotStore store;
+    private ConfigSnapshotRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        store = new ConfigSnapshotStore(directory.resolve("config.snapshot"),
+                ConfigSnapshotCodec.fromKey(Base64.getEncoder().encodeToString(new byte[32])));
+        environment.getPropertySources().addLast(
+                new MapPropertySource(CONFIG_FILE, Map.of("app.cache.key-prefix", "file")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.destroy();
+    }
+
+    @Test
+    @DisplayName("Should write the snapshot and publish the changed keys when the remote properties change")
+    void refresh_withChangedProperties_shouldWriteSnapshotAndPublishChangedKeys() throws Exception {
+        // Given
+        startedFrom(Map.of("app.cache.key-prefix", "snapshot", "spring.datasource.password", "old"));
+        remote.set(Map.of("app.cache.key-prefix", "snapshot", "spring.datasource.password", "new"));
+
+        // When
+        boolean changed = refresher.refresh();
+
+        // Then
+        assertThat(changed).isTrue();
+        assertThat(environment.getProperty("spring.datasource.password")).isEqualTo("new");
+        assertThat(store.read()).get().extracting(ConfigSnapshot::properties).isEqualTo(remote.get());
+        assertThat(events).singleElement()
+                .isInstanceOfSatisfying(EnvironmentChangeEvent.class,
+                        event -> assertThat(event.getKeys()).containsExactly("spring.datasource.password"));
+        assertThat(meterRegistry.get(ConfigSnapshotRefresher.REFRESH_TIMER).tag("outcome", "changed").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should change nothing when the remote properties are the ones in use")
+    void refresh_withUnchangedProperties_shouldNotPublish() {
+        // Given
+        startedFrom(Map.of("app.cache.key-prefix", "snapshot"));
+        remote.set(Map.of("app.cache.key-prefix", "snapshot"));
+
+        // When
+        boolean changed = refresher.refresh();
+
+        // Then
+        assertThat(changed).isFalse();
+        assertThat(store.getPath()).doesNotExist();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the snapshot in use when a source cannot be read")
+    void refresh_whenSourceFails_shouldKeepCurrentSnapshot() {
+        // Given
+        startedFrom(Map.of("spring.datasource.password", "old"));
+        remote.set(null);
+
+        // When
+        boolean changed = refresher.refresh();
+
+        // Then
+        assertThat(changed).isFalse();
+        assertThat(environment.getProperty("spring.datasource.password")).isEqualTo("old");
+        assertThat(store.getPath()).doesNotExist();
+        assertThat(events).isEmpty();
+        assertThat(meterRegistry.get(ConfigSnapshotRefresher.REFRESH_TIMER).tag("outcome", "failure").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rank a first snapshot above the application's own files")
+    void refresh_withoutSnapshotAtStartup_shouldAddItAboveConfigFiles() throws Exception {
+        // Given
+        refresher = newRefresher();
+        remote.set(Map.of("app.cache.key-prefix", "remote"));
+
+        // When
+        refresher.refresh();
+
+        // Then
+        assertThat(environment.getProperty("app.cache.key-prefix")).isEqualTo("remote");
+        assertThat(store.read()).get().extracting(ConfigSnapshot::createdAt)
+                .satisfies(createdAt -> assertThat(createdAt).isBeforeOrEqualTo(Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Should write the first fetch after a start that imported the fallback, and rank it above it")
+    void refresh_afterFallbackImport_shouldWriteSnapshotAndRankItAboveImport() throws Exception {
+        // Given
+        RandomValuePropertySource.addToEnvironment(environment);
+        environment.getPropertySources().addBefore(CONFIG_FILE,
+                new MapPropertySource("configserver:remote", Map.of("app.cache.key-prefix", "remote")));
+        refresher = newRefresher();
+        remote.set(Map.of("app.cache.key-prefix", "remote"));
+
+        // When
+        boolean changed = refresher.refresh();
+
+        // Then
+        assertThat(changed).isFalse();
+        assertThat(store.read()).get().extracting(ConfigSnapshot::properties).isEqualTo(remote.get());
+        assertThat(events).isEmpty();
+
+        // When
+        remote.set(Map.of("app.cache.key-prefix", "changed"));
+        changed = refresher.refresh();
+
+        // Then
+        assertThat(changed).isTrue();
+        assertThat(environment.getProperty("app.cache.key-prefix")).isEqualTo("changed");
+        assertThat(events).singleElement()
+                .isInstanceOfSatisfying(EnvironmentChangeEvent.class,
+                        event -> assertThat(event.getKeys()).containsExactly("app.cache.key-prefix"));
+    }
+
+    private void startedFrom(Map<String, Object> snapshot) {
+        environment.getPropertySources().addFirst(new MapPropertySource(ConfigSnapshot.PROPERTY_SOURCE_NAME, snapshot));
+        refresher = newRefresher();
+    }
+
+    private ConfigSnapshotRefresher newRefresher() {
+        SnapshotSource source = new SnapshotSource() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public Map<String, String> fetch() {
+                Map<String, String> properties = remote.get();
+                if (properties == null) {
+                    throw new IllegalStateException("unreachable");
+                }
+                return properties;
+            }
+        };
+        return new ConfigSnapshotRefresher(store, List.of(source), Duration.ofMinutes(5),
+                environment, events::add, null, meterRegistry);
+    }
+}
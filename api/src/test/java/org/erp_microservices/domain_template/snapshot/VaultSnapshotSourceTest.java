@@ -0,0 +1,127 @@
+package org.erp_microservices.domain_template.snapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.vault.authentication.TokenAuthentication;
+import org.springframework.vault.client.VaultEndpoint;
+import org.springframework.vault.core.VaultTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.vault.VaultContainer;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Testcontainers
+@Tag("integration")
+@DisplayName("Vault Snapshot Source Integration Tests")
+class VaultSnapshotSourceTest {
+
+    private static final String TOKEN = "snapshot-test-token";
+
+    @Container
+    static final VaultContainer<?> VAULT = new VaultContainer<>("hashicorp/vault:1.15")
+            .withVaultToken(TOKEN)
+            .withInitCommand(
+                    "kv put secret/domain-template-api spring.datasource.password=s3cret app.cache.key-prefix=vault",
+                    "kv put secret/shared redis.password=r3dis");
+
+    @TempDir
+    Path directory;
+
+    private VaultSnapshotSource source;
+    private ConfigSnapshotStore store;
+    private ConfigSnapshotRefresher refresher;
+    private final List<Object> events = new ArrayList<>();
+    private final StandardEnvironment environment = new StandardEnvironment();
+
+    @BeforeEach
+    void setUp() {
+        VaultTemplate vault = new VaultTemplate(VaultEndpoint.from(URI.create(VAULT.getHttpHostAddress())),
+                new TokenAuthentication(TOKEN));
+        source = new VaultSnapshotSource(vault, "secret", List.of("shared", "domain-template-api", "missing"));
+        store = new ConfigSnapshotStore(directory.resolve("config.snapshot"),
+                ConfigSnapshotCodec.fromKey(Base64.getEncoder().encodeToString(new byte[32])));
+        refresher = new ConfigSnapshotRefresher(store, List.of(source), Duration.ofMinutes(5),
+                environment, events::add, null, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        refresher.destroy();
+        VAULT.execInContainer("vault", "kv", "put", "secret/domain-template-api",
+                "spring.datasource.password=s3cret", "app.cache.key-prefix=vault");
+    }
+
+    @Test
+    @DisplayName("Should read the secrets at every path and skip paths without one")
+    void fetch_withSecretPaths_shouldReturnTheirProperties() {
+        // When
+        Map<String, String> properties = source.fetch();
+
+        // Then
+        assertThat(properties).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "redis.password", "r3dis",
+                "spring.datasource.password", "s3cret",
+                "app.cache.key-prefix", "vault"));
+    }
+
+    @Test
+    @DisplayName("Should snapshot the secrets, then pick up a rotated one on the next refresh")
+    void refresh_withRotatedSecret_shouldUpdateSnapshotAndPublishKey() throws Exception {
+        // Given
+        refresher.refresh();
+        events.clear();
+        VAULT.execInContainer("vault", "kv", "patch", "secret/domain-template-api",
+                "spring.datasource.password=rotated");
+
+        // When
+        boolean changed = refresher.refresh();
+
+        // Then
+        assertThat(changed).isTrue();
+        assertThat(environment.getProperty("spring.datasource.password")).isEqualTo("rotated");
+        assertThat(store.read()).get()
+                .extracting(snapshot -> snapshot.properties().get("spring.datasource.password"))
+                .isEqualTo("rotated");
+        assertThat(events).singleElement()
+                .isInstanceOfSatisfying(EnvironmentChangeEvent.class,
+                        event -> assertThat(event.getKeys()).containsExactly("spring.datasource.password"));
+    }
+
+    @Test
+    @DisplayName("Should keep the snapshot in use while Vault rejects the token")
+    void refresh_withRejectedToken_shouldKeepSnapshot() throws Exception {
+        // Given
+        refresher.refresh();
+        VaultTemplate unauthorized = new VaultTemplate(VaultEndpoint.from(URI.create(VAULT.getHttpHostAddress())),
+                new TokenAuthentication("not-the-token"));
+        ConfigSnapshotRefresher rejected = new ConfigSnapshotRefresher(store,
+                List.of(new VaultSnapshotSource(unauthorized, "secret", List.of("domain-template-api"))),
+                Duration.ofMinutes(5), environment, events::add, null, new SimpleMeterRegistry());
+
+        // When
+        boolean changed = rejected.refresh();
+        rejected.destroy();
+
+        // Then
+        assertThat(changed).isFalse();
+        assertThat(environment.getProperty("spring.datasource.password")).isEqualTo("s3cret");
+        assertThat(store.read()).get().extracting(snapshot -> snapshot.properties().get("spring.datasource.password"))
+                .isEqualTo("s3cret");
+    }
+}
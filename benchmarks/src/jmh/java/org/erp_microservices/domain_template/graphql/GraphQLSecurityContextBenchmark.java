@@ -0,0 +1,80 @@
+package org.erp_microservices.domain_template.graphql;
+
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.erp_microservices.domain_template.security.ScopedJwtAuthenticationConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the caller through {@link GraphQLSecurityContext}, which goes to the
+ * {@code SecurityContextHolder} on every call, with using the {@link AuthenticatedPrincipal}
+ * snapshot that {@link PrincipalGraphQlInterceptor} stores once per request. The state is per
+ * thread, because the security context is a thread-local.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GraphQLSecurityContextBenchmark {
+
+    private GraphQLSecurityContext securityContext;
+    private AuthenticatedPrincipal stored;
+
+    @Setup
+    public void setUp() {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user123")
+                .claim("email", "user123@example.com")
+                .claim("roles", List.of("USER", "AUDITOR"))
+                .claim("scope", "openid profile email read write parties:read parties:write audit:read")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        SecurityContextHolder.setContext(new SecurityContextImpl(new ScopedJwtAuthenticationConverter().convert(jwt)));
+        securityContext = new GraphQLSecurityContext();
+        stored = securityContext.snapshot();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public AuthenticatedPrincipal snapshot() {
+        return securityContext.snapshot();
+    }
+
+    @Benchmark
+    public AuthenticatedPrincipal resolveStored() {
+        return securityContext.resolve(stored);
+    }
+
+    @Benchmark
+    public boolean hasScope() {
+        return securityContext.hasScope("parties:write");
+    }
+
+    @Benchmark
+    public boolean storedHasScope() {
+        return securityContext.resolve(stored).hasScope("parties:write");
+    }
+
+    @Benchmark
+    public String currentUser() {
+        return securityContext.getCurrentUser();
+    }
+}
@@ -0,0 +1,129 @@
+package org.erp_microservices.domain_template.graphql;
+
+import org.erp_microservices.domain_template.config.GraphQlMetricsConfig;
+import org.erp_microservices.domain_template.config.PersistedQueryConfig;
+import org.erp_microservices.domain_template.config.QueryLimitsConfig;
+import org.erp_microservices.domain_template.security.AuthenticatedPrincipal;
+import org.erp_microservices.domain_template.security.ScopedJwtAuthenticationConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.graphql.GraphQlAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes {@code healthCheck} and {@code currentUser} in-process through the
+ * {@link ExecutionGraphQlService}, with the application's schema and its instrumentation (query
+ * cost limits, metrics, persisted document cache) but without HTTP, security filters or a
+ * database. The caller is passed in the {@code GraphQLContext}, as
+ * {@link PrincipalGraphQlInterceptor} does for a web request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GraphQlExecutionBenchmark {
+
+    private static final String HEALTH_CHECK = "query HealthCheck { healthCheck }";
+    private static final String CURRENT_USER = "query CurrentUser { currentUser { username email roles } }";
+
+    private ConfigurableApplicationContext context;
+    private ExecutionGraphQlService graphQlService;
+    private AuthenticatedPrincipal principal;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(GraphQlBenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.cloud.config.enabled=false",
+                        "spring.cloud.vault.enabled=false",
+                        "spring.graphql.schema.inspection.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        graphQlService = context.getBean(ExecutionGraphQlService.class);
+
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user123")
+                .claim("email", "user123@example.com")
+                .claim("roles", List.of("USER", "AUDITOR"))
+                .claim("scope", "openid profile email read write parties:read parties:write audit:read")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        principal = AuthenticatedPrincipal.from(new ScopedJwtAuthenticationConverter().convert(jwt));
+
+        for (ExecutionGraphQlResponse response : List.of(healthCheck(), currentUser())) {
+            if (!response.isValid() || !response.getErrors().isEmpty()) {
+                throw new IllegalStateException("Benchmark query failed: " + response.getErrors());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ExecutionGraphQlResponse healthCheck() {
+        return execute(HEALTH_CHECK);
+    }
+
+    @Benchmark
+    public ExecutionGraphQlResponse currentUser() {
+        return execute(CURRENT_USER);
+    }
+
+    private ExecutionGraphQlResponse execute(String document) {
+        DefaultExecutionGraphQlRequest request =
+                new DefaultExecutionGraphQlRequest(document, null, null, null, "benchmark", Locale.ROOT);
+        request.configureExecutionInput((executionInput, builder) ->
+                builder.graphQLContext(Map.of(AuthenticatedPrincipal.CONTEXT_KEY, principal)).build());
+        return graphQlService.execute(request).block();
+    }
+
+    /**
+     * The GraphQL slice of the application: schema, resolvers that need no database, and the
+     * instrumentation every request goes through.
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({JacksonAutoConfiguration.class, GraphQlAutoConfiguration.class})
+    @Import({GraphQLSecurityContext.class, QueryResolver.class,
+            QueryLimitsConfig.class, GraphQlMetricsConfig.class, PersistedQueryConfig.class})
+    @EnableConfigurationProperties({QueryLimitsProperties.class, GraphQlMetricsProperties.class,
+            PersistedQueryProperties.class})
+    static class GraphQlBenchmarkConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
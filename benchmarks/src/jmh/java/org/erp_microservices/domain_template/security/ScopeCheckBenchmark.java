@@ -0,0 +1,72 @@
+package org.erp_microservices.domain_template.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous per-check {@code split(" ")} scope lookup with {@link ScopeSet}. Run with
+ * the {@code gc} profiler (enabled in the Gradle {@code jmh} block) and compare
+ * {@code gc.alloc.rate.norm}: the {@link ScopeSet} checks should report 0 B/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScopeCheckBenchmark {
+
+    private Jwt jwt;
+    private ScopeSet scopes;
+    private ScopeSet required;
+    private String present;
+    private String absent;
+
+    @Setup
+    public void setUp() {
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("sub", "user123")
+                .claim("scope", "openid profile email read write parties:read parties:write audit:read")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        scopes = ScopeSet.fromJwt(jwt);
+        required = ScopeSet.of("parties:read", "audit:read");
+        present = "parties:write";
+        absent = "admin";
+    }
+
+    @Benchmark
+    public boolean splitPerCheck() {
+        String claim = jwt.getClaimAsString("scope");
+        return Arrays.asList(claim.split(" ")).contains(present);
+    }
+
+    @Benchmark
+    public boolean scopeSetContains() {
+        return scopes.contains(present);
+    }
+
+    @Benchmark
+    public boolean scopeSetContainsMissing() {
+        return scopes.contains(absent);
+    }
+
+    @Benchmark
+    public boolean scopeSetContainsAllPrecompiled() {
+        return scopes.containsAll(required);
+    }
+
+    @Benchmark
+    public boolean scopeSetContainsAnyPrecompiled() {
+        return scopes.containsAny(required);
+    }
+}
@@ -0,0 +1,98 @@
+package org.erp_microservices.domain_template.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link OAuth2TokenValidationService#validateAll} against calling
+ * {@link OAuth2TokenValidationService#validateToken} in a loop. The verified-token cache is
+ * disabled so every distinct token pays for a real RS256 signature check in both variants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenBatchValidationBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int batchSize;
+
+    /**
+     * Percentage of the batch that repeats a token seen earlier in the same batch.
+     */
+    @Param({"0", "50"})
+    private int duplicatePercent;
+
+    private OAuth2TokenValidationService service;
+    private List<String> tokens;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException, JOSEException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        TokenCacheProperties cacheProperties = new TokenCacheProperties();
+        cacheProperties.setEnabled(false);
+        service = new OAuth2TokenValidationService(
+                NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build(),
+                new VerifiedJwtCache(cacheProperties, new SimpleMeterRegistry()),
+                new TokenBatchValidationProperties());
+
+        int distinct = Math.max(1, batchSize - batchSize * duplicatePercent / 100);
+        List<String> signed = new ArrayList<>(distinct);
+        RSASSASigner signer = new RSASSASigner(keyPair.getPrivate());
+        for (int i = 0; i < distinct; i++) {
+            SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), new JWTClaimsSet.Builder()
+                    .subject("user" + i)
+                    .claim("scope", "read write")
+                    .issueTime(new Date())
+                    .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+                    .build());
+            jwt.sign(signer);
+            signed.add(jwt.serialize());
+        }
+
+        tokens = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            tokens.add(signed.get(i % distinct));
+        }
+    }
+
+    @Benchmark
+    public void validateTokenLoop(Blackhole blackhole) {
+        for (String token : tokens) {
+            blackhole.consume(service.validateToken(token));
+        }
+    }
+
+    @Benchmark
+    public Map<String, TokenValidationResult> validateAll() {
+        return service.validateAll(tokens);
+    }
+}
@@ -0,0 +1,110 @@
+package org.erp_microservices.domain_template.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link OAuth2TokenValidationService#validateToken} and
+ * {@link OAuth2TokenValidationService#hasScope} for tokens signed with local RS256 and ES256 keys.
+ * The decoder is built the way {@code OAuth2SecurityConfig} builds it, against a JWK set holding
+ * both keys. With {@code cached=false} every call pays for the signature check; with
+ * {@code cached=true} the verified-token cache answers after the first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenValidationBenchmark {
+
+    private static final String ISSUER = "http://localhost:8180/default";
+
+    @Param({"RS256", "ES256"})
+    private String algorithm;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private OAuth2TokenValidationService service;
+    private String token;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        RSAKey rsaKey = new RSAKeyGenerator(2048).keyID("rsa").generate();
+        ECKey ecKey = new ECKeyGenerator(Curve.P_256).keyID("ec").generate();
+
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                Set.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256),
+                new ImmutableJWKSet<>(new JWKSet(List.of(rsaKey.toPublicJWK(), ecKey.toPublicJWK())))));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> { });
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+
+        TokenCacheProperties cacheProperties = new TokenCacheProperties();
+        cacheProperties.setEnabled(cached);
+        service = new OAuth2TokenValidationService(
+                jwtDecoder,
+                new VerifiedJwtCache(cacheProperties, new SimpleMeterRegistry()),
+                new TokenBatchValidationProperties());
+
+        JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(algorithm);
+        JWSSigner signer = JWSAlgorithm.ES256.equals(jwsAlgorithm) ? new ECDSASigner(ecKey) : new RSASSASigner(rsaKey);
+        String keyId = JWSAlgorithm.ES256.equals(jwsAlgorithm) ? ecKey.getKeyID() : rsaKey.getKeyID();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(jwsAlgorithm).keyID(keyId).build(),
+                new JWTClaimsSet.Builder()
+                        .issuer(ISSUER)
+                        .subject("user123")
+                        .claim("scope", "openid profile email read write parties:read parties:write audit:read")
+                        .issueTime(new Date())
+                        .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+                        .build());
+        jwt.sign(signer);
+        token = jwt.serialize();
+
+        if (!service.validateToken(token)) {
+            throw new IllegalStateException("The benchmark token does not validate");
+        }
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return service.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean hasScope() {
+        return service.hasScope(token, "parties:write");
+    }
+}
@@ -0,0 +1,30 @@
+package org.erp_microservices.domain_template.audit;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One committed change to a row, as written to {@code audit_log}. The value maps hold only strings,
+ * numbers and booleans, so an entry can be handed to another thread and serialized there.
+ */
+public record AuditEntry(
+        UUID id,
+        String tableName,
+        Operation operation,
+        Map<String, Object> oldValues,
+        Map<String, Object> newValues,
+        String changedBy,
+        OffsetDateTime changedAt) {
+
+    public enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE,
+        /**
+         * Only found in audit logs carried over from databases created by the former {@code init.sql},
+         * which wrote it once at creation. Nothing writes it now.
+         */
+        INIT
+    }
+}
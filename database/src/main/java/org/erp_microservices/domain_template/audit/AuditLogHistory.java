@@ -0,0 +1,96 @@
+package org.erp_microservices.domain_template.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads audit entries for a time range, newest first. The range is compared with the partition key
+ * as bound parameters, so PostgreSQL reads only the monthly partitions that overlap it, and within
+ * them the BRIN index on {@code changed_at} or the {@code (table_name, changed_at)} index.
+ */
+@Repository
+public class AuditLogHistory {
+
+    public static final Duration MAX_RANGE = Duration.ofDays(366);
+
+    private static final String FIND = """
+            SELECT id, table_name, operation, old_values, new_values, changed_by, changed_at
+            FROM audit_log
+            WHERE changed_at >= ? AND changed_at < ?
+            ORDER BY changed_at DESC, id DESC
+            LIMIT ?
+            """;
+
+    private static final String FIND_BY_TABLE = """
+            SELECT id, table_name, operation, old_values, new_values, changed_by, changed_at
+            FROM audit_log
+            WHERE changed_at >= ? AND changed_at < ? AND table_name = ?
+            ORDER BY changed_at DESC, id DESC
+            LIMIT ?
+            """;
+
+    private static final TypeReference<Map<String, Object>> VALUES = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogHistory(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns at most {@code limit} entries changed in {@code [from, to)}, optionally only those of
+     * one table.
+     *
+     * @throws org.springframework.dao.InvalidDataAccessApiUsageException translated from an
+     *         {@link IllegalArgumentException}, if the range is empty or longer than {@link #MAX_RANGE}
+     */
+    @Transactional(readOnly = true)
+    public List<AuditEntry> find(OffsetDateTime from, OffsetDateTime to, String tableName, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new IllegalArgumentException("The time range may span at most " + MAX_RANGE.toDays() + " days");
+        }
+        return tableName == null
+                ? jdbcTemplate.query(FIND, this::entry, from, to, limit)
+                : jdbcTemplate.query(FIND_BY_TABLE, this::entry, from, to, tableName, limit);
+    }
+
+    private AuditEntry entry(ResultSet rs, int row) throws SQLException {
+        return new AuditEntry(
+                rs.getObject("id", UUID.class),
+                rs.getString("table_name"),
+                AuditEntry.Operation.valueOf(rs.getString("operation")),
+                values(rs.getString("old_values")),
+                values(rs.getString("new_values")),
+                rs.getString("changed_by"),
+                rs.getObject("changed_at", OffsetDateTime.class));
+    }
+
+    private Map<String, Object> values(String json) throws SQLException {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, VALUES);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable audit values", e);
+        }
+    }
+}
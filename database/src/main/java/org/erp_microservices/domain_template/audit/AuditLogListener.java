@@ -0,0 +1,125 @@
+package org.erp_microservices.domain_template.audit;
+
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.data.domain.AuditorAware;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Turns entity inserts, updates and deletes into {@link AuditEntry audit entries} once Hibernate
+ * has committed them, and hands them to the {@link AuditLogWriter}; rolled back changes are never
+ * audited. Associations are recorded by id and collections are left out. Changes made without
+ * entity events, such as bulk JPQL statements and {@code COPY} imports, are not audited. Inserts made
+ * while a {@link BulkInsertAuditor} is auditing the thread are left to it, so that Hibernate does not
+ * hold on to every inserted row until the end of a bulk write.
+ */
+public class AuditLogListener
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final AuditLogWriter writer;
+    private final AuditorAware<String> auditor;
+
+    public AuditLogListener(AuditLogWriter writer, AuditorAware<String> auditor) {
+        this.writer = writer;
+        this.auditor = auditor;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        submit(event.getPersister(), AuditEntry.Operation.INSERT,
+                null, values(event.getPersister(), event.getId(), event.getState()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        submit(event.getPersister(), AuditEntry.Operation.UPDATE,
+                values(event.getPersister(), event.getId(), event.getOldState()),
+                values(event.getPersister(), event.getId(), event.getState()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        submit(event.getPersister(), AuditEntry.Operation.DELETE,
+                values(event.getPersister(), event.getId(), event.getDeletedState()), null);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, so there is nothing to audit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, so there is nothing to audit
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, so there is nothing to audit
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return !BulkInsertAuditor.isActive();
+    }
+
+    private void submit(EntityPersister persister, AuditEntry.Operation operation,
+                        Map<String, Object> oldValues, Map<String, Object> newValues) {
+        writer.submit(entry(persister, operation, oldValues, newValues, auditor));
+    }
+
+    static AuditEntry entry(EntityPersister persister, AuditEntry.Operation operation,
+                            Map<String, Object> oldValues, Map<String, Object> newValues,
+                            AuditorAware<String> auditor) {
+        return new AuditEntry(UUID.randomUUID(), tableName(persister), operation, oldValues, newValues,
+                auditor.getCurrentAuditor().orElse(null), OffsetDateTime.now());
+    }
+
+    private static String tableName(EntityPersister persister) {
+        return persister instanceof AbstractEntityPersister entityPersister
+                ? entityPersister.getTableName()
+                : persister.getEntityName();
+    }
+
+    static Map<String, Object> values(EntityPersister persister, Object id, Object[] state) {
+        if (state == null) {
+            return null;
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put(persister.getIdentifierPropertyName(), value(id));
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        for (int i = 0; i < names.length; i++) {
+            if (types[i].isCollectionType()) {
+                continue;
+            }
+            Object value = state[i];
+            if (value != null && types[i].isEntityType()) {
+                value = persister.getFactory().getPersistenceUnitUtil().getIdentifier(value);
+            }
+            values.put(names[i], value(value));
+        }
+        return values;
+    }
+
+    private static Object value(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean || value instanceof String) {
+            return value;
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package org.erp_microservices.domain_template.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps {@code audit_log}'s monthly range partitions ahead of time and removes the ones older than
+ * the retention period. Partitions cover whole UTC months and are named
+ * {@code audit_log_yYYYYmMM}; any partition, such as one attached by a migration, whose upper bound
+ * is before the cutoff is removed. Each step runs in its own transaction under an advisory lock, so
+ * instances running the job at the same time take turns.
+ */
+@Slf4j
+public class AuditLogPartitionMaintenance {
+
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('audit_log_partition_maintenance'))";
+
+    private static final String PARTITIONS = """
+            SELECT c.relname,
+                   substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \\(''([^'']+)''\\)')::timestamptz AS upper_bound
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'audit_log'::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditLogProperties.Partitions properties;
+    private final Clock clock;
+
+    public AuditLogPartitionMaintenance(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                        AuditLogProperties.Partitions properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates the partitions for this month and {@link AuditLogProperties.Partitions#getMonthsAhead()}
+     * months ahead, then drops or detaches expired ones. Returns the names of the removed
+     * partitions.
+     */
+    public List<String> run() {
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            createPartition(current.plusMonths(i));
+        }
+        return removeExpired(current.minusMonths(properties.getRetentionMonths()));
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "audit_log_y%04dm%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    private void createPartition(YearMonth month) {
+        String sql = "CREATE TABLE IF NOT EXISTS %s PARTITION OF audit_log FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(partitionName(month), start(month), start(month.plusMonths(1)));
+        try {
+            inLockedTransaction(() -> jdbcTemplate.execute(sql));
+        } catch (RuntimeException e) {
+            // Typically rows for the month already sit in audit_log_default
+            log.error("Could not create audit log partition {}", partitionName(month), e);
+        }
+    }
+
+    private List<String> removeExpired(YearMonth oldestKept) {
+        OffsetDateTime cutoff = start(oldestKept);
+        List<String> removed = new ArrayList<>();
+        inLockedTransaction(() -> jdbcTemplate.query(PARTITIONS, rs -> {
+            OffsetDateTime upperBound = rs.getObject("upper_bound", OffsetDateTime.class);
+            if (upperBound != null && !upperBound.isAfter(cutoff)) {
+                removed.add(rs.getString("relname"));
+            }
+        }));
+        for (String partition : removed) {
+            inLockedTransaction(() -> {
+                jdbcTemplate.execute("ALTER TABLE audit_log DETACH PARTITION " + quote(partition));
+                if (properties.getRetentionAction() == AuditLogProperties.RetentionAction.DROP) {
+                    jdbcTemplate.execute("DROP TABLE " + quote(partition));
+                }
+            });
+            log.info("Removed audit log partition {} ({})", partition, properties.getRetentionAction());
+        }
+        return removed;
+    }
+
+    private void inLockedTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList(LOCK);
+            work.run();
+        });
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    private static OffsetDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,88 @@
+package org.erp_microservices.domain_template.audit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Buffering of committed entity changes on their way to {@code audit_log}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Entries buffered in memory before committing transactions have to wait for room.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Entries written per batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time an entry waits in the queue for its batch to fill.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Attempts at writing a batch, {@code flushInterval} apart, before its entries are written one
+     * at a time and those that still fail are dropped.
+     */
+    private int flushAttempts = 3;
+
+    /**
+     * How long a committing transaction waits for room in a full queue before writing its entry
+     * itself.
+     */
+    private Duration offerTimeout = Duration.ofMillis(100);
+
+    /**
+     * How long shutdown waits for the queue to drain.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    private Partitions partitions = new Partitions();
+
+    /**
+     * Monthly partitions of {@code audit_log}, created ahead of time and removed after the
+     * retention period by {@link AuditLogPartitionMaintenance}.
+     */
+    @Data
+    public static class Partitions {
+
+        private boolean enabled = true;
+
+        /**
+         * Months after the current one to create partitions for.
+         */
+        private int monthsAhead = 3;
+
+        /**
+         * Whole months of history to keep before the current month. Older partitions are removed.
+         */
+        private int retentionMonths = 24;
+
+        private RetentionAction retentionAction = RetentionAction.DROP;
+
+        /**
+         * When the maintenance job runs; it also runs once at startup.
+         */
+        private String maintenanceCron = "0 15 3 * * *";
+    }
+
+    public enum RetentionAction {
+        /**
+         * Drops expired partitions.
+         */
+        DROP,
+        /**
+         * Detaches expired partitions, leaving them as plain tables to archive and drop later.
+         */
+        DETACH
+    }
+}
@@ -0,0 +1,14 @@
+package org.erp_microservices.domain_template.audit;
+
+import java.util.List;
+
+/**
+ * Durable storage for audit entries.
+ */
+public interface AuditLogStore {
+
+    /**
+     * Writes all {@code entries} in one batch.
+     */
+    void insertAll(List<AuditEntry> entries);
+}
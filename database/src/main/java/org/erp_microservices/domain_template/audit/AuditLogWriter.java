@@ -0,0 +1,228 @@
+package org.erp_microservices.domain_template.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers audit entries in a bounded queue and writes them to the {@link AuditLogStore} from a
+ * single background thread, in batches of {@link AuditLogProperties#getBatchSize()} or whatever
+ * has arrived after {@link AuditLogProperties#getFlushInterval()}. A failed batch is retried, up to
+ * {@link AuditLogProperties#getFlushAttempts()} attempts in all, and then written one entry at a
+ * time, so that an entry the store rejects cannot hold up the others; entries that still fail are
+ * logged and dropped.
+ *
+ * <p>When the queue is full, {@link #submit(AuditEntry)} waits up to
+ * {@link AuditLogProperties#getOfferTimeout()} and then writes the entry on the caller's thread,
+ * so a backlog slows committing transactions down rather than dropping entries. On shutdown the
+ * queue is drained before the data source closes, and entries submitted after that are written
+ * directly.
+ */
+@Slf4j
+public class AuditLogWriter implements SmartLifecycle {
+
+    public static final String QUEUE_METRIC = "audit.log.queue.size";
+    public static final String FLUSH_METRIC = "audit.log.flush";
+    public static final String ENTRIES_METRIC = "audit.log.entries";
+
+    private final AuditLogStore store;
+    private final AuditLogProperties properties;
+    private final BlockingQueue<AuditEntry> queue;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter written;
+    private final Counter failed;
+    private final Counter writtenByCaller;
+
+    private volatile boolean running;
+    private Thread flusher;
+    // Failed attempts at writing the current batch; used by the flusher, and by stop() once it has finished
+    private int attempts;
+
+    public AuditLogWriter(AuditLogStore store, AuditLogProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        Gauge.builder(QUEUE_METRIC, queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_METRIC + ".capacity", queue, q -> q.size() + q.remainingCapacity())
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder(FLUSH_METRIC)
+                .description("Time to write one batch of audit entries")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder(FLUSH_METRIC + ".batch.size")
+                .description("Audit entries per written batch")
+                .register(meterRegistry);
+        this.written = entries(meterRegistry, "written");
+        this.failed = entries(meterRegistry, "failed");
+        this.writtenByCaller = entries(meterRegistry, "written-by-caller");
+    }
+
+    /**
+     * Queues {@code entry} for the next batch, writing it directly when the queue stays full or
+     * the writer is not running.
+     */
+    public void submit(AuditEntry entry) {
+        if (running) {
+            try {
+                if (queue.offer(entry, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeDirectly(entry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("audit-log-writer").daemon().start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            flusher.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.error("Audit log writer did not drain within {}; {} entries were not written",
+                    properties.getShutdownTimeout(), queue.size());
+            return;
+        }
+        // Entries queued while the flusher was finishing its last batch
+        List<AuditEntry> late = new ArrayList<>();
+        queue.drainTo(late);
+        if (!late.isEmpty()) {
+            flush(late);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so in-flight requests can still submit, and before the data
+     * source is closed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    private void run() {
+        List<AuditEntry> batch = new ArrayList<>(properties.getBatchSize());
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        long deadline = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            long wait = batch.isEmpty() ? flushIntervalNanos : deadline - System.nanoTime();
+            // While a full batch is being retried, new entries stay queued
+            AuditEntry entry = batch.size() < properties.getBatchSize() ? poll(wait) : null;
+            if (entry != null) {
+                if (batch.isEmpty()) {
+                    deadline = System.nanoTime() + flushIntervalNanos;
+                }
+                batch.add(entry);
+                queue.drainTo(batch, properties.getBatchSize() - batch.size());
+            }
+            boolean due = batch.size() >= properties.getBatchSize()
+                    || !running || System.nanoTime() - deadline >= 0;
+            if (!batch.isEmpty() && due && flush(batch)) {
+                batch.clear();
+            }
+        }
+    }
+
+    private AuditEntry poll(long waitNanos) {
+        if (running && waitNanos > 0) {
+            try {
+                return queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                running = false;
+                return null;
+            }
+        }
+        return queue.poll();
+    }
+
+    private boolean flush(List<AuditEntry> batch) {
+        long start = System.nanoTime();
+        try {
+            store.insertAll(batch);
+        } catch (RuntimeException e) {
+            attempts++;
+            if (running && attempts < properties.getFlushAttempts()) {
+                log.warn("Could not write {} audit entries (attempt {} of {}), retrying in {}", batch.size(),
+                        attempts, properties.getFlushAttempts(), properties.getFlushInterval(), e);
+                pause();
+                return false;
+            }
+            log.warn("Could not write {} audit entries after {} attempts, writing them one at a time",
+                    batch.size(), attempts, e);
+            attempts = 0;
+            writeEach(batch);
+            return true;
+        }
+        attempts = 0;
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+        written.increment(batch.size());
+        return true;
+    }
+
+    private void writeEach(List<AuditEntry> batch) {
+        for (AuditEntry entry : batch) {
+            try {
+                store.insertAll(List.of(entry));
+                written.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.error("Dropping audit entry that could not be written: {}", entry, e);
+            }
+        }
+    }
+
+    private void writeDirectly(AuditEntry entry) {
+        store.insertAll(List.of(entry));
+        writtenByCaller.increment();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getFlushInterval());
+        } catch (InterruptedException e) {
+            running = false;
+        }
+    }
+
+    private static Counter entries(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(ENTRIES_METRIC)
+                .description("Audit entries by how they were written")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
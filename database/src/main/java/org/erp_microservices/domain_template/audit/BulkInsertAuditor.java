@@ -0,0 +1,83 @@
+package org.erp_microservices.domain_template.audit;
+
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.domain.AuditorAware;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Audits the inserts of a bulk write in the transaction that makes them, a batch at a time. While
+ * {@link #audit(Supplier)} runs, each insert Hibernate executes on the calling thread becomes an
+ * {@link AuditEntry} and the {@link AuditLogListener} leaves it alone. The caller writes the
+ * entries collected since its last flush with {@link #flush()}, so memory is bounded by one batch
+ * rather than growing with the transaction, and the entries commit or roll back with the rows they
+ * describe. Work run this way must only insert: its updates and deletes are not audited.
+ */
+public class BulkInsertAuditor implements PostInsertEventListener {
+
+    private static final ThreadLocal<List<AuditEntry>> PENDING = new ThreadLocal<>();
+
+    private final AuditLogStore store;
+    private final AuditorAware<String> auditor;
+
+    /**
+     * @param store writes the entries in the caller's transaction
+     */
+    public BulkInsertAuditor(AuditLogStore store, AuditorAware<String> auditor) {
+        this.store = store;
+        this.auditor = auditor;
+    }
+
+    static boolean isActive() {
+        return PENDING.get() != null;
+    }
+
+    /**
+     * Runs {@code work} with its inserts audited by this auditor, and writes whatever it has not
+     * flushed once it returns.
+     */
+    public <T> T audit(Supplier<T> work) {
+        if (isActive()) {
+            return work.get();
+        }
+        PENDING.set(new ArrayList<>());
+        try {
+            T result = work.get();
+            flush();
+            return result;
+        } finally {
+            PENDING.remove();
+        }
+    }
+
+    /**
+     * Writes the entries for the inserts Hibernate has executed since the last flush. Call it after
+     * each {@code EntityManager.flush()}.
+     */
+    public void flush() {
+        List<AuditEntry> pending = PENDING.get();
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        store.insertAll(List.copyOf(pending));
+        pending.clear();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        List<AuditEntry> pending = PENDING.get();
+        if (pending != null) {
+            pending.add(AuditLogListener.entry(event.getPersister(), AuditEntry.Operation.INSERT, null,
+                    AuditLogListener.values(event.getPersister(), event.getId(), event.getState()), auditor));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+}
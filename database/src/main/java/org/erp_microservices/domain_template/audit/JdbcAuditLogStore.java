@@ -0,0 +1,68 @@
+package org.erp_microservices.domain_template.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts audit entries as one JDBC batch, which the driver sends as multi-row {@code INSERT}
+ * statements when {@code reWriteBatchedInserts} is set. By default each call runs in a new
+ * transaction, so a caller that is itself inside a transaction is not affected by it; a store
+ * created with another propagation, such as {@code PROPAGATION_MANDATORY}, writes in the caller's.
+ */
+public class JdbcAuditLogStore implements AuditLogStore {
+
+    private static final String INSERT = """
+            INSERT INTO audit_log (id, table_name, operation, old_values, new_values, changed_by, changed_at)
+            VALUES (?, ?, ?, ?::jsonb, ?::jsonb, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public JdbcAuditLogStore(
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this(jdbcTemplate, transactionManager, objectMapper, TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public JdbcAuditLogStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper, int propagationBehavior) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(propagationBehavior);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void insertAll(List<AuditEntry> entries) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, entries, entries.size(),
+                (ps, entry) -> {
+                    ps.setObject(1, entry.id());
+                    ps.setString(2, entry.tableName());
+                    ps.setString(3, entry.operation().name());
+                    ps.setString(4, json(entry.oldValues()));
+                    ps.setString(5, json(entry.newValues()));
+                    ps.setString(6, entry.changedBy());
+                    ps.setTimestamp(7, Timestamp.from(entry.changedAt().toInstant()));
+                }));
+    }
+
+    private String json(Map<String, Object> values) {
+        if (values == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize audit values", e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.erp_microservices.domain_template.party;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
+
+/**
+ * An email address, telephone number or postal address of a {@link Party}.
+ */
+@Entity
+@Table(name = "contact_mechanism")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ContactMechanism {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contact_mechanism_id_seq")
+    @SequenceGenerator(name = "contact_mechanism_id_seq", sequenceName = "contact_mechanism_id_seq",
+            allocationSize = Party.ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "party_id", nullable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Party party;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcType(PostgreSQLEnumJdbcType.class)
+    @Column(name = "mechanism_type", columnDefinition = "contact_mechanism_type", nullable = false)
+    private ContactMechanismType mechanismType;
+
+    @Setter
+    @Column(name = "value", nullable = false)
+    private String value;
+
+    ContactMechanism(Party party, ContactMechanismType mechanismType, String value) {
+        this.party = party;
+        this.mechanismType = mechanismType;
+        this.value = value;
+    }
+}
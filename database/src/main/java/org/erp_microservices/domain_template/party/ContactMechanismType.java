@@ -0,0 +1,10 @@
+package org.erp_microservices.domain_template.party;
+
+/**
+ * Values of the {@code contact_mechanism_type} PostgreSQL enum.
+ */
+public enum ContactMechanismType {
+    EMAIL_ADDRESS,
+    TELECOM_NUMBER,
+    POSTAL_ADDRESS
+}
@@ -0,0 +1,11 @@
+package org.erp_microservices.domain_template.party;
+
+/**
+ * Values of the {@code gender_type} PostgreSQL enum.
+ */
+public enum Gender {
+    MALE,
+    FEMALE,
+    OTHER,
+    PREFER_NOT_TO_SAY
+}
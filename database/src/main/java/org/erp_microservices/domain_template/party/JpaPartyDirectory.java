@@ -0,0 +1,27 @@
+package org.erp_microservices.domain_template.party;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class JpaPartyDirectory implements PartyDirectory {
+
+    private final PartyRepository partyRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Party> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return partyRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Party::getId, Function.identity()));
+    }
+}
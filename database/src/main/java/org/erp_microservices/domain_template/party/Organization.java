@@ -0,0 +1,25 @@
+package org.erp_microservices.domain_template.party;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "organization")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Organization extends Party {
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    public Organization(String name) {
+        super(PartyType.ORGANIZATION);
+        this.name = name;
+    }
+}
@@ -0,0 +1,66 @@
+package org.erp_microservices.domain_template.party;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.InheritanceType;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A person or organization. Identifiers come from {@code party_id_seq}, which increments by the
+ * allocation size, so Hibernate reserves a block of 50 ids per sequence call and can batch inserts;
+ * an {@code IDENTITY} column would force one round trip per row.
+ */
+@Entity
+@Table(name = "party")
+@Inheritance(strategy = InheritanceType.JOINED)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public abstract class Party {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "party_id_seq")
+    @SequenceGenerator(name = "party_id_seq", sequenceName = "party_id_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcType(PostgreSQLEnumJdbcType.class)
+    @Column(name = "party_type", columnDefinition = "party_type", nullable = false, updatable = false)
+    private PartyType partyType;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @OneToMany(mappedBy = "party", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<ContactMechanism> contactMechanisms = new ArrayList<>();
+
+    protected Party(PartyType partyType) {
+        this.partyType = partyType;
+        this.createdAt = OffsetDateTime.now();
+    }
+
+    public ContactMechanism addContactMechanism(ContactMechanismType type, String value) {
+        ContactMechanism contactMechanism = new ContactMechanism(this, type, value);
+        contactMechanisms.add(contactMechanism);
+        return contactMechanism;
+    }
+}
@@ -0,0 +1,69 @@
+package org.erp_microservices.domain_template.party;
+
+import jakarta.persistence.EntityManager;
+import org.erp_microservices.domain_template.audit.BulkInsertAuditor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+
+/**
+ * Persists large numbers of parties in one transaction. The persistence context is flushed and
+ * cleared every JDBC batch, so Hibernate sends each batch as one multi-row statement per table and
+ * memory stays flat however many parties are written. When auditing is enabled, each batch's audit
+ * entries are written by the {@link BulkInsertAuditor} right after it, in the same transaction,
+ * rather than held by Hibernate until commit.
+ */
+@Component
+public class PartyBatchWriter {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final ObjectProvider<BulkInsertAuditor> auditor;
+
+    public PartyBatchWriter(
+            EntityManager entityManager,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+            ObjectProvider<BulkInsertAuditor> auditor) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        this.auditor = auditor;
+    }
+
+    /**
+     * Persists every party, with its contact mechanisms, and returns how many parties were written.
+     */
+    @Transactional
+    public long persistAll(Iterator<? extends Party> parties) {
+        BulkInsertAuditor bulkAuditor = auditor.getIfAvailable();
+        if (bulkAuditor == null) {
+            return write(parties, () -> { });
+        }
+        return bulkAuditor.audit(() -> write(parties, bulkAuditor::flush));
+    }
+
+    @Transactional
+    public long persistAll(Iterable<? extends Party> parties) {
+        return persistAll(parties.iterator());
+    }
+
+    private long write(Iterator<? extends Party> parties, Runnable afterFlush) {
+        long count = 0;
+        while (parties.hasNext()) {
+            entityManager.persist(parties.next());
+            if (++count % batchSize == 0) {
+                flushAndClear(afterFlush);
+            }
+        }
+        flushAndClear(afterFlush);
+        return count;
+    }
+
+    private void flushAndClear(Runnable afterFlush) {
+        entityManager.flush();
+        afterFlush.run();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,16 @@
+package org.erp_microservices.domain_template.party;
+
+/**
+ * A committed change to one party, as announced by the database triggers.
+ */
+public record PartyChange(Type type, Long partyId, PartyType partyType) {
+
+    public enum Type {
+        CREATED,
+        /**
+         * A person's or organization's own columns changed. Contact mechanisms are not tracked.
+         */
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,171 @@
+package org.erp_microservices.domain_template.party;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Listens on {@value #CHANNEL}, where the triggers of migration V6 announce every committed party
+ * change, and hands each change to a consumer on a single background thread. The changes of one
+ * statement arrive together, in id order, whichever application instance or tool committed them.
+ *
+ * <p>The feed holds one connection for as long as it runs, so it should come from a data source
+ * of its own rather than the pool, and point at the primary: notifications are not replicated.
+ * When the connection is lost the feed reconnects after
+ * {@link PartyChangeProperties#getReconnectInterval()}; changes committed in the meantime are not
+ * delivered.
+ */
+@Slf4j
+public class PartyChangeFeed implements SmartLifecycle {
+
+    public static final String CHANNEL = "party_changes";
+    public static final String CHANGES_METRIC = "party.changes";
+    public static final String CONNECTED_METRIC = "party.changes.connected";
+
+    private static final int POLL_MILLIS = 500;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final Duration reconnectInterval;
+    private final Consumer<PartyChange> consumer;
+    private final Counter received;
+    private final Counter malformed;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread listener;
+
+    public PartyChangeFeed(DataSource dataSource, ObjectMapper objectMapper, PartyChangeProperties properties,
+                           Consumer<PartyChange> consumer, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.reconnectInterval = properties.getReconnectInterval();
+        this.consumer = consumer;
+        this.received = notifications(meterRegistry, "received");
+        this.malformed = notifications(meterRegistry, "malformed");
+        Gauge.builder(CONNECTED_METRIC, this, feed -> feed.connected ? 1 : 0)
+                .description("Whether party changes are being listened for")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the feed is listening right now. Changes committed while it is not are missed.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("party-change-feed").daemon().start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            listener.join(POLL_MILLIS * 4L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                listen(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Lost the party change feed connection, listening again in {}", reconnectInterval, e);
+                    pause();
+                }
+            } finally {
+                connected = false;
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        connected = true;
+        log.info("Listening for party changes");
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    dispatch(notification.getParameter());
+                }
+            }
+        }
+    }
+
+    void dispatch(String payload) {
+        Notification notification;
+        try {
+            notification = objectMapper.readValue(payload, Notification.class);
+        } catch (JsonProcessingException e) {
+            malformed.increment();
+            log.warn("Ignoring malformed party change notification {}", payload, e);
+            return;
+        }
+        for (Long id : notification.ids()) {
+            received.increment();
+            try {
+                consumer.accept(new PartyChange(notification.change(), id, notification.partyType()));
+            } catch (RuntimeException e) {
+                log.warn("Could not deliver the {} change of party {}", notification.change(), id, e);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectInterval);
+        } catch (InterruptedException e) {
+            running = false;
+        }
+    }
+
+    private static Counter notifications(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(CHANGES_METRIC)
+                .description("Party changes announced by the database, and notifications that could not be read")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The payload {@code notify_party_changes()} sends.
+     */
+    record Notification(PartyChange.Type change, PartyType partyType, List<Long> ids) {
+    }
+}
@@ -0,0 +1,26 @@
+package org.erp_microservices.domain_template.party;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Delivery of committed party changes to GraphQL subscribers.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.party-changes")
+public class PartyChangeProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Changes held for each subscriber that is not keeping up. Once full, the oldest are dropped.
+     */
+    private int subscriberBufferSize = 256;
+
+    /**
+     * Pause before listening again after the connection to the database was lost.
+     */
+    private Duration reconnectInterval = Duration.ofSeconds(5);
+}
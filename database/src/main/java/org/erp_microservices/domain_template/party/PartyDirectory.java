@@ -0,0 +1,15 @@
+package org.erp_microservices.domain_template.party;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Bulk lookups of parties by id, each answered with a single query however many ids are passed.
+ */
+public interface PartyDirectory {
+
+    /**
+     * Returns the parties that exist, keyed by id. Unknown ids are absent from the map.
+     */
+    Map<Long, Party> findByIds(Collection<Long> ids);
+}
@@ -0,0 +1,54 @@
+package org.erp_microservices.domain_template.party;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public interface PartyRepository extends JpaRepository<Party, Long> {
+
+    Sort BY_ID = Sort.by("id");
+
+    /**
+     * Reads one page of parties, in id order, after or before a keyset {@code position}. The page's
+     * ids are found first with {@link #findPageIds}, and only then are those parties loaded with
+     * their {@code person} or {@code organization} rows. Scrolling the joined entity directly lets
+     * PostgreSQL merge-join the subclass tables from their first row, so a page would get slower
+     * the deeper it is; this way every page costs the same as the first.
+     */
+    @Transactional(readOnly = true)
+    default Window<Party> findPage(PartyType partyType, ScrollPosition position, Limit limit) {
+        Window<Long> ids = findPageIds(partyType, position, limit);
+        Map<Long, Party> parties = findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Party::getId, Function.identity()));
+        return ids.map(parties::get);
+    }
+
+    /**
+     * Finds the ids of one page of parties on {@code party} alone, as
+     * {@code WHERE id > :last ORDER BY id LIMIT :limit}, without joining the subclass tables.
+     */
+    default Window<Long> findPageIds(PartyType partyType, ScrollPosition position, Limit limit) {
+        Window<PartyId> ids = partyType == null
+                ? findBy(position, BY_ID, limit, PartyId.class)
+                : findByPartyType(partyType, position, BY_ID, limit, PartyId.class);
+        return ids.map(PartyId::getId);
+    }
+
+    <T> Window<T> findBy(ScrollPosition position, Sort sort, Limit limit, Class<T> type);
+
+    <T> Window<T> findByPartyType(PartyType partyType, ScrollPosition position, Sort sort, Limit limit, Class<T> type);
+
+    /**
+     * Projection of a party's id, so a page can be located without joining the subclass tables.
+     */
+    interface PartyId {
+        Long getId();
+    }
+}
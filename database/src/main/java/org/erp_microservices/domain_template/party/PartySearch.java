@@ -0,0 +1,158 @@
+package org.erp_microservices.domain_template.party;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finds parties by person name, organization name or e-mail address, best matches first. A party
+ * matches when one of its names or addresses contains every word of the search text, through the
+ * generated {@code search_vector} columns. Names also match when they contain something close to
+ * the text, through trigram similarity, which tolerates typos and partial words; e-mail addresses
+ * match when they contain the text itself, since addresses sharing a domain are all similar to
+ * each other. All of it is answered from GIN indexes instead of scanning the tables.
+ *
+ * <p>Results are ordered by score, then id, and paged by keyset on that pair, so following a
+ * cursor neither skips nor repeats a party while the matches are unchanged.
+ */
+@Repository
+public class PartySearch {
+
+    public static final int MAX_TEXT_LENGTH = 200;
+
+    /**
+     * How much of the search text must appear, as trigrams, in a name or address to count as a
+     * fuzzy match. Lower than pg_trgm's default of 0.6 so that a single typo in a short name
+     * still matches.
+     */
+    static final double SIMILARITY_THRESHOLD = 0.5;
+
+    static final String SCORE_KEY = "score";
+    static final String ID_KEY = "id";
+
+    private static final String SET_THRESHOLD =
+            "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)";
+
+    private static final String MATCHES = """
+            WITH matches AS (
+                SELECT pe.id,
+                       ts_rank(pe.search_vector, websearch_to_tsquery('simple', :text))
+                           + word_similarity(:text, pe.first_name || ' ' || pe.last_name) AS score
+                FROM person pe
+                WHERE pe.search_vector @@ websearch_to_tsquery('simple', :text)
+                   OR :text <% (pe.first_name || ' ' || pe.last_name)
+                UNION ALL
+                SELECT o.id,
+                       ts_rank(o.search_vector, websearch_to_tsquery('simple', :text))
+                           + word_similarity(:text, o.name)
+                FROM organization o
+                WHERE o.search_vector @@ websearch_to_tsquery('simple', :text)
+                   OR :text <% o.name
+                UNION ALL
+                SELECT cm.party_id,
+                       ts_rank(cm.search_vector, websearch_to_tsquery('simple', :text))
+                           + word_similarity(:text, cm.value)
+                FROM contact_mechanism cm
+                WHERE cm.mechanism_type = 'EMAIL_ADDRESS'
+                  AND (cm.search_vector @@ websearch_to_tsquery('simple', :text) OR cm.value ILIKE :pattern)
+            ),
+            ranked AS (
+                SELECT id, max(score)::float8 AS score FROM matches GROUP BY id
+            )
+            SELECT id, score FROM ranked
+            """;
+
+    static final String FIRST_PAGE = MATCHES + """
+            ORDER BY score DESC, id
+            LIMIT :limit
+            """;
+
+    private static final String NEXT_PAGE = MATCHES + """
+            WHERE score < :score OR (score = :score AND id > :id)
+            ORDER BY score DESC, id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PartyRepository partyRepository;
+
+    public PartySearch(NamedParameterJdbcTemplate jdbcTemplate, PartyRepository partyRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partyRepository = partyRepository;
+    }
+
+    /**
+     * Returns up to {@code limit} parties matching {@code text} after the keyset {@code position},
+     * which is either initial or the position of a party from an earlier page.
+     *
+     * @throws org.springframework.dao.InvalidDataAccessApiUsageException translated from an
+     *         {@link IllegalArgumentException}, if the text is blank or longer than
+     *         {@link #MAX_TEXT_LENGTH}, or the position is not one this search handed out
+     */
+    @Transactional(readOnly = true)
+    public Window<Party> search(String text, ScrollPosition position, int limit) {
+        String trimmed = text == null ? "" : text.strip();
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("Search text must not be blank");
+        }
+        if (trimmed.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Search text must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("text", trimmed)
+                .addValue("pattern", "%" + escapeLike(trimmed) + "%")
+                .addValue("limit", limit + 1);
+        String sql = FIRST_PAGE;
+        if (!position.isInitial()) {
+            Map<String, ?> keys = keysOf(position);
+            parameters.addValue("score", ((Number) keys.get(SCORE_KEY)).doubleValue())
+                    .addValue("id", ((Number) keys.get(ID_KEY)).longValue());
+            sql = NEXT_PAGE;
+        }
+
+        jdbcTemplate.queryForObject(SET_THRESHOLD, Map.of("threshold", String.valueOf(SIMILARITY_THRESHOLD)),
+                String.class);
+        List<Hit> hits = jdbcTemplate.query(sql, parameters,
+                (rs, row) -> new Hit(rs.getLong("id"), rs.getDouble("score")));
+        boolean hasNext = hits.size() > limit;
+        if (hasNext) {
+            hits = hits.subList(0, limit);
+        }
+
+        Map<Long, Party> parties = partyRepository.findAllById(hits.stream().map(Hit::id).toList()).stream()
+                .collect(Collectors.toMap(Party::getId, Function.identity()));
+        // A party deleted since it was matched is left out
+        List<Hit> found = hits.stream().filter(hit -> parties.containsKey(hit.id())).toList();
+        List<Party> content = found.stream().map(hit -> parties.get(hit.id())).toList();
+        return Window.from(content, index -> positionOf(found.get(index)), hasNext);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static ScrollPosition positionOf(Hit hit) {
+        return ScrollPosition.forward(Map.of(SCORE_KEY, hit.score(), ID_KEY, hit.id()));
+    }
+
+    private static Map<String, ?> keysOf(ScrollPosition position) {
+        if (position instanceof KeysetScrollPosition keyset && keyset.scrollsForward()
+                && keyset.getKeys().get(SCORE_KEY) instanceof Number
+                && keyset.getKeys().get(ID_KEY) instanceof Number) {
+            return keyset.getKeys();
+        }
+        throw new IllegalArgumentException("Not a search cursor: " + position);
+    }
+
+    private record Hit(long id, double score) {
+    }
+}
@@ -0,0 +1,9 @@
+package org.erp_microservices.domain_template.party;
+
+/**
+ * Values of the {@code party_type} PostgreSQL enum.
+ */
+public enum PartyType {
+    PERSON,
+    ORGANIZATION
+}
@@ -0,0 +1,41 @@
+package org.erp_microservices.domain_template.party.exporter;
+
+import java.util.Locale;
+
+/**
+ * Formats written by {@link PartyExporter}: CSV with a header row naming the columns, or one JSON
+ * object per line.
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Picks the format by name, ignoring case.
+     *
+     * @throws IllegalArgumentException when no format has that name
+     */
+    public static ExportFormat of(String name) {
+        try {
+            return valueOf(name.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format " + name + "; expected csv or ndjson");
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.erp_microservices.domain_template.party.exporter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Writes every party, with its contact mechanisms, to a stream as CSV or NDJSON, one line per
+ * contact mechanism and one for each party that has none. Rows are read through a server-side
+ * cursor, {@code app.party-export.fetch-size} at a time, and written as they arrive, so memory is
+ * bounded by the fetch size rather than the number of parties. A slow reader slows the export
+ * down: writes block once the stream's buffers are full, and no more rows are fetched until they
+ * drain.
+ *
+ * <p>The rows come from one transaction, so the export is a consistent snapshot, and are ordered
+ * by party id, which keeps the lines of a party together. The transaction is read-only in
+ * PostgreSQL but not to Spring, so that read/write routing keeps it on the primary: a query that
+ * runs for as long as its reader takes would otherwise be cancelled on a hot standby by recovery
+ * conflicts once {@code max_standby_streaming_delay} passes.
+ */
+@Slf4j
+@Component
+public class PartyExporter {
+
+    static final String ROWS_METRIC = "party.export.rows";
+    static final String EXPORT_METRIC = "party.export";
+
+    public static final List<String> COLUMNS = List.of(
+            "party_id", "party_type", "created_at", "first_name", "last_name", "birth_date", "gender", "name",
+            "contact_mechanism_type", "contact_value");
+
+    private static final String SELECT_PARTIES = """
+            SELECT p.id, p.party_type, p.created_at, pe.first_name, pe.last_name, pe.birth_date, pe.gender,
+                   o.name, cm.mechanism_type, cm.value
+            FROM party p
+            LEFT JOIN person pe ON pe.id = p.id
+            LEFT JOIN organization o ON o.id = p.id
+            LEFT JOIN contact_mechanism cm ON cm.party_id = p.id
+            ORDER BY p.id, cm.id
+            """;
+
+    // A failed export is left truncated, rather than closed off to look complete
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+            .build();
+    private static final CsvFactory CSV_FACTORY = CsvFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+            .build();
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumns(COLUMNS, CsvSchema.ColumnType.STRING)
+            .build()
+            .withHeader();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public PartyExporter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.party-export.fetch-size:1000}") int fetchSize) {
+        // PostgreSQL only reads through a cursor when a fetch size is set and auto-commit is off
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Writes all parties to {@code out} and returns the number of rows written, not counting the
+     * CSV header. The stream is flushed but not closed. If the export fails part way, whatever was
+     * written stays written; the caller decides how to tell the reader it is incomplete.
+     */
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        Counter rowCounter = Counter.builder(ROWS_METRIC)
+                .description("Party rows written by the exporter")
+                .tag("format", format.extension())
+                .register(meterRegistry);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        long start = System.nanoTime();
+        try (JsonGenerator generator = generator(format, out)) {
+            Long rows = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("SET TRANSACTION READ ONLY");
+                return jdbcTemplate.query(SELECT_PARTIES, resultSet -> {
+                    long written = 0;
+                    while (resultSet.next()) {
+                        write(generator, format, resultSet);
+                        written++;
+                        rowCounter.increment();
+                    }
+                    return written;
+                });
+            });
+            generator.flush();
+            outcome = "completed";
+            log.info("Exported {} party rows as {} in {} ms", rows, format,
+                    (System.nanoTime() - start) / 1_000_000);
+            return rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            sample.stop(Timer.builder(EXPORT_METRIC)
+                    .description("Time to export all parties")
+                    .tag("format", format.extension())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static JsonGenerator generator(ExportFormat format, OutputStream out) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            // Lines are ended by write(), so the last one is too
+            JsonGenerator generator = JSON_FACTORY.createGenerator(out);
+            generator.setRootValueSeparator(null);
+            return generator;
+        }
+        CsvGenerator generator = CSV_FACTORY.createGenerator(out);
+        generator.setSchema(CSV_SCHEMA);
+        return generator;
+    }
+
+    private static void write(JsonGenerator generator, ExportFormat format, ResultSet row) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("party_id", row.getLong(1));
+            generator.writeStringField("party_type", row.getString(2));
+            generator.writeStringField("created_at", text(row.getObject(3, OffsetDateTime.class)));
+            generator.writeStringField("first_name", row.getString(4));
+            generator.writeStringField("last_name", row.getString(5));
+            generator.writeStringField("birth_date", text(row.getObject(6, LocalDate.class)));
+            generator.writeStringField("gender", row.getString(7));
+            generator.writeStringField("name", row.getString(8));
+            generator.writeStringField("contact_mechanism_type", row.getString(9));
+            generator.writeStringField("contact_value", row.getString(10));
+            generator.writeEndObject();
+            if (format == ExportFormat.NDJSON) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            // Usually the reader went away; stop reading rows and release the cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
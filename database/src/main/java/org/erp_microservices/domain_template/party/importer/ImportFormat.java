@@ -0,0 +1,22 @@
+package org.erp_microservices.domain_template.party.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats accepted by {@link PartyCopyImporter}. Both hold one party per line: CSV with a
+ * header row naming the columns, or one JSON object per line.
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    /**
+     * Picks the format from the file extension, treating {@code .json}, {@code .jsonl} and
+     * {@code .ndjson} as NDJSON and anything else as CSV.
+     */
+    public static ImportFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json") ? NDJSON : CSV;
+    }
+}
@@ -0,0 +1,258 @@
+package org.erp_microservices.domain_template.party.importer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.erp_microservices.domain_template.party.ContactMechanismType;
+import org.erp_microservices.domain_template.party.Party;
+import org.erp_microservices.domain_template.party.PartyType;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk loads parties with PostgreSQL {@code COPY}, bypassing JPA. The file is streamed line by
+ * line: valid rows are collected into chunks of {@code app.party-import.chunk-size} and each chunk
+ * is copied into the party tables and committed on its own, so memory is bounded by the chunk
+ * rather than the file. Invalid lines are written to a rejects file as
+ * {@code line<TAB>error<TAB>row} and the import carries on.
+ *
+ * <p>Ids are reserved from the same sequences, and in the same blocks of
+ * {@link Party#ID_ALLOCATION_SIZE}, that Hibernate's pooled-lo optimizer uses, so imported rows
+ * never collide with parties persisted through JPA.
+ */
+@Slf4j
+@Component
+public class PartyCopyImporter {
+
+    static final String ROWS_METRIC = "party.import.rows";
+    static final String CHUNK_METRIC = "party.import.chunk";
+
+    private static final String RESERVE_IDS = "SELECT nextval(?::regclass) FROM generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+
+    public PartyCopyImporter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.party-import.chunk-size:10000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports {@code file}, writing rejected lines to {@code rejectsFile}.
+     */
+    public PartyImportResult importFile(Path file, ImportFormat format, Path rejectsFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             Writer rejects = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8)) {
+            return importFrom(reader, format, rejects, file.toString());
+        }
+    }
+
+    /**
+     * Imports every line of {@code reader}. A CSV source must start with its header row.
+     *
+     * @throws IllegalArgumentException when a CSV header is malformed
+     */
+    public PartyImportResult importFrom(BufferedReader reader, ImportFormat format, Writer rejects, String source)
+            throws IOException {
+        Counter importedCounter = rowCounter("imported");
+        Counter rejectedCounter = rowCounter("rejected");
+        Timer chunkTimer = Timer.builder(CHUNK_METRIC)
+                .description("Time to copy and commit one chunk of imported parties")
+                .register(meterRegistry);
+
+        long start = System.nanoTime();
+        long imported = 0;
+        long rejected = 0;
+        long lineNumber = 0;
+        PartyRowParser parser = format == ImportFormat.NDJSON ? PartyRowParser.ndjson() : null;
+        List<PartyRow> chunk = new ArrayList<>(chunkSize);
+
+        rejects.write("line\terror\trow\n");
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (parser == null) {
+                parser = PartyRowParser.csv(line);
+                continue;
+            }
+            try {
+                chunk.add(parser.parse(line));
+            } catch (IllegalArgumentException e) {
+                rejects.write(lineNumber + "\t" + e.getMessage().replaceAll("\\s", " ") + "\t" + line + "\n");
+                rejected++;
+                rejectedCounter.increment();
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                imported += copyChunk(chunk, chunkTimer, importedCounter);
+                log.info("Imported {} parties from {} ({} rejected)", imported, source, rejected);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += copyChunk(chunk, chunkTimer, importedCounter);
+        }
+
+        PartyImportResult result = new PartyImportResult(imported, rejected, Duration.ofNanos(System.nanoTime() - start));
+        log.info("Imported {} parties from {} in {} ms ({} rejected, {} parties/s)", imported, source,
+                result.elapsed().toMillis(), rejected, Math.round(result.partiesPerSecond()));
+        return result;
+    }
+
+    private int copyChunk(List<PartyRow> chunk, Timer chunkTimer, Counter importedCounter) {
+        int size = chunk.size();
+        chunkTimer.record(() -> transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    copy(connection, chunk);
+                    return null;
+                })));
+        importedCounter.increment(size);
+        chunk.clear();
+        return size;
+    }
+
+    private static void copy(Connection connection, List<PartyRow> rows) throws SQLException {
+        int contactCount = 0;
+        for (PartyRow row : rows) {
+            contactCount += (row.email() != null ? 1 : 0) + (row.phone() != null ? 1 : 0);
+        }
+        long[] partyIds = reserveIds(connection, "party_id_seq", rows.size());
+        long[] contactIds = reserveIds(connection, "contact_mechanism_id_seq", contactCount);
+
+        OffsetDateTime createdAt = OffsetDateTime.now();
+        CopyBuffer parties = new CopyBuffer();
+        CopyBuffer persons = new CopyBuffer();
+        CopyBuffer organizations = new CopyBuffer();
+        CopyBuffer contacts = new CopyBuffer();
+        int contact = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            PartyRow row = rows.get(i);
+            long id = partyIds[i];
+            parties.row(id, row.partyType(), createdAt);
+            if (row.partyType() == PartyType.PERSON) {
+                persons.row(id, row.firstName(), row.lastName(), row.birthDate(), row.gender());
+            } else {
+                organizations.row(id, row.name());
+            }
+            if (row.email() != null) {
+                contacts.row(contactIds[contact++], id, ContactMechanismType.EMAIL_ADDRESS, row.email());
+            }
+            if (row.phone() != null) {
+                contacts.row(contactIds[contact++], id, ContactMechanismType.TELECOM_NUMBER, row.phone());
+            }
+        }
+
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        copyIn(copyManager, "party (id, party_type, created_at)", parties);
+        copyIn(copyManager, "person (id, first_name, last_name, birth_date, gender)", persons);
+        copyIn(copyManager, "organization (id, name)", organizations);
+        copyIn(copyManager, "contact_mechanism (id, party_id, mechanism_type, value)", contacts);
+    }
+
+    /**
+     * Reserves {@code count} ids, one sequence call per block of {@link Party#ID_ALLOCATION_SIZE};
+     * each value returned by the sequence is the low end of its block, as with pooled-lo.
+     */
+    private static long[] reserveIds(Connection connection, String sequence, int count) throws SQLException {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(RESERVE_IDS)) {
+            statement.setString(1, sequence);
+            statement.setInt(2, (count + Party.ID_ALLOCATION_SIZE - 1) / Party.ID_ALLOCATION_SIZE);
+            try (ResultSet blocks = statement.executeQuery()) {
+                int next = 0;
+                while (blocks.next()) {
+                    long low = blocks.getLong(1);
+                    for (int offset = 0; offset < Party.ID_ALLOCATION_SIZE && next < count; offset++) {
+                        ids[next++] = low + offset;
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void copyIn(CopyManager copyManager, String table, CopyBuffer rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            copyManager.copyIn("COPY " + table + " FROM STDIN WITH (FORMAT csv)", new StringReader(rows.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Counter rowCounter(String outcome) {
+        return Counter.builder(ROWS_METRIC)
+                .description("Rows read by the bulk party importer")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rows in {@code COPY ... WITH (FORMAT csv)} form: values are quoted, and an unquoted empty
+     * value is NULL.
+     */
+    private static final class CopyBuffer {
+
+        private final StringBuilder rows = new StringBuilder();
+
+        void row(Object... values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    rows.append(',');
+                }
+                if (values[i] != null) {
+                    rows.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+                }
+            }
+            rows.append('\n');
+        }
+
+        boolean isEmpty() {
+            return rows.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return rows.toString();
+        }
+    }
+}
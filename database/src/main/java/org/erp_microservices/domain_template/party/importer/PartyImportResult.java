@@ -0,0 +1,14 @@
+package org.erp_microservices.domain_template.party.importer;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a bulk import: parties written, lines rejected and how long it took.
+ */
+public record PartyImportResult(long imported, long rejected, Duration elapsed) {
+
+    public double partiesPerSecond() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? imported / seconds : 0;
+    }
+}
@@ -0,0 +1,103 @@
+package org.erp_microservices.domain_template.party.importer;
+
+import org.erp_microservices.domain_template.party.Gender;
+import org.erp_microservices.domain_template.party.PartyType;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One validated party from an import file. Fields are named as in the CSV header or JSON object:
+ * {@code party_type}, {@code first_name}, {@code last_name}, {@code birth_date}, {@code gender},
+ * {@code name}, {@code email} and {@code phone}.
+ */
+public record PartyRow(
+        PartyType partyType,
+        String firstName,
+        String lastName,
+        LocalDate birthDate,
+        Gender gender,
+        String name,
+        String email,
+        String phone) {
+
+    /**
+     * Validates raw field values against the party tables' constraints, and against what
+     * PostgreSQL accepts at all: text without NUL characters, and dates from year 1. A value it
+     * refused would fail the {@code COPY} of the whole chunk rather than being rejected alone.
+     *
+     * @throws IllegalArgumentException describing the first invalid field
+     */
+    public static PartyRow of(Map<String, String> fields) {
+        PartyType partyType = enumValue(PartyType.class, fields, "party_type");
+        if (partyType == null) {
+            throw new IllegalArgumentException("party_type is required");
+        }
+
+        String firstName = text(fields, "first_name", 100);
+        String lastName = text(fields, "last_name", 100);
+        String name = text(fields, "name", 255);
+        if (partyType == PartyType.PERSON && (firstName == null || lastName == null)) {
+            throw new IllegalArgumentException("A PERSON needs first_name and last_name");
+        }
+        if (partyType == PartyType.ORGANIZATION && name == null) {
+            throw new IllegalArgumentException("An ORGANIZATION needs a name");
+        }
+
+        String email = text(fields, "email", 255);
+        if (email != null && email.indexOf('@') < 1) {
+            throw new IllegalArgumentException("email is not an email address: " + email);
+        }
+
+        return new PartyRow(
+                partyType,
+                firstName,
+                lastName,
+                date(fields, "birth_date"),
+                enumValue(Gender.class, fields, "gender"),
+                name,
+                email,
+                text(fields, "phone", 255));
+    }
+
+    private static String text(Map<String, String> fields, String field, int maximumLength) {
+        String value = fields.get(field);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.strip();
+        if (value.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException(field + " contains a NUL character");
+        }
+        if (value.length() > maximumLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maximumLength + " characters");
+        }
+        return value;
+    }
+
+    private static LocalDate date(Map<String, String> fields, String field) {
+        String value = text(fields, field, 10);
+        LocalDate date;
+        try {
+            date = value != null ? LocalDate.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + " is not an ISO date: " + value);
+        }
+        // ISO year 0 is 1 BC; PostgreSQL has no year 0 and refuses the date as out of range
+        if (date != null && date.getYear() < 1) {
+            throw new IllegalArgumentException(field + " is before year 1: " + value);
+        }
+        return date;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, Map<String, String> fields, String field) {
+        String value = text(fields, field, 50);
+        try {
+            return value != null ? Enum.valueOf(type, value.toUpperCase(Locale.ROOT)) : null;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(field + " has unknown value " + value);
+        }
+    }
+}
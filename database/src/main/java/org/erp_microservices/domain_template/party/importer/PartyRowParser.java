@@ -0,0 +1,89 @@
+package org.erp_microservices.domain_template.party.importer;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns one line of an import file into a {@link PartyRow}. A parser is created per file, because
+ * a CSV parser needs the file's header to name its columns.
+ */
+public abstract class PartyRowParser {
+
+    private static final ObjectReader CSV_LINE = new CsvMapper()
+            .readerFor(String[].class);
+    private static final ObjectReader JSON_LINE = new ObjectMapper().readerFor(JsonNode.class);
+
+    /**
+     * Parses and validates a line.
+     *
+     * @throws IllegalArgumentException when the line is malformed or fails validation
+     */
+    public PartyRow parse(String line) {
+        try {
+            return PartyRow.of(fields(line));
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed line: " + e.getOriginalMessage());
+        }
+    }
+
+    abstract Map<String, String> fields(String line) throws JacksonException;
+
+    /**
+     * Creates a parser for CSV lines with the columns named in {@code headerLine}.
+     */
+    public static PartyRowParser csv(String headerLine) {
+        String[] columns;
+        try {
+            columns = CSV_LINE.readValue(headerLine);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed CSV header: " + e.getOriginalMessage());
+        }
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = columns[i].strip().toLowerCase(Locale.ROOT);
+        }
+        return new PartyRowParser() {
+            @Override
+            Map<String, String> fields(String line) throws JacksonException {
+                String[] values = CSV_LINE.readValue(line);
+                if (values.length != columns.length) {
+                    throw new IllegalArgumentException(
+                            "Expected " + columns.length + " columns but found " + values.length);
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < columns.length; i++) {
+                    fields.put(columns[i], values[i]);
+                }
+                return fields;
+            }
+        };
+    }
+
+    /**
+     * Creates a parser for lines holding one JSON object each.
+     */
+    public static PartyRowParser ndjson() {
+        return new PartyRowParser() {
+            @Override
+            Map<String, String> fields(String line) throws JacksonException {
+                JsonNode node = JSON_LINE.readValue(line);
+                if (!node.isObject()) {
+                    throw new IllegalArgumentException("Expected a JSON object");
+                }
+                Map<String, String> fields = new HashMap<>();
+                node.fields().forEachRemaining(field -> {
+                    if (!field.getValue().isNull()) {
+                        fields.put(field.getKey(), field.getValue().asText());
+                    }
+                });
+                return fields;
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package org.erp_microservices.domain_template.routing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL streaming replicas that serve read-only transactions. Pool settings other than the
+ * ones below are taken from {@code spring.datasource.hikari}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * JDBC URLs of the replicas. Read-only transactions are spread over them round-robin.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Replica credentials; the primary's are used when not set. The user must be a member of
+     * {@code pg_monitor} for the lag checks to see whether the replica is streaming.
+     */
+    private String username;
+
+    private String password;
+
+    /**
+     * Connections per replica pool; the primary's pool size is used when not set.
+     */
+    private Integer maximumPoolSize;
+
+    /**
+     * Replicas further behind the primary than this are skipped until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often each replica's lag is measured.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    /**
+     * Whether reads after a committed write in the same request go to the primary.
+     */
+    private boolean readYourWrites = true;
+}
@@ -0,0 +1,41 @@
+package org.erp_microservices.domain_template.routing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The replica connection pools by name, in configuration order. Closing it closes the pools.
+ */
+@Slf4j
+public class ReadReplicas implements AutoCloseable {
+
+    private final Map<String, DataSource> dataSources;
+
+    public ReadReplicas(Map<String, ? extends DataSource> dataSources) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one read replica is required");
+        }
+        this.dataSources = Collections.unmodifiableMap(new LinkedHashMap<>(dataSources));
+    }
+
+    public Map<String, DataSource> dataSources() {
+        return dataSources;
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach((name, dataSource) -> {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close read replica {}", name, e);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package org.erp_microservices.domain_template.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. A read-only
+ * transaction still goes to the primary when its request has already committed a write, see
+ * {@link ReadYourWrites}, or when no replica is within the lag tolerance.
+ *
+ * <p>The decision needs the transaction's read-only flag, which Spring sets only after the
+ * transaction manager has asked for a connection, so this must sit behind a
+ * {@link LazyConnectionDataSourceProxy} that fetches the real connection on first use.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String ROUTING_METRIC = "datasource.routing";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final boolean readYourWrites;
+    private final Counter readWrite;
+    private final Counter readAfterWrite;
+    private final Counter noReplicaAvailable;
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReadReplicas replicas, ReplicaLagMonitor lagMonitor,
+                                      ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = properties.isReadYourWrites();
+        Map<Object, Object> targets = new HashMap<>(replicas.dataSources());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        initialize();
+
+        this.readWrite = connections(meterRegistry, PRIMARY, "read-write");
+        this.readAfterWrite = connections(meterRegistry, PRIMARY, "read-your-writes");
+        this.noReplicaAvailable = connections(meterRegistry, PRIMARY, "no-replica-available");
+        replicas.dataSources().keySet()
+                .forEach(name -> replicaReads.put(name, connections(meterRegistry, name, "read-only")));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (readYourWrites) {
+                ReadYourWrites.recordWrite();
+            }
+            readWrite.increment();
+            return PRIMARY;
+        }
+        if (readYourWrites && ReadYourWrites.hasWritten()) {
+            readAfterWrite.increment();
+            return PRIMARY;
+        }
+        String replica = lagMonitor.nextAvailable();
+        if (replica == null) {
+            noReplicaAvailable.increment();
+            return PRIMARY;
+        }
+        replicaReads.get(replica).increment();
+        return replica;
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder(ROUTING_METRIC)
+                .description("Connections handed out by target and why they went there")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package org.erp_microservices.domain_template.routing;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers, for the duration of one request, whether it has committed a write, so that
+ * {@link ReadWriteRoutingDataSource} can send its later reads to the primary instead of a replica
+ * that may not have replayed the write yet.
+ *
+ * <p>The scope is held in a thread local. Threads that work on the same request share the
+ * {@link Scope} object when the thread local is propagated to them, so a write on one thread is
+ * seen by reads on another.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Starts a new scope on the current thread; close it when the request ends.
+     */
+    public static Scope open() {
+        Scope scope = new Scope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    public static void set(Scope scope) {
+        CURRENT.set(scope);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Whether the current scope has committed a write.
+     */
+    public static boolean hasWritten() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.written;
+    }
+
+    /**
+     * Marks the current scope as written once the surrounding read-write transaction commits.
+     * Connections used outside a transaction cannot commit anything, as the pools do not
+     * auto-commit, and are ignored.
+     */
+    static void recordWrite() {
+        Scope scope = CURRENT.get();
+        if (scope == null || scope.written || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scope.written = true;
+            }
+        });
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private volatile boolean written;
+
+        private Scope() {
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                CURRENT.remove();
+            }
+        }
+    }
+}
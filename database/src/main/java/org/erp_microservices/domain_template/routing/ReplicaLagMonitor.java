@@ -0,0 +1,158 @@
+package org.erp_microservices.domain_template.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how far each replica is behind the primary every
+ * {@link ReadReplicaProperties#getLagCheckInterval()} and hands out the replicas within
+ * {@link ReadReplicaProperties#getMaxLag()} round-robin. A replica that cannot be reached, or
+ * whose lag is unknown, is skipped like one that is too far behind; replicas count as unavailable
+ * until their first check.
+ *
+ * <p>Lag is the age of the last replayed transaction, or zero when the replica has replayed all
+ * WAL it has received, so an idle primary does not make its replicas look stale. A replica that is
+ * not streaming from the primary has received all it will receive and could be arbitrarily stale,
+ * so its lag is unknown. The replica user must be a member of {@code pg_monitor} to see the WAL
+ * receiver's status; without it every replica counts as not streaming.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    public static final String LAG_METRIC = "datasource.replica.lag";
+    public static final String AVAILABLE_METRIC = "datasource.replica.available";
+
+    static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint
+                   END""";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final Duration checkInterval;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(ReadReplicas readReplicas, ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this(readReplicas, properties, meterRegistry, LAG_QUERY);
+    }
+
+    ReplicaLagMonitor(ReadReplicas readReplicas, ReadReplicaProperties properties, MeterRegistry meterRegistry,
+                      String lagQuery) {
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        this.checkInterval = properties.getLagCheckInterval();
+        this.lagQuery = lagQuery;
+        int timeoutSeconds = (int) Math.max(1, checkInterval.toSeconds());
+        readReplicas.dataSources().forEach((name, dataSource) -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout(timeoutSeconds);
+            Replica replica = new Replica(name, jdbcTemplate);
+            replicas.add(replica);
+            Gauge.builder(LAG_METRIC, replica, r -> r.lagMillis == null ? Double.NaN : r.lagMillis / 1000.0)
+                    .description("How far the replica is behind the primary")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder(AVAILABLE_METRIC, replica, r -> r.available ? 1 : 0)
+                    .description("Whether the replica is within the lag tolerance and serving reads")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * Returns the next replica within the lag tolerance, or {@code null} when there is none.
+     */
+    public String nextAvailable() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica.name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Measures every replica's lag now.
+     */
+    public void refresh() {
+        replicas.forEach(this::check);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                task -> Thread.ofPlatform().name("replica-lag-monitor").daemon().unstarted(task));
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void check(Replica replica) {
+        Long lag;
+        try {
+            lag = replica.jdbcTemplate.queryForObject(lagQuery, Long.class);
+        } catch (RuntimeException e) {
+            log.debug("Could not measure the lag of read replica {}", replica.name, e);
+            lag = null;
+        }
+        boolean available = lag != null && lag <= maxLagMillis;
+        if (available != replica.available) {
+            if (available) {
+                log.info("Read replica {} is serving reads, {} ms behind the primary", replica.name, lag);
+            } else {
+                log.warn("Read replica {} stopped serving reads; lag is {} ms, tolerance is {} ms",
+                        replica.name, lag == null ? "unknown" : lag, maxLagMillis);
+            }
+        }
+        replica.lagMillis = lag;
+        replica.available = available;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile Long lagMillis;
+        private volatile boolean available;
+
+        private Replica(String name, JdbcTemplate jdbcTemplate) {
+            this.name = name;
+            this.jdbcTemplate = jdbcTemplate;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+-- Schema previously created by docker/postgres/init.sql. Every statement is guarded, so databases
+-- that init.sql already set up are brought under Flyway by running this migration over them.
+
+CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_type WHERE typname = 'gender_type') THEN
+        CREATE TYPE gender_type AS ENUM ('MALE', 'FEMALE', 'OTHER', 'PREFER_NOT_TO_SAY');
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_type WHERE typname = 'party_type') THEN
+        CREATE TYPE party_type AS ENUM ('PERSON', 'ORGANIZATION');
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_type WHERE typname = 'contact_mechanism_type') THEN
+        CREATE TYPE contact_mechanism_type AS ENUM ('EMAIL_ADDRESS', 'TELECOM_NUMBER', 'POSTAL_ADDRESS');
+    END IF;
+END $$;
+
+-- Application users and their roles, looked up in bulk by the GraphQL User batch loaders
+CREATE TABLE IF NOT EXISTS app_user (
+    username VARCHAR(100) PRIMARY KEY,
+    email VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS app_user_role (
+    username VARCHAR(100) NOT NULL REFERENCES app_user(username) ON DELETE CASCADE,
+    role VARCHAR(100) NOT NULL,
+    PRIMARY KEY (username, role)
+);
+
+-- Parties. Ids come from sequences that increment by the JPA allocation size (50), so the
+-- application reserves a block of ids per sequence call and can batch its inserts.
+CREATE SEQUENCE IF NOT EXISTS party_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS party (
+    id BIGINT PRIMARY KEY,
+    party_type party_type NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS person (
+    id BIGINT PRIMARY KEY REFERENCES party(id) ON DELETE CASCADE,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    birth_date DATE,
+    gender gender_type
+);
+
+CREATE TABLE IF NOT EXISTS organization (
+    id BIGINT PRIMARY KEY REFERENCES party(id) ON DELETE CASCADE,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS contact_mechanism_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS contact_mechanism (
+    id BIGINT PRIMARY KEY,
+    party_id BIGINT NOT NULL REFERENCES party(id) ON DELETE CASCADE,
+    mechanism_type contact_mechanism_type NOT NULL,
+    value VARCHAR(255) NOT NULL
+);
+
+-- Simple health check function for monitoring. init.sql declared the second column unquoted, which
+-- PostgreSQL rejects, so the function never existed before this migration.
+CREATE OR REPLACE FUNCTION health_check()
+RETURNS TABLE(status text, "timestamp" timestamptz) AS $$
+BEGIN
+    RETURN QUERY SELECT 'healthy'::text, now();
+END;
+$$ LANGUAGE plpgsql;
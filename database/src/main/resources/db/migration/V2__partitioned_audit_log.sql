@@ -0,0 +1,52 @@
+-- Audit trail of committed entity changes, partitioned by month on changed_at. Partitions are
+-- named audit_log_yYYYYmMM and are created ahead of time, and dropped or detached after the
+-- retention period, by AuditLogPartitionMaintenance. Rows outside every monthly partition land in
+-- audit_log_default.
+--
+-- A database whose audit_log was created unpartitioned by an earlier init.sql is converted in
+-- place: the old heap is not copied but attached as the partition holding everything up to the end
+-- of the current month, which the retention job removes once that month expires.
+DO $$
+DECLARE
+    next_month timestamptz := (date_trunc('month', now() AT TIME ZONE 'UTC') + interval '1 month') AT TIME ZONE 'UTC';
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('audit_log')) = 'r' THEN
+        LOCK TABLE audit_log IN ACCESS EXCLUSIVE MODE;
+        UPDATE audit_log SET changed_at = 'epoch' WHERE changed_at IS NULL;
+        ALTER TABLE audit_log ALTER COLUMN changed_at SET NOT NULL;
+        ALTER TABLE audit_log RENAME TO audit_log_legacy;
+        -- ATTACH builds the (id, changed_at) primary key on the partition; a table has only one
+        ALTER TABLE audit_log_legacy DROP CONSTRAINT audit_log_pkey;
+        DROP INDEX IF EXISTS idx_audit_log_table_name;
+        DROP INDEX IF EXISTS idx_audit_log_changed_at;
+        -- A validated CHECK matching the partition bound lets ATTACH skip its own scan
+        EXECUTE format('ALTER TABLE audit_log_legacy ADD CONSTRAINT audit_log_legacy_range CHECK (changed_at < %L)',
+                       next_month);
+    END IF;
+
+    CREATE TABLE IF NOT EXISTS audit_log (
+        id UUID NOT NULL DEFAULT uuid_generate_v4(),
+        table_name VARCHAR(100) NOT NULL,
+        operation VARCHAR(10) NOT NULL, -- INSERT, UPDATE, DELETE
+        old_values JSONB,
+        new_values JSONB,
+        changed_by VARCHAR(100),
+        changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+        PRIMARY KEY (id, changed_at)
+    ) PARTITION BY RANGE (changed_at);
+
+    IF to_regclass('audit_log_legacy') IS NOT NULL THEN
+        EXECUTE format('ALTER TABLE audit_log ATTACH PARTITION audit_log_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                       next_month);
+        ALTER TABLE audit_log_legacy DROP CONSTRAINT audit_log_legacy_range;
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS audit_log_default PARTITION OF audit_log DEFAULT;
+
+-- Rows are appended in changed_at order, so a BRIN index answers time ranges at a fraction of a
+-- b-tree's size and insert cost; history of one table is read through (table_name, changed_at).
+-- PostgreSQL cannot build indexes on a partitioned table CONCURRENTLY; the table is new or only
+-- just converted here, so building them under this migration's lock is cheap.
+CREATE INDEX IF NOT EXISTS idx_audit_log_changed_at ON audit_log USING brin (changed_at);
+CREATE INDEX IF NOT EXISTS idx_audit_log_table_name_changed_at ON audit_log (table_name, changed_at);
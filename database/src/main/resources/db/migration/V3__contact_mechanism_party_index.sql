@@ -0,0 +1,4 @@
+-- Built without blocking writes. Flyway runs CONCURRENTLY statements outside a transaction, so
+-- migrations that add indexes to existing tables hold only this statement each; if a build fails,
+-- drop the INVALID index it leaves behind before repairing and re-running the migration.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_mechanism_party_id ON contact_mechanism (party_id);
@@ -0,0 +1,14 @@
+-- Search over party names and e-mail addresses, see PartySearch. The indexes are built
+-- concurrently by V5, which cannot share a transaction with these statements.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Adding a stored column rewrites the table, holding an exclusive lock until it is done.
+-- The 'simple' configuration neither stems words nor drops stop words, which suits names.
+ALTER TABLE person ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', first_name || ' ' || last_name)) STORED;
+
+ALTER TABLE organization ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', name)) STORED;
+
+ALTER TABLE contact_mechanism ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', value)) STORED;
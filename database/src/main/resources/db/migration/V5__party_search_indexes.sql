@@ -0,0 +1,21 @@
+-- GIN indexes for PartySearch: tsvector indexes answer whole-word matches, trigram indexes answer
+-- misspelt and partial names and parts of e-mail addresses. Built concurrently, so parties stay
+-- writable meanwhile; if a build fails, drop the INVALID index it leaves behind, and a re-run
+-- skips the ones already built.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_search_vector
+    ON person USING gin (search_vector);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_full_name_trgm
+    ON person USING gin ((first_name || ' ' || last_name) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_organization_search_vector
+    ON organization USING gin (search_vector);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_organization_name_trgm
+    ON organization USING gin (name gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_mechanism_email_search_vector
+    ON contact_mechanism USING gin (search_vector) WHERE mechanism_type = 'EMAIL_ADDRESS';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contact_mechanism_email_trgm
+    ON contact_mechanism USING gin (value gin_trgm_ops) WHERE mechanism_type = 'EMAIL_ADDRESS';
@@ -0,0 +1,36 @@
+-- Announces created, updated and deleted parties on the party_changes channel for PartyChangeFeed.
+-- The triggers run once per statement and send one notification per party type and 200 ids, which
+-- keeps payloads under PostgreSQL's 8000 byte limit and bulk loads, COPY included, down to a few
+-- notifications. PostgreSQL only delivers them once the transaction commits.
+CREATE OR REPLACE FUNCTION notify_party_changes() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    -- Rows of party carry their own party_type; person and organization pass theirs as an argument
+    PERFORM pg_notify('party_changes', json_build_object(
+                'change', TG_ARGV[0], 'partyType', party_type, 'ids', json_agg(id ORDER BY id))::text)
+    FROM (SELECT id,
+                 coalesce(to_jsonb(changed) ->> 'party_type', TG_ARGV[1]) AS party_type,
+                 (row_number() OVER (ORDER BY id) - 1) / 200 AS chunk
+          FROM changed_rows AS changed) AS numbered
+    GROUP BY party_type, chunk;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER party_created
+    AFTER INSERT ON party REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_party_changes('CREATED');
+
+CREATE TRIGGER party_deleted
+    AFTER DELETE ON party REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_party_changes('DELETED');
+
+-- party's own columns never change, so updates are seen on the subtype tables
+CREATE TRIGGER person_updated
+    AFTER UPDATE ON person REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_party_changes('UPDATED', 'PERSON');
+
+CREATE TRIGGER organization_updated
+    AFTER UPDATE ON organization REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_party_changes('UPDATED', 'ORGANIZATION');
@@ -0,0 +1,122 @@
+package org.erp_microservices.domain_template.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.erp_microservices.domain_template.party.ContactMechanismType;
+import org.erp_microservices.domain_template.party.PartyPersistenceTestApplication;
+import org.erp_microservices.domain_template.party.PartyRepository;
+import org.erp_microservices.domain_template.party.Person;
+import org.erp_microservices.domain_template.party.PostgresTestSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(classes = PartyPersistenceTestApplication.class)
+@Tag("integration")
+@DisplayName("Audit Log Listener Integration Tests")
+class AuditLogListenerTest extends PostgresTestSupport {
+
+    @Autowired
+    private PartyRepository partyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transactionTemplate;
+    private AuditLogWriter writer;
+    private EventListenerRegistry listeners;
+    private AuditLogListener listener;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("DELETE FROM audit_log"));
+        writer = new AuditLogWriter(new JdbcAuditLogStore(jdbcTemplate, transactionManager, new ObjectMapper()),
+                new AuditLogProperties(), new SimpleMeterRegistry());
+        writer.start();
+        listener = new AuditLogListener(writer, () -> Optional.of("auditor"));
+        listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+        listeners.getEventListenerGroup(EventType.POST_COMMIT_INSERT).clearListeners();
+        listeners.getEventListenerGroup(EventType.POST_COMMIT_UPDATE).clearListeners();
+        listeners.getEventListenerGroup(EventType.POST_COMMIT_DELETE).clearListeners();
+    }
+
+    @Test
+    @DisplayName("Should write committed inserts, updates and deletes to audit_log")
+    void committedChanges_shouldBeAudited() {
+        // Given
+        Person person = transactionTemplate.execute(status -> {
+            Person saved = new Person("Ada", "Byron");
+            saved.addContactMechanism(ContactMechanismType.EMAIL_ADDRESS, "ada@example.com");
+            return partyRepository.save(saved);
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                ((Person) partyRepository.findById(person.getId()).orElseThrow()).setLastName("Lovelace"));
+        transactionTemplate.executeWithoutResult(status -> partyRepository.deleteById(person.getId()));
+
+        // When
+        writer.stop();
+
+        // Then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("""
+                SELECT operation, old_values->>'lastName' AS old_name, new_values->>'lastName' AS new_name,
+                       new_values->>'partyType' AS party_type, changed_by
+                FROM audit_log WHERE table_name = 'person' ORDER BY changed_at""");
+        assertThat(rows).extracting(row -> row.get("operation")).containsExactly("INSERT", "UPDATE", "DELETE");
+        assertThat(rows.get(0)).containsEntry("new_name", "Byron").containsEntry("party_type", "PERSON");
+        assertThat(rows.get(1)).containsEntry("old_name", "Byron").containsEntry("new_name", "Lovelace");
+        assertThat(rows.get(2)).containsEntry("old_name", "Lovelace").containsEntry("new_name", null);
+        assertThat(rows).allSatisfy(row -> assertThat(row).containsEntry("changed_by", "auditor"));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT new_values->>'party' FROM audit_log WHERE table_name = 'contact_mechanism' AND operation = 'INSERT'",
+                String.class)).isEqualTo(String.valueOf(person.getId()));
+    }
+
+    @Test
+    @DisplayName("Should not audit changes that were rolled back")
+    void rolledBackChanges_shouldNotBeAudited() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            partyRepository.saveAndFlush(new Person("Grace", "Hopper"));
+            status.setRollbackOnly();
+        });
+
+        // When
+        writer.stop();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM audit_log", Long.class)).isZero();
+    }
+}
@@ -0,0 +1,160 @@
+package org.erp_microservices.domain_template.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.erp_microservices.domain_template.party.PartyPersistenceTestApplication;
+import org.erp_microservices.domain_template.party.PostgresTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(classes = PartyPersistenceTestApplication.class)
+@Tag("integration")
+@DisplayName("Audit Log Partition Maintenance Integration Tests")
+class AuditLogPartitionMaintenanceTest extends PostgresTestSupport {
+
+    private static final YearMonth START = YearMonth.of(2031, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private AuditLogProperties.Partitions properties;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("""
+                    SELECT format('DROP TABLE %I', c.relname)
+                    FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                    WHERE i.inhparent = 'audit_log'::regclass AND c.relname <> 'audit_log_default'
+                    """, String.class).forEach(jdbcTemplate::execute);
+            jdbcTemplate.update("DELETE FROM audit_log");
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + AuditLogPartitionMaintenance.partitionName(START));
+        });
+        properties = new AuditLogProperties.Partitions();
+        properties.setMonthsAhead(2);
+        properties.setRetentionMonths(3);
+    }
+
+    @Test
+    @DisplayName("Should create the current month's partition and the configured months ahead")
+    void run_shouldCreatePartitionsAhead() {
+        // When
+        maintenance(START).run();
+
+        // Then
+        assertThat(partitions()).containsExactlyInAnyOrder(
+                "audit_log_default", "audit_log_y2031m01", "audit_log_y2031m02", "audit_log_y2031m03");
+        insert(OffsetDateTime.of(2031, 2, 14, 12, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM audit_log", String.class)).isEqualTo("audit_log_y2031m02");
+    }
+
+    @Test
+    @DisplayName("Should drop partitions older than the retention period")
+    void run_afterRetentionPeriod_shouldDropExpiredPartitions() {
+        // Given
+        maintenance(START).run();
+        insert(OffsetDateTime.of(2031, 1, 10, 0, 0, 0, 0, ZoneOffset.UTC));
+
+        // When
+        List<String> removed = maintenance(START.plusMonths(4)).run();
+
+        // Then
+        assertThat(removed).containsExactly("audit_log_y2031m01");
+        assertThat(partitions()).doesNotContain("audit_log_y2031m01").contains("audit_log_y2031m02", "audit_log_y2031m07");
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('audit_log_y2031m01')", String.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should detach expired partitions when the retention action is DETACH")
+    void run_withDetachAction_shouldKeepExpiredPartitionAsTable() {
+        // Given
+        properties.setRetentionAction(AuditLogProperties.RetentionAction.DETACH);
+        maintenance(START).run();
+        insert(OffsetDateTime.of(2031, 1, 10, 0, 0, 0, 0, ZoneOffset.UTC));
+
+        // When
+        maintenance(START.plusMonths(4)).run();
+
+        // Then
+        assertThat(partitions()).doesNotContain("audit_log_y2031m01");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM audit_log_y2031m01", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM audit_log", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should read history only from the partitions overlapping the range")
+    void find_shouldPruneToOverlappingPartitions() {
+        // Given
+        maintenance(START).run();
+        OffsetDateTime from = OffsetDateTime.of(2031, 2, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        insert(from.minusDays(1));
+        insert(from.plusDays(1));
+        insert(from.plusDays(2));
+
+        // When
+        List<AuditEntry> history = new AuditLogHistory(jdbcTemplate, new ObjectMapper())
+                .find(from, from.plusMonths(1), "person", 10);
+        List<String> plan = transactionTemplate.execute(status -> jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM audit_log WHERE changed_at >= ? AND changed_at < ? AND table_name = ?",
+                String.class, from, from.plusMonths(1), "person"));
+
+        // Then
+        assertThat(history).extracting(AuditEntry::changedAt)
+                .containsExactly(from.plusDays(2), from.plusDays(1));
+        assertThat(history.get(0).newValues()).containsEntry("lastName", "Lovelace");
+        assertThat(String.join("\n", plan)).contains("audit_log_y2031m02")
+                .doesNotContain("audit_log_y2031m01").doesNotContain("audit_log_y2031m03");
+    }
+
+    @Test
+    @DisplayName("Should refuse ranges longer than the maximum")
+    void find_withTooLongRange_shouldThrow() {
+        // Given
+        OffsetDateTime from = OffsetDateTime.of(2031, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        // When/Then
+        assertThatThrownBy(() -> new AuditLogHistory(jdbcTemplate, new ObjectMapper())
+                .find(from, from.plusYears(2), null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private AuditLogPartitionMaintenance maintenance(YearMonth month) {
+        Clock clock = Clock.fixed(month.atDay(15).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new AuditLogPartitionMaintenance(jdbcTemplate, transactionManager, properties, clock);
+    }
+
+    private void insert(OffsetDateTime changedAt) {
+        new JdbcAuditLogStore(jdbcTemplate, transactionManager, new ObjectMapper()).insertAll(List.of(new AuditEntry(
+                UUID.randomUUID(), "person", AuditEntry.Operation.INSERT, null, Map.of("lastName", "Lovelace"),
+                "tester", changedAt)));
+    }
+
+    private List<String> partitions() {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'audit_log'::regclass
+                """, String.class));
+    }
+}
@@ -0,0 +1,241 @@
+package org.erp_microservices.domain_template.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("Audit Log Writer Tests")
+class AuditLogWriterTest {
+
+    private final List<List<AuditEntry>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+    private final AuditLogStore store = entries -> {
+        batches.add(List.copyOf(entries));
+        threads.add(Thread.currentThread().getName());
+    };
+
+    private AuditLogProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditLogProperties();
+        properties.setBatchSize(3);
+        properties.setFlushInterval(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write a batch as soon as it is full")
+    void submit_withFullBatch_shouldFlushBySize() {
+        // Given
+        writer = start(store);
+
+        // When
+        for (int i = 0; i < 7; i++) {
+            writer.submit(entry(i));
+        }
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> batches.size() == 2);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSize(3));
+        assertThat(threads).containsOnly("audit-log-writer");
+    }
+
+    @Test
+    @DisplayName("Should write a partial batch once the flush interval has passed")
+    void submit_withPartialBatch_shouldFlushByTime() {
+        // Given
+        properties.setFlushInterval(Duration.ofMillis(50));
+        writer = start(store);
+
+        // When
+        writer.submit(entry(1));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> batches.size() == 1);
+        assertThat(batches.get(0)).hasSize(1);
+        assertThat(meterRegistry.get(AuditLogWriter.FLUSH_METRIC).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should write every queued entry on stop")
+    void stop_shouldDrainQueue() {
+        // Given
+        writer = start(store);
+        for (int i = 0; i < 10; i++) {
+            writer.submit(entry(i));
+        }
+
+        // When
+        writer.stop();
+
+        // Then
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(10);
+        assertThat(meterRegistry.get(AuditLogWriter.ENTRIES_METRIC).tag("outcome", "written").counter().count())
+                .isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should write on the caller's thread when the queue stays full")
+    void submit_withFullQueue_shouldWriteOnCallerThread() throws InterruptedException {
+        // Given
+        properties.setQueueCapacity(1);
+        properties.setBatchSize(1);
+        properties.setOfferTimeout(Duration.ofMillis(10));
+        CountDownLatch release = new CountDownLatch(1);
+        writer = start(entries -> {
+            if (Thread.currentThread().getName().equals("audit-log-writer")) {
+                awaitQuietly(release);
+            }
+            store.insertAll(entries);
+        });
+        writer.submit(entry(1));
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> meterRegistry.get(AuditLogWriter.QUEUE_METRIC).gauge().value() == 0);
+        writer.submit(entry(2));
+
+        // When
+        writer.submit(entry(3));
+
+        // Then
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+        assertThat(meterRegistry.get(AuditLogWriter.ENTRIES_METRIC).tag("outcome", "written-by-caller")
+                .counter().count()).isEqualTo(1);
+        release.countDown();
+        writer.stop();
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should retry a batch the store failed to write")
+    void flush_withFailingStore_shouldRetry() {
+        // Given
+        properties.setFlushInterval(Duration.ofMillis(20));
+        AtomicInteger attempts = new AtomicInteger();
+        writer = start(entries -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("database unavailable");
+            }
+            store.insertAll(entries);
+        });
+
+        // When
+        writer.submit(entry(1));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> batches.size() == 1);
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(meterRegistry.get(AuditLogWriter.ENTRIES_METRIC).tag("outcome", "written").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(AuditLogWriter.ENTRIES_METRIC).tag("outcome", "failed").counter().count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should not add entries to a full batch while retrying it")
+    void flush_withFailingStore_shouldKeepBatchWithinBatchSize() {
+        // Given
+        properties.setFlushInterval(Duration.ofMillis(20));
+        properties.setFlushAttempts(10);
+        List<Integer> attemptedSizes = Collections.synchronizedList(new ArrayList<>());
+        writer = start(entries -> {
+            attemptedSizes.add(entries.size());
+            if (attemptedSizes.size() < 5) {
+                throw new IllegalStateException("database unavailable");
+            }
+            store.insertAll(entries);
+        });
+
+        // When
+        for (int i = 0; i < 7; i++) {
+            writer.submit(entry(i));
+        }
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> batches.stream().mapToInt(List::size).sum() == 7);
+        assertThat(attemptedSizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(3));
+    }
+
+    @Test
+    @DisplayName("Should write a batch one entry at a time after its last attempt, dropping entries that still fail")
+    void flush_withRejectedEntry_shouldDropOnlyThatEntry() {
+        // Given
+        properties.setFlushInterval(Duration.ofMillis(20));
+        AuditEntry rejected = entry(1);
+        AtomicInteger attempts = new AtomicInteger();
+        writer = start(entries -> {
+            attempts.incrementAndGet();
+            if (entries.contains(rejected)) {
+                throw new IllegalArgumentException("value too long");
+            }
+            store.insertAll(entries);
+        });
+
+        // When
+        writer.submit(entry(0));
+        writer.submit(rejected);
+        writer.submit(entry(2));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> batches.size() == 2);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSize(1).doesNotContain(rejected));
+        assertThat(attempts.get()).isEqualTo(properties.getFlushAttempts() + 3);
+        assertThat(meterRegistry.get(AuditLogWriter.ENTRIES_METRIC).tag("outcome", "failed").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(AuditLogWriter.ENTRIES_METRIC).tag("outcome", "written").counter().count())
+                .isEqualTo(2);
+
+        // When
+        writer.submit(entry(3));
+        writer.submit(entry(4));
+        writer.submit(entry(5));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> batches.size() == 3);
+        assertThat(batches.get(2)).hasSize(3);
+    }
+
+    private AuditLogWriter start(AuditLogStore auditLogStore) {
+        AuditLogWriter started = new AuditLogWriter(auditLogStore, properties, meterRegistry);
+        started.start();
+        return started;
+    }
+
+    private static AuditEntry entry(int i) {
+        return new AuditEntry(UUID.randomUUID(), "person", AuditEntry.Operation.INSERT, null,
+                Map.of("id", i), "tester", OffsetDateTime.now());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.erp_microservices.domain_template.party;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.erp_microservices.domain_template.audit.AuditLogListener;
+import org.erp_microservices.domain_template.audit.AuditLogProperties;
+import org.erp_microservices.domain_template.audit.AuditLogWriter;
+import org.erp_microservices.domain_template.audit.BulkInsertAuditor;
+import org.erp_microservices.domain_template.audit.JdbcAuditLogStore;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(classes = PartyPersistenceTestApplication.class)
+@Tag("integration")
+@DisplayName("Party Batch Writer Integration Tests")
+class PartyBatchWriterTest extends PostgresTestSupport {
+
+    @Autowired
+    private PartyBatchWriter writer;
+
+    @Autowired
+    private PartyRepository partyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        partyRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should write parties in JDBC batches rather than row by row")
+    void persistAll_shouldBatchInserts() {
+        // Given
+        List<Party> parties = new ArrayList<>();
+        IntStream.range(0, 500).forEach(i -> {
+            Person person = new Person("First" + i, "Last" + i);
+            person.addContactMechanism(ContactMechanismType.EMAIL_ADDRESS, "person" + i + "@example.com");
+            parties.add(person);
+        });
+
+        // When
+        long written = writer.persistAll(parties);
+
+        // Then
+        assertThat(written).isEqualTo(500);
+        assertThat(partyRepository.count()).isEqualTo(500);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1_000);
+        // 1,500 rows in three tables: 30 batches plus 20 sequence calls, rather than 1,500 inserts
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(100);
+    }
+
+    @Test
+    @DisplayName("Should allocate ids from the sequence in blocks")
+    void persistAll_shouldAllocateIdsInBlocks() {
+        // Given
+        List<Party> parties = IntStream.range(0, 120)
+                .<Party>mapToObj(i -> new Organization("Organization " + i))
+                .toList();
+
+        // When
+        writer.persistAll(parties);
+
+        // Then
+        List<Long> ids = parties.stream().map(Party::getId).sorted().toList();
+        assertThat(ids).doesNotHaveDuplicates().hasSize(120);
+        assertThat(ids.get(119) - ids.get(0)).isLessThan(3L * Party.ID_ALLOCATION_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should audit each batch as it is written instead of holding every insert until commit")
+    void persistAll_withAuditListenerRegistered_shouldNotRetainInsertsUntilCommit() {
+        // Given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("DELETE FROM audit_log"));
+        AuditLogWriter auditLogWriter = new AuditLogWriter(
+                new JdbcAuditLogStore(jdbcTemplate, transactionManager, new ObjectMapper()),
+                new AuditLogProperties(), new SimpleMeterRegistry());
+        auditLogWriter.start();
+        BulkInsertAuditor bulkInsertAuditor = new BulkInsertAuditor(new JdbcAuditLogStore(jdbcTemplate,
+                transactionManager, new ObjectMapper(), TransactionDefinition.PROPAGATION_MANDATORY),
+                () -> Optional.of("importer"));
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT,
+                new AuditLogListener(auditLogWriter, () -> Optional.of("auditor")));
+        listeners.appendListeners(EventType.POST_INSERT, bulkInsertAuditor);
+        PartyBatchWriter auditedWriter = new PartyBatchWriter(entityManager, 50,
+                new StaticListableBeanFactory(Map.of("bulkInsertAuditor", bulkInsertAuditor))
+                        .getBeanProvider(BulkInsertAuditor.class));
+        AtomicBoolean retained = new AtomicBoolean();
+        Iterator<Party> parties = IntStream.range(0, 2_000).<Party>mapToObj(i -> {
+            retained.compareAndSet(false,
+                    entityManager.unwrap(SessionImplementor.class).getActionQueue().hasAfterTransactionActions());
+            return new Organization("Organization " + i);
+        }).iterator();
+
+        try {
+            // When
+            Long written = transactionTemplate.execute(status -> auditedWriter.persistAll(parties));
+            auditLogWriter.stop();
+
+            // Then
+            assertThat(written).isEqualTo(2_000);
+            assertThat(retained).as("inserts held by Hibernate until commit").isFalse();
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM audit_log WHERE table_name = 'organization' AND changed_by = 'importer'",
+                    Long.class)).isEqualTo(2_000);
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM audit_log WHERE changed_by = 'auditor'",
+                    Long.class)).isZero();
+        } finally {
+            auditLogWriter.stop();
+            listeners.getEventListenerGroup(EventType.POST_COMMIT_INSERT).clearListeners();
+            listeners.getEventListenerGroup(EventType.POST_INSERT).clearListeners();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.erp_microservices.domain_template.party;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(classes = PartyPersistenceTestApplication.class)
+@Tag("integration")
+@DisplayName("Party Change Feed Integration Tests")
+class PartyChangeFeedTest extends PostgresTestSupport {
+
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
+    @Autowired
+    private PartyBatchWriter writer;
+
+    @Autowired
+    private PartyRepository partyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<PartyChange> changes = new CopyOnWriteArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private PartyChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        partyRepository.deleteAllInBatch();
+        meterRegistry = new SimpleMeterRegistry();
+        // Outside the pool, as in the application, so no pooled connection is left listening
+        SimpleDriverDataSource dataSource = DataSourceBuilder.create()
+                .type(SimpleDriverDataSource.class)
+                .url(connectionDetails.getJdbcUrl())
+                .username(connectionDetails.getUsername())
+                .password(connectionDetails.getPassword())
+                .build();
+        feed = new PartyChangeFeed(dataSource, new ObjectMapper(), new PartyChangeProperties(), changes::add,
+                meterRegistry);
+        feed.start();
+        await().atMost(Duration.ofSeconds(5)).until(feed::isConnected);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    @DisplayName("Should announce created parties with their type once the transaction commits")
+    void feed_withCreatedParties_shouldDeliverCreatedChanges() {
+        // Given
+        Person ada = new Person("Ada", "Lovelace");
+        Organization analytical = new Organization("Analytical Engines Ltd");
+
+        // When
+        writer.persistAll(List.of(ada, analytical));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> changes.size() == 2);
+        assertThat(changes).containsExactlyInAnyOrder(
+                new PartyChange(PartyChange.Type.CREATED, ada.getId(), PartyType.PERSON),
+                new PartyChange(PartyChange.Type.CREATED, analytical.getId(), PartyType.ORGANIZATION));
+        assertThat(meterRegistry.get(PartyChangeFeed.CHANGES_METRIC).tag("outcome", "received").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should announce updated and deleted parties")
+    void feed_withUpdatedAndDeletedParty_shouldDeliverChanges() {
+        // Given
+        Person ada = new Person("Ada", "Byron");
+        writer.persistAll(List.of(ada));
+        await().atMost(Duration.ofSeconds(5)).until(() -> changes.size() == 1);
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+                ((Person) partyRepository.findById(ada.getId()).orElseThrow()).setLastName("Lovelace"));
+        partyRepository.deleteById(ada.getId());
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> changes.size() == 3);
+        assertThat(changes).extracting(PartyChange::type).containsExactly(
+                PartyChange.Type.CREATED, PartyChange.Type.UPDATED, PartyChange.Type.DELETED);
+        assertThat(changes).extracting(PartyChange::partyId).containsOnly(ada.getId());
+        assertThat(changes).extracting(PartyChange::partyType).containsOnly(PartyType.PERSON);
+    }
+
+    @Test
+    @DisplayName("Should not announce changes that were rolled back")
+    void feed_withRolledBackChange_shouldDeliverNothing() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            partyRepository.saveAndFlush(new Person("Charles", "Babbage"));
+            status.setRollbackOnly();
+        });
+        writer.persistAll(List.of(new Organization("Marker")));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> !changes.isEmpty());
+        assertThat(changes).extracting(PartyChange::partyType).containsExactly(PartyType.ORGANIZATION);
+    }
+
+    @Test
+    @DisplayName("Should deliver every party of a bulk insert, however many notifications it takes")
+    void feed_withBulkInsert_shouldDeliverEveryParty() {
+        // Given
+        List<Party> parties = IntStream.range(0, 1_000)
+                .<Party>mapToObj(i -> i % 4 == 0
+                        ? new Organization("Organization " + i)
+                        : new Person("First" + i, "Last"))
+                .toList();
+
+        // When
+        writer.persistAll(parties);
+
+        // Then
+        await().atMost(Duration.ofSeconds(10)).until(() -> changes.size() == 1_000);
+        assertThat(changes).extracting(PartyChange::partyId)
+                .containsExactlyInAnyOrderElementsOf(parties.stream().map(Party::getId).toList());
+        assertThat(changes).filteredOn(change -> change.partyType() == PartyType.ORGANIZATION).hasSize(250);
+    }
+
+    @Test
+    @DisplayName("Should skip a notification it cannot read and keep listening")
+    void dispatch_withMalformedPayload_shouldCountAndIgnoreIt() {
+        // When
+        feed.dispatch("{\"change\":\"RENAMED\",\"partyType\":\"PERSON\",\"ids\":[1]}");
+        feed.dispatch("{\"change\":\"DELETED\",\"partyType\":\"PERSON\",\"ids\":[7,8]}");
+
+        // Then
+        assertThat(changes).containsExactly(
+                new PartyChange(PartyChange.Type.DELETED, 7L, PartyType.PERSON),
+                new PartyChange(PartyChange.Type.DELETED, 8L, PartyType.PERSON));
+        assertThat(meterRegistry.get(PartyChangeFeed.CHANGES_METRIC).tag("outcome", "malformed").counter().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,91 @@
+package org.erp_microservices.domain_template.party;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Imports {@code benchmark.parties} parties (one million by default), each with one contact
+ * mechanism, in transactions of 10,000 and prints rows per second. Run with
+ * {@code ./gradlew :database:partyImportBenchmark}.
+ */
+@SpringBootTest(classes = PartyPersistenceTestApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+@Tag("benchmark")
+@DisplayName("Party Import Benchmark")
+class PartyImportBenchmark extends PostgresTestSupport {
+
+    private static final int TRANSACTION_SIZE = 10_000;
+
+    @Autowired
+    private PartyBatchWriter writer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Import parties through the batched writer")
+    void importParties() {
+        int total = Integer.getInteger("benchmark.parties", 1_000_000);
+
+        long start = System.nanoTime();
+        long written = 0;
+        while (written < total) {
+            written += writer.persistAll(new GeneratedParties(written, Math.min(TRANSACTION_SIZE, total - written)));
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Long rows = jdbcTemplate.queryForObject("SELECT (SELECT count(*) FROM party) + (SELECT count(*) FROM person)"
+                + " + (SELECT count(*) FROM organization) + (SELECT count(*) FROM contact_mechanism)", Long.class);
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        System.out.printf(Locale.ROOT, "Imported %,d parties (%,d rows) in %.1f s: %,.0f parties/s, %,.0f rows/s%n",
+                written, rows, seconds, written / seconds, rows / seconds);
+
+        assertThat(written).isEqualTo(total);
+    }
+
+    /**
+     * Generates persons and organizations lazily, so the benchmark measures writing rather than
+     * holding a million entities in memory.
+     */
+    private static final class GeneratedParties implements Iterator<Party> {
+
+        private final long first;
+        private final long end;
+        private long next;
+
+        private GeneratedParties(long first, long count) {
+            this.first = first;
+            this.end = first + count;
+            this.next = first;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public Party next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Generated " + (end - first) + " parties");
+            }
+            long n = next++;
+            Party party = n % 5 == 0
+                    ? new Organization("Organization " + n)
+                    : new Person("First" + n, "Last" + n);
+            party.addContactMechanism(ContactMechanismType.EMAIL_ADDRESS, "party" + n + "@example.com");
+            return party;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.erp_microservices.domain_template.party;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pages through a million parties to show that keyset pages cost the same however deep they are,
+ * where an {@code OFFSET} page gets slower the further it is from the start.
+ */
+@SpringBootTest(classes = PartyPersistenceTestApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+@Tag("integration")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Party Keyset Pagination Integration Tests")
+class PartyKeysetPaginationTest extends PostgresTestSupport {
+
+    private static final int PARTIES = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP = 200;
+    private static final int SAMPLES = 50;
+
+    @Autowired
+    private PartyRepository partyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void seedParties() {
+        truncate();
+        transactionTemplate.executeWithoutResult(status -> {
+            insertParties();
+            jdbcTemplate.execute("ANALYZE party, person, organization");
+        });
+    }
+
+    @AfterAll
+    void truncate() {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.execute("TRUNCATE party, person, organization, contact_mechanism"));
+    }
+
+    private void insertParties() {
+        // Ids come from the sequence, as they would through JPA, so later tests sharing this
+        // context cannot be handed an id that is already taken.
+        jdbcTemplate.update("""
+                INSERT INTO party (id, party_type, created_at)
+                SELECT nextval('party_id_seq'),
+                       CASE WHEN n % 5 = 0 THEN 'ORGANIZATION'::party_type ELSE 'PERSON'::party_type END,
+                       now()
+                FROM generate_series(1, ?) AS n
+                """, PARTIES);
+        jdbcTemplate.update("""
+                INSERT INTO person (id, first_name, last_name)
+                SELECT id, 'First' || id, 'Last' || id FROM party WHERE party_type = 'PERSON'
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO organization (id, name)
+                SELECT id, 'Organization ' || id FROM party WHERE party_type = 'ORGANIZATION'
+                """);
+    }
+
+    @Test
+    @DisplayName("Should take as long to read a deep page as the first page")
+    void findBy_deepKeysetPage_shouldCostTheSameAsTheFirst() {
+        // Given
+        double[] depths = {0, 0.25, 0.5, 0.75, 0.999};
+        List<Double> keysetMillis = new ArrayList<>();
+
+        // When
+        for (double depth : depths) {
+            int offset = (int) (PARTIES * depth);
+            ScrollPosition position = offset == 0
+                    ? ScrollPosition.keyset()
+                    : ScrollPosition.forward(Map.of("id", idAt(offset - 1)));
+            keysetMillis.add(medianMillis(() -> partyRepository.findPage(null, position, Limit.of(PAGE_SIZE))));
+        }
+        double firstOffsetPage = medianMillis(() -> offsetPage(0));
+        double deepOffsetPage = medianMillis(() -> offsetPage(PARTIES - PAGE_SIZE));
+
+        // Then
+        for (int i = 0; i < depths.length; i++) {
+            System.out.printf(Locale.ROOT, "Keyset page at %5.1f%%: %.3f ms%n", depths[i] * 100, keysetMillis.get(i));
+        }
+        System.out.printf(Locale.ROOT, "OFFSET page at 0%%: %.3f ms, at 100%%: %.3f ms%n",
+                firstOffsetPage, deepOffsetPage);
+
+        double first = keysetMillis.get(0);
+        assertThat(keysetMillis).allSatisfy(millis -> assertThat(millis).isLessThan(first * 3 + 2));
+        assertThat(deepOffsetPage).isGreaterThan(keysetMillis.get(depths.length - 1) * 5);
+    }
+
+    @Test
+    @DisplayName("Should visit every party exactly once when following cursors")
+    void findBy_followingCursors_shouldPartitionTheTable() {
+        // Given
+        List<Long> seen = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+
+        // When
+        for (int page = 0; page < 50; page++) {
+            Window<Party> window = partyRepository.findPage(PartyType.ORGANIZATION, position, Limit.of(PAGE_SIZE));
+            window.forEach(party -> seen.add(party.getId()));
+            position = window.positionAt(window.size() - 1);
+        }
+
+        // Then
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM party WHERE party_type = 'ORGANIZATION' ORDER BY id LIMIT ?",
+                Long.class, 50 * PAGE_SIZE);
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    private long idAt(int offset) {
+        return jdbcTemplate.queryForObject("SELECT id FROM party ORDER BY id OFFSET ? LIMIT 1", Long.class, offset);
+    }
+
+    private void offsetPage(int offset) {
+        jdbcTemplate.queryForList("""
+                SELECT p.id, p.party_type, pe.first_name, pe.last_name, o.name
+                FROM party p
+                LEFT JOIN person pe ON pe.id = p.id
+                LEFT JOIN organization o ON o.id = p.id
+                ORDER BY p.id OFFSET ? LIMIT ?
+                """, offset, PAGE_SIZE);
+    }
+
+    private static double medianMillis(Runnable page) {
+        for (int i = 0; i < WARMUP; i++) {
+            page.run();
+        }
+        double[] millis = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            page.run();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[SAMPLES / 2];
+    }
+}
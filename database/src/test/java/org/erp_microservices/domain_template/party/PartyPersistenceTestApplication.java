@@ -0,0 +1,18 @@
+package org.erp_microservices.domain_template.party;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Boots the persistence layer on its own for the database module's tests.
+ */
+@SpringBootApplication
+public class PartyPersistenceTestApplication {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
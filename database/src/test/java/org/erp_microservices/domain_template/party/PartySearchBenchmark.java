@@ -0,0 +1,194 @@
+package org.erp_microservices.domain_template.party;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Loads {@code benchmark.parties} synthetic parties (five million by default), each with an e-mail
+ * address, and compares the median time to read the first page of {@link PartySearch} results
+ * with a {@code LIKE '%text%'} scan for the same text. Run with
+ * {@code ./gradlew :database:partySearchBenchmark}.
+ *
+ * <p>The search indexes are dropped while the parties are loaded and rebuilt afterwards, which is
+ * how a bulk load of this size would be done; the rebuild time is reported too.
+ */
+@SpringBootTest(classes = PartyPersistenceTestApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+@Tag("benchmark")
+@DisplayName("Party Search Benchmark")
+class PartySearchBenchmark extends PostgresTestSupport {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP = 5;
+    private static final int SAMPLES = 21;
+
+    private static final List<String> SEARCH_INDEXES = List.of(
+            "idx_person_search_vector", "idx_person_full_name_trgm",
+            "idx_organization_search_vector", "idx_organization_name_trgm",
+            "idx_contact_mechanism_email_search_vector", "idx_contact_mechanism_email_trgm");
+
+    /**
+     * 40 first names and 32 x 16 = 512 last names, so a full name matches about one person in
+     * 20,000, and a last name alone one in 512.
+     */
+    private static final String GENERATE = """
+            WITH names AS (
+                SELECT ARRAY['Anna', 'Ben', 'Clara', 'David', 'Emma', 'Felix', 'Greta', 'Hugo', 'Ida', 'Jonas',
+                             'Karin', 'Lars', 'Maja', 'Nils', 'Olga', 'Paul', 'Quinn', 'Rosa', 'Sven', 'Tara',
+                             'Ulf', 'Vera', 'Walter', 'Xenia', 'Yusuf', 'Zoe', 'Amir', 'Bea', 'Carl', 'Dora',
+                             'Erik', 'Frida', 'Gustav', 'Hanna', 'Ivan', 'Julia', 'Karl', 'Lena', 'Mats', 'Nora'] AS first,
+                       ARRAY['And', 'Berg', 'Carl', 'Dahl', 'Eng', 'Fors', 'Gran', 'Holm', 'Is', 'Jo', 'Karl',
+                             'Lind', 'Malm', 'Nord', 'Ols', 'Pers', 'Ros', 'Sand', 'Tor', 'Ulv', 'Vik', 'Wall',
+                             'Ahl', 'Bj', 'Ceder', 'Dal', 'Ek', 'Falk', 'Gyll', 'Hed', 'Ing', 'Jans'] AS stem,
+                       ARRAY['ersson', 'strom', 'gren', 'qvist', 'berg', 'lund', 'man', 'ander', 'holm', 'by',
+                             'stedt', 'dal', 'feldt', 'sson', 'lof', 'hammar'] AS ending,
+                       ARRAY['Northwind', 'Contoso', 'Fabrikam', 'Tailspin', 'Wingtip', 'Litware', 'Adatum',
+                             'Proseware', 'Lucerne', 'Margie', 'Alpine', 'Coho', 'Fourth', 'Graphic', 'Humongous',
+                             'Wide World'] AS company,
+                       ARRAY['Logistics', 'Trading', 'Consulting', 'Foods', 'Motors', 'Labs', 'Media', 'Energy',
+                             'Textiles', 'Shipping', 'Software', 'Holdings'] AS trade
+            ),
+            parties AS (
+                INSERT INTO party (id, party_type, created_at)
+                SELECT nextval('party_id_seq'),
+                       CASE WHEN n % 5 = 0 THEN 'ORGANIZATION'::party_type ELSE 'PERSON'::party_type END,
+                       now()
+                FROM generate_series(1, ?) AS n
+                RETURNING id, party_type
+            ),
+            persons AS (
+                INSERT INTO person (id, first_name, last_name)
+                SELECT p.id, names.first[1 + p.id % 40],
+                       names.stem[1 + (p.id / 40) % 32] || names.ending[1 + (p.id / 1280) % 16]
+                FROM parties p, names
+                WHERE p.party_type = 'PERSON'
+                RETURNING id, first_name, last_name
+            ),
+            organizations AS (
+                INSERT INTO organization (id, name)
+                SELECT p.id, names.company[1 + p.id % 16] || ' ' || names.trade[1 + (p.id / 16) % 12] || ' ' || p.id
+                FROM parties p, names
+                WHERE p.party_type = 'ORGANIZATION'
+                RETURNING id
+            )
+            INSERT INTO contact_mechanism (id, party_id, mechanism_type, value)
+            SELECT nextval('contact_mechanism_id_seq'), id, 'EMAIL_ADDRESS'::contact_mechanism_type,
+                   lower(first_name || '.' || last_name) || id || '@example.com'
+            FROM persons
+            UNION ALL
+            SELECT nextval('contact_mechanism_id_seq'), id, 'EMAIL_ADDRESS'::contact_mechanism_type,
+                   'info' || id || '@example.com'
+            FROM organizations
+            """;
+
+    @Autowired
+    private PartySearch partySearch;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Search the first page of ranked results")
+    void searchParties() {
+        int total = Integer.getInteger("benchmark.parties", 5_000_000);
+        load(total);
+
+        String someEmail = jdbcTemplate.queryForObject(
+                "SELECT value FROM contact_mechanism ORDER BY id OFFSET ? LIMIT 1", String.class, total / 2);
+        String emailPrefix = someEmail.substring(0, someEmail.indexOf('@'));
+        Map<String, String> searches = new LinkedHashMap<>();
+        searches.put("full name", "Anna Andersson");
+        searches.put("misspelt full name", "Ana Andresson");
+        searches.put("last name", "Lindqvist");
+        searches.put("e-mail address", someEmail);
+        searches.put("e-mail prefix", emailPrefix);
+        searches.put("organization", "Northwind Logistics");
+
+        System.out.printf(Locale.ROOT, "%-20s %-40s %12s %12s%n", "Search", "Text", "search ms", "LIKE ms");
+        for (Map.Entry<String, String> search : searches.entrySet()) {
+            String text = search.getValue();
+            double searchMillis = medianMillis(() -> partySearch.search(text, ScrollPosition.keyset(), PAGE_SIZE));
+            double likeMillis = medianMillis(() -> like(text));
+            System.out.printf(Locale.ROOT, "%-20s %-40s %12.2f %12.2f%n", search.getKey(), text, searchMillis, likeMillis);
+            if (search.getKey().startsWith("e-mail")) {
+                // A selective search must come from the indexes, where LIKE reads every row
+                assertThat(searchMillis).isLessThan(likeMillis);
+            }
+        }
+        assertThat(partySearch.search(someEmail, ScrollPosition.keyset(), 1)).hasSize(1);
+    }
+
+    private void load(int total) {
+        Map<String, String> definitions = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT indexname, indexdef FROM pg_indexes WHERE indexname IN ("
+                        + String.join(", ", SEARCH_INDEXES.stream().map(name -> "'" + name + "'").toList()) + ")",
+                rs -> {
+                    definitions.put(rs.getString("indexname"), rs.getString("indexdef"));
+                });
+        assertThat(definitions).containsOnlyKeys(SEARCH_INDEXES);
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("TRUNCATE party, person, organization, contact_mechanism");
+            definitions.keySet().forEach(name -> jdbcTemplate.execute("DROP INDEX " + name));
+            jdbcTemplate.update(GENERATE, total);
+        });
+        double loadSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL maintenance_work_mem = '512MB'");
+            definitions.values().forEach(jdbcTemplate::execute);
+        });
+        double indexSeconds = (System.nanoTime() - start) / 1e9;
+        jdbcTemplate.execute("ANALYZE party, person, organization, contact_mechanism");
+
+        System.out.printf(Locale.ROOT, "Loaded %,d parties in %.1f s, built the search indexes in %.1f s%n",
+                total, loadSeconds, indexSeconds);
+    }
+
+    private void like(String text) {
+        jdbcTemplate.queryForList("""
+                SELECT p.id FROM party p
+                LEFT JOIN person pe ON pe.id = p.id
+                LEFT JOIN organization o ON o.id = p.id
+                WHERE pe.first_name || ' ' || pe.last_name ILIKE ?
+                   OR o.name ILIKE ?
+                   OR EXISTS (SELECT 1 FROM contact_mechanism cm
+                              WHERE cm.party_id = p.id AND cm.mechanism_type = 'EMAIL_ADDRESS' AND cm.value ILIKE ?)
+                ORDER BY p.id
+                LIMIT ?
+                """, Long.class, "%" + text + "%", "%" + text + "%", "%" + text + "%", PAGE_SIZE);
+    }
+
+    private static double medianMillis(Runnable search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.run();
+        }
+        double[] millis = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            search.run();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[SAMPLES / 2];
+    }
+}
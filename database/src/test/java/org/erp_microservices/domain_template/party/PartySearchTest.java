@@ -0,0 +1,160 @@
+package org.erp_microservices.domain_template.party;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(classes = PartyPersistenceTestApplication.class)
+@Tag("integration")
+@DisplayName("Party Search Integration Tests")
+class PartySearchTest extends PostgresTestSupport {
+
+    @Autowired
+    private PartySearch partySearch;
+
+    @Autowired
+    private PartyBatchWriter writer;
+
+    @Autowired
+    private PartyRepository partyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        partyRepository.deleteAllInBatch();
+        Person ada = new Person("Ada", "Lovelace");
+        ada.addContactMechanism(ContactMechanismType.EMAIL_ADDRESS, "countess@analytical.example");
+        ada.addContactMechanism(ContactMechanismType.TELECOM_NUMBER, "+44 20 7946 0018");
+        Person grace = new Person("Grace", "Hopper");
+        grace.addContactMechanism(ContactMechanismType.EMAIL_ADDRESS, "grace.hopper@navy.example");
+        writer.persistAll(List.of(ada, grace, new Organization("Lovelace Computing Ltd"),
+                new Organization("Hopper Logistics")));
+    }
+
+    @Test
+    @DisplayName("Should rank a party matching every word above one matching some")
+    void search_withFullName_shouldRankExactMatchFirst() {
+        // When
+        Window<Party> results = partySearch.search("Ada Lovelace", ScrollPosition.keyset(), 10);
+
+        // Then
+        assertThat(names(results)).first().isEqualTo("Ada Lovelace");
+        assertThat(names(results)).contains("Lovelace Computing Ltd").doesNotContain("Grace Hopper");
+    }
+
+    @Test
+    @DisplayName("Should find persons and organizations sharing a name")
+    void search_withSharedName_shouldFindAllPartyTypes() {
+        // When
+        Window<Party> results = partySearch.search("hopper", ScrollPosition.keyset(), 10);
+
+        // Then
+        assertThat(names(results)).containsExactlyInAnyOrder("Grace Hopper", "Hopper Logistics");
+    }
+
+    @Test
+    @DisplayName("Should tolerate a misspelt name")
+    void search_withTypo_shouldMatchBySimilarity() {
+        // When
+        Window<Party> results = partySearch.search("Lovelase", ScrollPosition.keyset(), 10);
+
+        // Then
+        assertThat(names(results)).contains("Ada Lovelace", "Lovelace Computing Ltd");
+    }
+
+    @Test
+    @DisplayName("Should find a party by its e-mail address, whole or in part, but not by phone number")
+    void search_withEmailAddress_shouldMatchContactMechanism() {
+        // When/Then
+        assertThat(names(partySearch.search("countess@analytical.example", ScrollPosition.keyset(), 10)))
+                .containsExactly("Ada Lovelace");
+        assertThat(names(partySearch.search("grace.hopper@navy", ScrollPosition.keyset(), 10)))
+                .first().isEqualTo("Grace Hopper");
+        assertThat(partySearch.search("7946 0018", ScrollPosition.keyset(), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should visit every match exactly once, in rank order, when following cursors")
+    void search_followingCursors_shouldPageThroughRankedMatches() {
+        // Given
+        writer.persistAll(IntStream.range(0, 45)
+                .<Party>mapToObj(i -> new Person(i % 3 == 0 ? "Smith" : "Jane" + i, "Smith"))
+                .toList());
+        List<Long> expected = partySearch.search("smith", ScrollPosition.keyset(), 100).stream()
+                .map(Party::getId).toList();
+
+        // When
+        List<Long> seen = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Party> page;
+        do {
+            page = partySearch.search("smith", position, 10);
+            page.forEach(party -> seen.add(party.getId()));
+            position = page.isEmpty() ? position : page.positionAt(page.size() - 1);
+        } while (page.hasNext());
+
+        // Then
+        assertThat(expected).hasSize(45);
+        assertThat(seen).containsExactlyElementsOf(expected);
+        // "Smith Smith" matches twice over and outranks "Jane Smith"
+        assertThat(partyRepository.findById(seen.get(0))).get()
+                .isInstanceOfSatisfying(Person.class, person -> assertThat(person.getFirstName()).isEqualTo("Smith"));
+    }
+
+    @Test
+    @DisplayName("Should reject blank and overlong search text")
+    void search_withInvalidText_shouldThrow() {
+        // The repository proxy translates the IllegalArgumentException
+        assertThatThrownBy(() -> partySearch.search("  ", ScrollPosition.keyset(), 10))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasMessage("Search text must not be blank");
+        assertThatThrownBy(() -> partySearch.search("x".repeat(PartySearch.MAX_TEXT_LENGTH + 1),
+                ScrollPosition.keyset(), 10))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class);
+    }
+
+    @Test
+    @DisplayName("Should be able to answer every branch of the search from the GIN indexes")
+    void search_shouldUseSearchIndexes() {
+        // When
+        String plan = transactionTemplate.execute(status -> {
+            // The test tables are small enough that a sequential scan would win on cost
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + PartySearch.FIRST_PAGE
+                    .replace(":text", "'lovelace'").replace(":pattern", "'%lovelace%'").replace(":limit", "11"),
+                    String.class));
+        });
+
+        // Then
+        assertThat(plan).contains("idx_person_search_vector", "idx_person_full_name_trgm",
+                "idx_organization_search_vector", "idx_organization_name_trgm",
+                "idx_contact_mechanism_email_search_vector", "idx_contact_mechanism_email_trgm");
+    }
+
+    private static List<String> names(Window<Party> results) {
+        return results.stream()
+                .map(party -> party instanceof Person person
+                        ? person.getFirstName() + " " + person.getLastName()
+                        : ((Organization) party).getName())
+                .toList();
+    }
+}
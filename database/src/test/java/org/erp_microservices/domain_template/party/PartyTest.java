@@ -0,0 +1,32 @@
+package org.erp_microservices.domain_template.party;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Party Tests")
+class PartyTest {
+
+    @Test
+    @DisplayName("Should set the party type from the subclass")
+    void constructor_shouldSetPartyType() {
+        assertThat(new Person("Ada", "Lovelace").getPartyType()).isEqualTo(PartyType.PERSON);
+        assertThat(new Organization("Analytical Engines Ltd").getPartyType()).isEqualTo(PartyType.ORGANIZATION);
+    }
+
+    @Test
+    @DisplayName("Should link contact mechanisms back to their party")
+    void addContactMechanism_shouldLinkToParty() {
+        // Given
+        Person person = new Person("Ada", "Lovelace");
+
+        // When
+        ContactMechanism email = person.addContactMechanism(ContactMechanismType.EMAIL_ADDRESS, "ada@example.com");
+
+        // Then
+        assertThat(person.getContactMechanisms()).containsExactly(email);
+        assertThat(email.getParty()).isSameAs(person);
+        assertThat(email.getMechanismType()).isEqualTo(ContactMechanismType.EMAIL_ADDRESS);
+    }
+}
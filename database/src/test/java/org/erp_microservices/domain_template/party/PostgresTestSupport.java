@@ -0,0 +1,18 @@
+package org.erp_microservices.domain_template.party;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Shares one PostgreSQL container between the persistence tests. The schema is created by the
+ * Flyway migrations when the first test context starts.
+ */
+@Testcontainers
+public abstract class PostgresTestSupport {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+}
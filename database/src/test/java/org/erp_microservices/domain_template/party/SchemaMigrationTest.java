@@ -0,0 +1,129 @@
+package org.erp_microservices.domain_template.party;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(classes = PartyPersistenceTestApplication.class)
+@Tag("integration")
+@DisplayName("Schema Migration Integration Tests")
+class SchemaMigrationTest extends PostgresTestSupport {
+
+    /**
+     * The schema the old {@code init.sql} created, before Flyway owned it.
+     */
+    private static final String INIT_SQL_SCHEMA = """
+            CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+            CREATE TYPE gender_type AS ENUM ('MALE', 'FEMALE', 'OTHER', 'PREFER_NOT_TO_SAY');
+            CREATE TYPE party_type AS ENUM ('PERSON', 'ORGANIZATION');
+            CREATE TYPE contact_mechanism_type AS ENUM ('EMAIL_ADDRESS', 'TELECOM_NUMBER', 'POSTAL_ADDRESS');
+            CREATE SEQUENCE party_id_seq INCREMENT BY 50;
+            CREATE TABLE party (id BIGINT PRIMARY KEY, party_type party_type NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW());
+            CREATE TABLE audit_log (
+                id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+                table_name VARCHAR(100) NOT NULL,
+                operation VARCHAR(10) NOT NULL,
+                old_values JSONB,
+                new_values JSONB,
+                changed_by VARCHAR(100),
+                changed_at TIMESTAMP WITH TIME ZONE DEFAULT NOW());
+            CREATE INDEX idx_audit_log_table_name ON audit_log(table_name);
+            CREATE INDEX idx_audit_log_changed_at ON audit_log(changed_at);
+            INSERT INTO audit_log (table_name, operation, new_values, changed_by)
+            VALUES ('database', 'INIT', '{"message": "Database initialized successfully"}', 'system');
+            INSERT INTO audit_log (table_name, operation, changed_at) VALUES ('person', 'INSERT', NULL);
+            INSERT INTO party (id, party_type) VALUES (1, 'PERSON');
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
+    @Test
+    @DisplayName("Should create the schema Hibernate validates against, with a partitioned audit_log")
+    void migrate_onEmptyDatabase_shouldCreateSchema() {
+        // Then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT max(version::int) FROM flyway_schema_history WHERE success", Integer.class))
+                .isGreaterThanOrEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = 'audit_log'::regclass", String.class)).isEqualTo("p");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = 'idx_contact_mechanism_party_id'::regclass",
+                Boolean.class)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM health_check()", String.class))
+                .isEqualTo("healthy");
+    }
+
+    @Test
+    @DisplayName("Should bring a database created by the old init.sql under Flyway, partitioning its audit_log")
+    void migrate_onInitSqlDatabase_shouldBaselineAndConvert() throws SQLException {
+        // Given
+        String database = "init_sql_" + System.nanoTime();
+        execute(connectionDetails.getJdbcUrl(), "CREATE DATABASE " + database);
+        String url = connectionDetails.getJdbcUrl().replaceFirst("/[^/?]+(\\?|$)", "/" + database + "$1");
+        try {
+            execute(url, INIT_SQL_SCHEMA);
+
+            // When
+            try (Connection connection = connect(url)) {
+                SingleConnectionDataSource dataSource = new SingleConnectionDataSource(connection, true);
+                int executed = Flyway.configure()
+                        .dataSource(dataSource)
+                        .baselineOnMigrate(true)
+                        .baselineVersion("0")
+                        .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                        .load()
+                        .migrate()
+                        .migrationsExecuted;
+
+                // Then
+                JdbcTemplate legacy = new JdbcTemplate(dataSource);
+                assertThat(executed).isGreaterThanOrEqualTo(3);
+                assertThat(legacy.queryForObject(
+                        "SELECT relkind::text FROM pg_class WHERE oid = 'audit_log'::regclass", String.class))
+                        .isEqualTo("p");
+                assertThat(legacy.queryForObject("SELECT count(*) FROM audit_log", Long.class)).isEqualTo(2);
+                assertThat(legacy.queryForList("SELECT DISTINCT tableoid::regclass::text FROM audit_log", String.class))
+                        .containsExactly("audit_log_legacy");
+                assertThat(legacy.queryForObject("SELECT count(*) FROM party", Long.class)).isEqualTo(1);
+                assertThat(legacy.queryForList(
+                        "SELECT indexname FROM pg_indexes WHERE tablename = 'audit_log'", String.class))
+                        .containsExactlyInAnyOrder(
+                                "audit_log_pkey", "idx_audit_log_changed_at", "idx_audit_log_table_name_changed_at");
+            }
+        } finally {
+            execute(connectionDetails.getJdbcUrl(), "DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+        }
+    }
+
+    private void execute(String url, String sql) throws SQLException {
+        try (Connection connection = connect(url); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private Connection connect(String url) throws SQLException {
+        Connection connection = DriverManager.getConnection(
+                url, connectionDetails.getUsername(), connectionDetails.getPassword());
+        connection.setAutoCommit(true);
+        return connection;
+    }
+}
@@ -0,0 +1,143 @@
+package org.erp_microservices.domain_template.party.exporter;
+
+import org.erp_microservices.domain_template.party.PartyPersistenceTestApplication;
+import org.erp_microservices.domain_template.party.PostgresTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Exports {@code benchmark.rows} synthetic parties (ten million by default), each with one e-mail
+ * address, and checks that the heap stays flat while doing so. The output is counted and thrown
+ * away; every 64 MB of it the heap is collected and its live size sampled. Run with
+ * {@code ./gradlew :database:partyExportBenchmark}, which gives the JVM a heap far smaller than the
+ * export, so buffering the rows anywhere would also fail with an {@link OutOfMemoryError}.
+ */
+@SpringBootTest(classes = PartyPersistenceTestApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+@Tag("benchmark")
+@DisplayName("Party Export Benchmark")
+class PartyExportBenchmark extends PostgresTestSupport {
+
+    private static final long SAMPLE_EVERY_BYTES = 64L * 1024 * 1024;
+    private static final long MAX_HEAP_GROWTH_BYTES = 32L * 1024 * 1024;
+
+    /**
+     * The party change triggers are switched off for the load, as for any bulk load of this size;
+     * nobody is listening.
+     */
+    private static final String GENERATE = """
+            WITH parties AS (
+                INSERT INTO party (id, party_type, created_at)
+                SELECT nextval('party_id_seq'),
+                       CASE WHEN n % 5 = 0 THEN 'ORGANIZATION'::party_type ELSE 'PERSON'::party_type END,
+                       now()
+                FROM generate_series(1, ?) AS n
+                RETURNING id, party_type
+            ),
+            persons AS (
+                INSERT INTO person (id, first_name, last_name)
+                SELECT id, 'First' || id, 'Last' || id FROM parties WHERE party_type = 'PERSON'
+            ),
+            organizations AS (
+                INSERT INTO organization (id, name)
+                SELECT id, 'Organization ' || id FROM parties WHERE party_type = 'ORGANIZATION'
+            )
+            INSERT INTO contact_mechanism (id, party_id, mechanism_type, value)
+            SELECT nextval('contact_mechanism_id_seq'), id, 'EMAIL_ADDRESS'::contact_mechanism_type,
+                   'party' || id || '@example.com'
+            FROM parties
+            """;
+
+    @Autowired
+    private PartyExporter exporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Export every party with a flat heap")
+    void exportParties() throws IOException {
+        int total = Integer.getInteger("benchmark.rows", 10_000_000);
+        load(total);
+
+        for (ExportFormat format : ExportFormat.values()) {
+            HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+            long start = System.nanoTime();
+            long rows = exporter.export(format, out);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf(Locale.ROOT,
+                    "%-6s %,d rows, %,d MB in %.1f s (%,.0f rows/s); live heap %,d MB before, at most %,d MB during%n",
+                    format, rows, out.bytes >> 20, seconds, rows / seconds,
+                    out.baseline >> 20, out.maxLive >> 20);
+            assertThat(rows).isEqualTo(total);
+            assertThat(out.samples).isPositive();
+            assertThat(out.maxLive - out.baseline).isLessThan(MAX_HEAP_GROWTH_BYTES);
+        }
+    }
+
+    private void load(int total) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("TRUNCATE party, person, organization, contact_mechanism");
+            jdbcTemplate.execute("SET LOCAL session_replication_role = replica");
+            jdbcTemplate.update(GENERATE, total);
+        });
+        jdbcTemplate.execute("ANALYZE party, person, organization, contact_mechanism");
+        System.out.printf(Locale.ROOT, "Loaded %,d parties in %.1f s%n", total, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Discards what is written, collecting the heap and sampling its live size every
+     * {@link #SAMPLE_EVERY_BYTES}.
+     */
+    private static class HeapSamplingOutputStream extends OutputStream {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long baseline = liveHeap();
+        private long bytes;
+        private long nextSample = SAMPLE_EVERY_BYTES;
+        private long maxLive;
+        private int samples;
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count(length);
+        }
+
+        private void count(int length) {
+            bytes += length;
+            if (bytes >= nextSample) {
+                maxLive = Math.max(maxLive, liveHeap());
+                samples++;
+                nextSample += SAMPLE_EVERY_BYTES;
+            }
+        }
+
+        private long liveHeap() {
+            System.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
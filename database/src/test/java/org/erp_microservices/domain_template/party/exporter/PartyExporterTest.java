@@ -0,0 +1,183 @@
+package org.erp_microservices.domain_template.party.exporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.erp_microservices.domain_template.party.ContactMechanismType;
+import org.erp_microservices.domain_template.party.Organization;
+import org.erp_microservices.domain_template.party.PartyBatchWriter;
+import org.erp_microservices.domain_template.party.PartyPersistenceTestApplication;
+import org.erp_microservices.domain_template.party.PartyRepository;
+import org.erp_microservices.domain_template.party.Person;
+import org.erp_microservices.domain_template.party.PostgresTestSupport;
+import org.erp_microservices.domain_template.routing.ReadReplicaProperties;
+import org.erp_microservices.domain_template.routing.ReadReplicas;
+import org.erp_microservices.domain_template.routing.ReadWriteRoutingDataSource;
+import org.erp_microservices.domain_template.routing.ReplicaLagMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(classes = PartyPersistenceTestApplication.class, properties = "app.party-export.fetch-size=2")
+@Tag("integration")
+@DisplayName("Party Exporter Integration Tests")
+class PartyExporterTest extends PostgresTestSupport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private PartyExporter exporter;
+
+    @Autowired
+    private PartyBatchWriter writer;
+
+    @Autowired
+    private PartyRepository partyRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Person ada;
+    private Organization company;
+
+    @BeforeEach
+    void setUp() {
+        partyRepository.deleteAllInBatch();
+        ada = new Person("Ada", "Lovelace");
+        ada.setBirthDate(LocalDate.of(1815, 12, 10));
+        ada.addContactMechanism(ContactMechanismType.EMAIL_ADDRESS, "ada@example.com");
+        ada.addContactMechanism(ContactMechanismType.TELECOM_NUMBER, "+44 20 7946 0000");
+        company = new Organization("Babbage, Lovelace & Co");
+        writer.persistAll(List.of(ada, company, new Person("Grace", "Hopper")));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON line per contact mechanism, and one per party without any")
+    void export_withNdjson_shouldWriteOneLinePerContactMechanism() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = exporter.export(ExportFormat.NDJSON, out);
+
+        // Then
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(rows).isEqualTo(4);
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = body.lines().map(PartyExporterTest::json).toList();
+        assertThat(lines).extracting(line -> line.get("contact_value").asText(null))
+                .containsExactly("ada@example.com", "+44 20 7946 0000", null, null);
+        JsonNode first = lines.getFirst();
+        assertThat(first.get("party_id").asLong()).isEqualTo(ada.getId());
+        assertThat(first.get("party_type").asText()).isEqualTo("PERSON");
+        assertThat(first.get("last_name").asText()).isEqualTo("Lovelace");
+        assertThat(first.get("birth_date").asText()).isEqualTo("1815-12-10");
+        assertThat(first.get("created_at").asText()).isNotBlank();
+        assertThat(lines.get(2).get("name").asText()).isEqualTo("Babbage, Lovelace & Co");
+        assertThat(meterRegistry.get(PartyExporter.EXPORT_METRIC).tag("outcome", "completed").timer().count())
+                .isPositive();
+    }
+
+    @Test
+    @DisplayName("Should write CSV with a header row and quoted values")
+    void export_withCsv_shouldWriteHeaderAndRows() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = exporter.export(ExportFormat.CSV, out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(4);
+        assertThat(lines).hasSize(5);
+        assertThat(lines.getFirst()).isEqualTo(String.join(",", PartyExporter.COLUMNS));
+        assertThat(lines.get(1)).startsWith(ada.getId() + ",PERSON,")
+                .endsWith(",Ada,Lovelace,1815-12-10,,,EMAIL_ADDRESS,ada@example.com");
+        assertThat(lines.get(3)).startsWith(company.getId() + ",ORGANIZATION,")
+                .endsWith(",,,,,\"Babbage, Lovelace & Co\",,");
+    }
+
+    @Test
+    @DisplayName("Should stop reading rows when the reader goes away")
+    void export_whenWritingFails_shouldStopAndReleaseTheCursor() throws IOException {
+        // Given
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset by peer");
+            }
+        };
+
+        // When/Then
+        assertThatThrownBy(() -> exporter.export(ExportFormat.NDJSON, closed))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Connection reset by peer");
+        assertThat(meterRegistry.get(PartyExporter.EXPORT_METRIC).tag("outcome", "failed").timer().count())
+                .isPositive();
+        assertThat(exporter.export(ExportFormat.NDJSON, new ByteArrayOutputStream())).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should read from the primary even when a replica is available")
+    void export_withReplicaAvailable_shouldReadFromPrimary() throws Exception {
+        // Given
+        SimpleMeterRegistry routingMetrics = new SimpleMeterRegistry();
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        // The test database stands in for the replica too; not being in recovery, it has no lag
+        ReadReplicas replicas = new ReadReplicas(Map.of("replica-1", new DelegatingDataSource(dataSource)));
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicas, properties, routingMetrics);
+        lagMonitor.refresh();
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(dataSource, replicas, lagMonitor, properties, routingMetrics));
+        PartyExporter routedExporter = new PartyExporter(
+                routing, new DataSourceTransactionManager(routing), new SimpleMeterRegistry(), 2);
+        // The proxy takes a connection to read the pool's defaults the first time it is asked for one
+        routing.getConnection().close();
+        double primaryBefore = routed(routingMetrics, ReadWriteRoutingDataSource.PRIMARY);
+
+        // When
+        long rows = routedExporter.export(ExportFormat.NDJSON, OutputStream.nullOutputStream());
+
+        // Then
+        assertThat(rows).isEqualTo(4);
+        assertThat(routed(routingMetrics, ReadWriteRoutingDataSource.PRIMARY) - primaryBefore).isEqualTo(1);
+        assertThat(routed(routingMetrics, "replica-1")).isZero();
+    }
+
+    private static double routed(SimpleMeterRegistry meterRegistry, String target) {
+        return meterRegistry.get(ReadWriteRoutingDataSource.ROUTING_METRIC).tag("target", target).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static JsonNode json(String line) {
+        try {
+            return OBJECT_MAPPER.readTree(line);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.erp_microservices.domain_template.party.importer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.erp_microservices.domain_template.party.Organization;
+import org.erp_microservices.domain_template.party.Party;
+import org.erp_microservices.domain_template.party.PartyBatchWriter;
+import org.erp_microservices.domain_template.party.PartyPersistenceTestApplication;
+import org.erp_microservices.domain_template.party.PartyRepository;
+import org.erp_microservices.domain_template.party.PostgresTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(classes = PartyPersistenceTestApplication.class, properties = "app.party-import.chunk-size=2")
+@Tag("integration")
+@DisplayName("Party COPY Importer Integration Tests")
+class PartyCopyImporterTest extends PostgresTestSupport {
+
+    @Autowired
+    private PartyCopyImporter importer;
+
+    @Autowired
+    private PartyBatchWriter writer;
+
+    @Autowired
+    private PartyRepository partyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        partyRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should copy valid rows in chunks and write rejected lines to the side file")
+    void importFile_withCsv_shouldCopyValidRowsAndRejectInvalidOnes() throws IOException {
+        // Given
+        Path file = Files.writeString(directory.resolve("parties.csv"), """
+                party_type,first_name,last_name,birth_date,gender,name,email,phone
+                PERSON,Ada,Lovelace,1815-12-10,FEMALE,,ada@example.com,+44 20 7946 0000
+                PERSON,Charles,,,,,,
+                ORGANIZATION,,,,,"Babbage, Lovelace & Co",,
+                PERSON,Grace,Hopper,1906-12-09,,,grace@example.com,
+                """);
+        Path rejects = directory.resolve("parties.rejected");
+
+        // When
+        PartyImportResult result = importer.importFile(file, ImportFormat.CSV, rejects);
+
+        // Then
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(count("person")).isEqualTo(2);
+        assertThat(count("organization")).isEqualTo(1);
+        assertThat(count("contact_mechanism")).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM organization", String.class))
+                .isEqualTo("Babbage, Lovelace & Co");
+        assertThat(Files.readAllLines(rejects)).containsExactly(
+                "line\terror\trow",
+                "3\tA PERSON needs first_name and last_name\tPERSON,Charles,,,,,,");
+        assertThat(meterRegistry.get(PartyCopyImporter.ROWS_METRIC).tag("outcome", "imported")
+                .counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get(PartyCopyImporter.CHUNK_METRIC).timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject rows PostgreSQL cannot store instead of failing their chunk")
+    void importFile_withValuesPostgresRefuses_shouldRejectOnlyThoseRows() throws IOException {
+        // Given
+        Path file = Files.writeString(directory.resolve("parties.csv"), """
+                party_type,first_name,last_name,birth_date,gender,name,email,phone
+                PERSON,Ada,Lovelace,0000-12-10,,,,
+                ORGANIZATION,,,,,Ac\0me,,
+                PERSON,Grace,Hopper,1906-12-09,,,,
+                ORGANIZATION,,,,,Acme,,
+                """);
+        Path rejects = directory.resolve("parties.rejected");
+
+        // When
+        PartyImportResult result = importer.importFile(file, ImportFormat.CSV, rejects);
+
+        // Then
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM organization", String.class)).isEqualTo("Acme");
+        assertThat(Files.readAllLines(rejects)).containsExactly(
+                "line\terror\trow",
+                "2\tbirth_date is before year 1: 0000-12-10\tPERSON,Ada,Lovelace,0000-12-10,,,,",
+                "3\tname contains a NUL character\tORGANIZATION,,,,,Ac\0me,,");
+    }
+
+    @Test
+    @DisplayName("Should load imported rows through JPA and keep their ids clear of JPA-assigned ones")
+    void importFile_thenPersistThroughJpa_shouldNotCollide() throws IOException {
+        // Given
+        Path file = Files.writeString(directory.resolve("parties.ndjson"), """
+                {"party_type":"ORGANIZATION","name":"Analytical Engines Ltd","email":"sales@example.com"}
+                {"party_type":"PERSON","first_name":"Ada","last_name":"Lovelace"}
+                """);
+        importer.importFile(file, ImportFormat.of(file), directory.resolve("parties.rejected"));
+
+        // When
+        writer.persistAll(List.of(new Organization("Difference Engines Ltd")));
+
+        // Then
+        List<Party> parties = partyRepository.findAll();
+        assertThat(parties).hasSize(3);
+        assertThat(parties).extracting(Party::getId).doesNotHaveDuplicates();
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
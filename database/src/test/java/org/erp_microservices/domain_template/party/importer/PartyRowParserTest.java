@@ -0,0 +1,89 @@
+package org.erp_microservices.domain_template.party.importer;
+
+import org.erp_microservices.domain_template.party.Gender;
+import org.erp_microservices.domain_template.party.PartyType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Party Row Parser Tests")
+class PartyRowParserTest {
+
+    private static final String HEADER = "party_type,first_name,last_name,birth_date,gender,name,email,phone";
+
+    @Test
+    @DisplayName("Should map CSV columns by header name, including quoted commas")
+    void parse_withCsvLine_shouldMapColumnsByHeader() {
+        // Given
+        PartyRowParser parser = PartyRowParser.csv(HEADER);
+
+        // When
+        PartyRow person = parser.parse("person,Ada,Lovelace,1815-12-10,female,,ada@example.com,");
+        PartyRow organization = parser.parse("ORGANIZATION,,,,,\"Babbage, Lovelace & Co\",,+44 20 7946 0000");
+
+        // Then
+        assertThat(person).isEqualTo(new PartyRow(PartyType.PERSON, "Ada", "Lovelace",
+                LocalDate.of(1815, 12, 10), Gender.FEMALE, null, "ada@example.com", null));
+        assertThat(organization.name()).isEqualTo("Babbage, Lovelace & Co");
+        assertThat(organization.phone()).isEqualTo("+44 20 7946 0000");
+    }
+
+    @Test
+    @DisplayName("Should map NDJSON object fields, ignoring nulls")
+    void parse_withNdjsonLine_shouldMapFields() {
+        // When
+        PartyRow row = PartyRowParser.ndjson().parse(
+                "{\"party_type\":\"ORGANIZATION\",\"name\":\"Analytical Engines Ltd\",\"email\":null}");
+
+        // Then
+        assertThat(row.partyType()).isEqualTo(PartyType.ORGANIZATION);
+        assertThat(row.name()).isEqualTo("Analytical Engines Ltd");
+        assertThat(row.email()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject rows that break the party constraints")
+    void parse_withInvalidRows_shouldDescribeTheProblem() {
+        // Given
+        PartyRowParser parser = PartyRowParser.csv(HEADER);
+
+        // When/Then
+        assertThatThrownBy(() -> parser.parse("PERSON,Ada,,,,,,"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A PERSON needs first_name and last_name");
+        assertThatThrownBy(() -> parser.parse("ROBOT,,,,,Acme,,"))
+                .hasMessage("party_type has unknown value ROBOT");
+        assertThatThrownBy(() -> parser.parse("PERSON,Ada,Lovelace,10/12/1815,,,,"))
+                .hasMessage("birth_date is not an ISO date: 10/12/1815");
+        assertThatThrownBy(() -> parser.parse("PERSON,Ada,Lovelace,0000-12-10,,,,"))
+                .hasMessage("birth_date is before year 1: 0000-12-10");
+        assertThatThrownBy(() -> parser.parse("ORGANIZATION,,,,,Ac\0me,,"))
+                .hasMessage("name contains a NUL character");
+        assertThatThrownBy(() -> parser.parse("ORGANIZATION,,,,,Acme,not-an-email,"))
+                .hasMessage("email is not an email address: not-an-email");
+        assertThatThrownBy(() -> parser.parse("ORGANIZATION,Acme"))
+                .hasMessage("Expected 8 columns but found 2");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed JSON lines")
+    void parse_withMalformedJson_shouldReject() {
+        assertThatThrownBy(() -> PartyRowParser.ndjson().parse("{\"party_type\":"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Malformed line");
+        assertThatThrownBy(() -> PartyRowParser.ndjson().parse("[1, 2]"))
+                .hasMessage("Expected a JSON object");
+    }
+
+    @Test
+    @DisplayName("Should pick the format from the file extension")
+    void of_shouldDetectFormatFromExtension() {
+        assertThat(ImportFormat.of(Path.of("parties.ndjson"))).isEqualTo(ImportFormat.NDJSON);
+        assertThat(ImportFormat.of(Path.of("parties.JSONL"))).isEqualTo(ImportFormat.NDJSON);
+        assertThat(ImportFormat.of(Path.of("parties.csv"))).isEqualTo(ImportFormat.CSV);
+    }
+}
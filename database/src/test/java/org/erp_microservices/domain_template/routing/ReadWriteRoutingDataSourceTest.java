@@ -0,0 +1,216 @@
+package org.erp_microservices.domain_template.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Testcontainers
+@Tag("integration")
+@DisplayName("Read/Write Routing Data Source Integration Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    @Container
+    static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("primary_db");
+
+    @Container
+    static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("replica_db");
+
+    private static final String WHERE_AM_I = "SELECT current_database()";
+
+    private HikariDataSource primary;
+    private ReadReplicas replicas;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadReplicaProperties properties;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = pool(PRIMARY);
+        replicas = new ReadReplicas(Map.of("replica-1", pool(REPLICA)));
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ReadReplicaProperties();
+        properties.setMaxLag(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+        replicas.close();
+        primary.close();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and read-write ones to the primary")
+    void getConnection_withReadOnlyTransaction_shouldRouteToReplica() {
+        // Given
+        route("0");
+
+        // When
+        String reader = databaseOf(readOnly);
+        String writer = databaseOf(readWrite);
+
+        // Then
+        assertThat(reader).isEqualTo("replica_db");
+        assertThat(writer).isEqualTo("primary_db");
+        assertThat(routed("replica-1", "read-only")).isEqualTo(1);
+        assertThat(routed(ReadWriteRoutingDataSource.PRIMARY, "read-write")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a request's reads on the primary after it committed a write")
+    void getConnection_afterCommittedWrite_shouldRouteReadsToPrimary() {
+        // Given
+        route("0");
+
+        try (ReadYourWrites.Scope request = ReadYourWrites.open()) {
+            String before = databaseOf(readOnly);
+
+            // When
+            readWrite.executeWithoutResult(status -> jdbcTemplate.execute("CREATE TEMPORARY TABLE written (id int)"));
+            String after = databaseOf(readOnly);
+
+            // Then
+            assertThat(before).isEqualTo("replica_db");
+            assertThat(after).isEqualTo("primary_db");
+            assertThat(routed(ReadWriteRoutingDataSource.PRIMARY, "read-your-writes")).isEqualTo(1);
+        }
+
+        try (ReadYourWrites.Scope nextRequest = ReadYourWrites.open()) {
+            assertThat(databaseOf(readOnly)).isEqualTo("replica_db");
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep reading from the replica when the request's write rolled back")
+    void getConnection_afterRolledBackWrite_shouldRouteReadsToReplica() {
+        // Given
+        route("0");
+
+        try (ReadYourWrites.Scope request = ReadYourWrites.open()) {
+            // When
+            readWrite.executeWithoutResult(status -> {
+                jdbcTemplate.execute("CREATE TEMPORARY TABLE discarded (id int)");
+                status.setRollbackOnly();
+            });
+            String reader = databaseOf(readOnly);
+
+            // Then
+            assertThat(reader).isEqualTo("replica_db");
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags beyond the tolerance")
+    void getConnection_withLaggingReplica_shouldRouteToPrimary() {
+        // Given
+        ReplicaLagMonitor monitor = route("60000");
+
+        // When
+        String reader = databaseOf(readOnly);
+
+        // Then
+        assertThat(reader).isEqualTo("primary_db");
+        assertThat(monitor.nextAvailable()).isNull();
+        assertThat(routed(ReadWriteRoutingDataSource.PRIMARY, "no-replica-available")).isEqualTo(1);
+        assertThat(meterRegistry.get(ReplicaLagMonitor.LAG_METRIC).tag("replica", "replica-1").gauge().value())
+                .isEqualTo(60.0);
+        assertThat(meterRegistry.get(ReplicaLagMonitor.AVAILABLE_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should measure a replica that has replayed everything as not lagging")
+    void refresh_withStandaloneServer_shouldReportNoLag() {
+        // Given
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicas, properties, meterRegistry);
+
+        // When
+        monitor.refresh();
+
+        // Then
+        assertThat(monitor.nextAvailable()).isEqualTo("replica-1");
+        assertThat(meterRegistry.get(ReplicaLagMonitor.LAG_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should treat an unreachable replica as unavailable")
+    void refresh_withUnreachableReplica_shouldRouteToPrimary() {
+        // Given
+        replicas.close();
+        replicas = new ReadReplicas(Map.of("replica-1", unreachablePool()));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicas, properties, meterRegistry);
+
+        // When
+        monitor.refresh();
+
+        // Then
+        assertThat(monitor.nextAvailable()).isNull();
+        assertThat(meterRegistry.get(ReplicaLagMonitor.LAG_METRIC).gauge().value()).isNaN();
+    }
+
+    /**
+     * Wires the routing the way the application does, with the replica's lag reported by
+     * {@code lagMillis}, and measures it once.
+     */
+    private ReplicaLagMonitor route(String lagMillis) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicas, properties, meterRegistry, "SELECT " + lagMillis);
+        monitor.refresh();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replicas, monitor, properties, meterRegistry));
+        dataSource.setDefaultAutoCommit(false);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return monitor;
+    }
+
+    private String databaseOf(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject(WHERE_AM_I, String.class));
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get(ReadWriteRoutingDataSource.ROUTING_METRIC)
+                .tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private static HikariDataSource pool(PostgreSQLContainer<?> container) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(container.getJdbcUrl());
+        pool.setUsername(container.getUsername());
+        pool.setPassword(container.getPassword());
+        pool.setAutoCommit(false);
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+
+    private static HikariDataSource unreachablePool() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:postgresql://localhost:1/unreachable");
+        pool.setConnectionTimeout(250);
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+}
@@ -0,0 +1,136 @@
+package org.erp_microservices.domain_template.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the lag check against a real streaming standby, which the routing tests fake.
+ */
+@Testcontainers
+@Tag("integration")
+@DisplayName("Replica Lag Monitor Integration Tests")
+class ReplicaLagMonitorTest {
+
+    private static final Network NETWORK = Network.newNetwork();
+
+    private static final String PRIMARY_CONNINFO = "host=primary port=5432 user=test";
+
+    @Container
+    static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(Transferable.of(
+                    "echo 'host replication all all trust' >> \"$PGDATA/pg_hba.conf\"\n"),
+                    "/docker-entrypoint-initdb.d/replication.sh");
+
+    @Container
+    static final GenericContainer<?> STANDBY = new GenericContainer<>("postgres:15-alpine")
+            .dependsOn(PRIMARY)
+            .withNetwork(NETWORK)
+            .withExposedPorts(5432)
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres"))
+            .withCommand("sh", "-c", "pg_basebackup -h primary -U test -D /tmp/standby -R -X stream"
+                    + " && exec postgres -D /tmp/standby -c listen_addresses='*'"
+                    + " -c wal_receiver_timeout=2s -c wal_retrieve_retry_interval=1s")
+            .waitingFor(Wait.forLogMessage(".*started streaming WAL from primary.*", 1));
+
+    private HikariDataSource standby;
+    private ReadReplicas replicas;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        standby = new HikariDataSource();
+        standby.setJdbcUrl("jdbc:postgresql://%s:%d/%s".formatted(
+                STANDBY.getHost(), STANDBY.getMappedPort(5432), PRIMARY.getDatabaseName()));
+        standby.setUsername(PRIMARY.getUsername());
+        standby.setPassword(PRIMARY.getPassword());
+        standby.setMaximumPoolSize(2);
+        replicas = new ReadReplicas(Map.of("replica-1", standby));
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(replicas, new ReadReplicaProperties(), meterRegistry);
+        await(() -> streaming(new JdbcTemplate(standby)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectTo(new JdbcTemplate(standby), PRIMARY_CONNINFO);
+        replicas.close();
+    }
+
+    @Test
+    @DisplayName("Should serve reads from a standby that is streaming and caught up")
+    void refresh_withStreamingStandby_shouldReportNoLag() {
+        // When
+        monitor.refresh();
+
+        // Then
+        assertThat(monitor.nextAvailable()).isEqualTo("replica-1");
+        assertThat(meterRegistry.get(ReplicaLagMonitor.LAG_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stop serving reads from a standby whose WAL receiver has disconnected")
+    void refresh_withDisconnectedWalReceiver_shouldTreatReplicaAsUnavailable() {
+        // Given
+        monitor.refresh();
+        assertThat(monitor.nextAvailable()).isEqualTo("replica-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(standby);
+        connectTo(jdbcTemplate, "host=primary port=1 user=test");
+        await(() -> !streaming(jdbcTemplate));
+
+        // When
+        monitor.refresh();
+
+        // Then
+        // Everything received has been replayed, which the check used to report as no lag
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()", Boolean.class)).isTrue();
+        assertThat(monitor.nextAvailable()).isNull();
+        assertThat(meterRegistry.get(ReplicaLagMonitor.LAG_METRIC).gauge().value()).isNaN();
+        assertThat(meterRegistry.get(ReplicaLagMonitor.AVAILABLE_METRIC).gauge().value()).isZero();
+    }
+
+    private static boolean streaming(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_wal_receiver WHERE status = 'streaming'", Long.class) > 0;
+    }
+
+    private static void connectTo(JdbcTemplate jdbcTemplate, String conninfo) {
+        jdbcTemplate.execute("ALTER SYSTEM SET primary_conninfo = '" + conninfo + "'");
+        jdbcTemplate.execute("SELECT pg_reload_conf()");
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 30 s").isLessThan(deadline);
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}